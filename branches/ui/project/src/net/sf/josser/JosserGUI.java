@@ -72,16 +72,25 @@ public class JosserGUI extends javax.swing.JFrame {
             e.printStackTrace(System.err);
         }
         initComponents();
+        initProgress();
         initConsole();
         task = new LongTask();
         int ONE_SECOND = 1000;
         timer = new Timer(ONE_SECOND, new ActionListener() {
 
             public void actionPerformed(ActionEvent evt) {
+                jpbProgressBar.setMaximum(task.getLengthOfTask());
                 jpbProgressBar.setValue(task.getCurrent());
+                jpbProgressBar.setString(task.getMessage());
+                lStatus.setText(task.getMessage());
+                taRates.setText(task.getRates());
+                if (task.getProgress() != null) {
+                    chart.addSample(task.getProgress().getRows());
+                }
                 if (task.isDone()) {
                     Toolkit.getDefaultToolkit().beep();
                     timer.stop();
+                    jbStop.setEnabled(false);
                     //jbExecute.setEnabled(true);
                     setCursor(null); //turn off the wait cursor
                     //jpbProgressBar.setValue(jpbProgressBar.getMinimum());
@@ -518,9 +527,51 @@ public class JosserGUI extends javax.swing.JFrame {
         Cursor hourglassCursor = new Cursor(Cursor.WAIT_CURSOR);
         this.setCursor(hourglassCursor);
         jbExecute.setEnabled(false);
+        jbStop.setEnabled(true);
+        chart.clear();
         task.go();
         timer.start();
     }//GEN-LAST:event_jbExecuteActionPerformed
+
+    private void jbStopActionPerformed(java.awt.event.ActionEvent evt) {
+        jbStop.setEnabled(false);
+        task.stop();
+    }
+
+    /**
+     * Adds the Progress tab, charting live throughput of the running import
+     * next to rows per second of every table, and the Stop button.
+     */
+    private void initProgress() {
+        jpProgress = new javax.swing.JPanel(new BorderLayout(5, 5));
+        chart = new ThroughputChart();
+        chart.setPreferredSize(new java.awt.Dimension(600, 300));
+        taRates = new javax.swing.JTextArea();
+        taRates.setEditable(false);
+        taRates.setFont(new java.awt.Font("Monospaced", 0, 10));
+        lStatus = new javax.swing.JLabel(" ");
+        jbStop = new javax.swing.JButton("Stop");
+        jbStop.setEnabled(false);
+        jbStop.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jbStopActionPerformed(evt);
+            }
+        });
+        javax.swing.JPanel jpStatus = new javax.swing.JPanel(new BorderLayout(5, 5));
+        jpStatus.add(lStatus, BorderLayout.CENTER);
+        jpStatus.add(jbStop, BorderLayout.EAST);
+        jpProgress.add(chart, BorderLayout.CENTER);
+        jpProgress.add(new javax.swing.JScrollPane(taRates), BorderLayout.EAST);
+        jpProgress.add(jpStatus, BorderLayout.SOUTH);
+        jTabbedPane.addTab("Progress", jpProgress);
+        jpbProgressBar.setStringPainted(true);
+        jpbProgressBar.setString("");
+    }
+    private javax.swing.JPanel jpProgress;
+    private ThroughputChart chart;
+    private javax.swing.JTextArea taRates;
+    private javax.swing.JLabel lStatus;
+    private javax.swing.JButton jbStop;
     private ConsoleOutputStream outputStream = null;
     private PrintStream printStream = null;
     private OutputStream copy = null;
@@ -34,22 +34,26 @@
  */
 
 package net.sf.josser;
+import java.io.File;
+import java.util.Map;
+
 import net.sf.josser.rdf.impl.Dump;
+import net.sf.josser.util.Progress;
+import net.sf.josser.util.Static;
 
 public class LongTask {
     private int lengthOfTask;
-    private int current = 0;
     private boolean done = false;
     private boolean canceled = false;
     private String statMessage;
+    private volatile Progress progress = null;
 
     public LongTask() {
-        lengthOfTask = 100;
+        lengthOfTask = 1000;
     }
     public void go() {
         SwingWorker worker = new SwingWorker() {
             public Object construct() {
-                setCurrent(0);
                 setDone(false);
                 setCanceled(false);
                 setStatMessage(null);
@@ -61,18 +65,66 @@ public class LongTask {
     public int getLengthOfTask() {
         return lengthOfTask;
     }
+    /**
+     * @return the bytes read so far by all phases, scaled to lengthOfTask
+     */
     public int getCurrent() {
-        return current;
+        if (done) {
+            return lengthOfTask;
+        }
+        Progress current = getProgress();
+        return current == null ? 0 : (int) (current.getDone() * lengthOfTask);
     }
+    /**
+     * Asks the import to stop: parsers return after committing their current
+     * batch, and following phases are skipped.
+     */
     public void stop() {
         setCanceled(true);
-        setStatMessage(null);
+        if (getProgress() != null) {
+            getProgress().cancel();
+        }
+        setStatMessage("Stopping at next batch boundary...");
     }
     public boolean isDone() {
         return done;
     }
+    /**
+     * @return the current phase with its progress, throughput, commit
+     *         latency and ETA, or a status message
+     */
     public String getMessage() {
-        return getStatMessage();
+        Progress current = getProgress();
+        if (getStatMessage() != null || current == null
+                || current.getPhase() == null) {
+            return getStatMessage();
+        }
+        return String.format(
+                "Phase %d/3 %s: %.1f%% at %.2f MB/s, commit %d ms, phase ETA %s, ETA %s",
+                Integer.valueOf(current.getPhases()), current.getPhase(),
+                Double.valueOf(current.getPhaseDone() * 100),
+                Double.valueOf(current.getThroughput()),
+                Long.valueOf(current.getCommitLatency()),
+                Progress.format(current.getPhaseEta()),
+                Progress.format(current.getEta()));
+    }
+    /**
+     * @return rows per second of every table in the current phase, one per
+     *         line
+     */
+    public String getRates() {
+        StringBuffer sb = new StringBuffer();
+        Progress current = getProgress();
+        if (current != null) {
+            for (Map.Entry<String, Double> entry : current.getRates().entrySet()) {
+                sb.append(String.format("%-24s %10.1f rows/s%n",
+                        entry.getKey(), entry.getValue()));
+            }
+        }
+        return sb.toString();
+    }
+    public Progress getProgress() {
+        return progress;
     }
     public void setCanceled(boolean canceled) {
 		this.canceled = canceled;
@@ -80,12 +132,6 @@ public class LongTask {
 	public boolean isCanceled() {
 		return canceled;
 	}
-	/**
-	 * @param current the current to set
-	 */
-	private void setCurrent(int current) {
-		this.current = current;
-	}
 	/**
 	 * @param done the done to set
 	 */
@@ -126,17 +172,34 @@ public class LongTask {
                             Josser.getPath() +
                             " for all entries under category " +
                             Josser.getTopicfilter());
-                    setCurrent(0);
+                    long structure = new File(dmoz.getPath()
+                            + dmoz.getStructureFile()).length();
+                    long content = new File(dmoz.getPath()
+                            + dmoz.getContentFile()).length();
+                    progress = new Progress(2 * structure + content);
+                    Static.setProgress(progress);
+                    if (isCanceled()) {
+                        progress.cancel();
+                    }
                     dmoz.getSpreparser().parse(Josser.getRChunk());
-                    setCurrent(33);
-                    dmoz.getSparser().parse(Josser.getWChunk());
-                    setCurrent(66);
-                    System.gc();
-                    dmoz.getCparser().parse(Josser.getRChunk());
-                    System.out.println(
-                            "Parsed, filtered and imported DMOZ RDF dumps.");
+                    if (!progress.isCanceled()) {
+                        dmoz.getSparser().parse(Josser.getWChunk());
+                    }
+                    if (!progress.isCanceled()) {
+                        System.gc();
+                        dmoz.getCparser().parse(Josser.getRChunk());
+                    }
+                    if (progress.isCanceled()) {
+                        System.out.println(
+                                "Stopped importing DMOZ RDF dumps.");
+                        setStatMessage("Stopped");
+                    } else {
+                        System.out.println(
+                                "Parsed, filtered and imported DMOZ RDF dumps.");
+                        setStatMessage("Done");
+                    }
                     Josser.disconnect();
-                    setCurrent(100);
+                    Static.setProgress(null);
                     setDone(true);
                 } else {
                     System.exit(1);
@@ -0,0 +1,109 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * ThroughputChart.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser;
+
+import java.awt.Color;
+import java.awt.Graphics;
+
+import javax.swing.JPanel;
+
+/**
+ * Line chart of the rows stored per second, sampled once per timer tick.
+ *
+ * @author Giovanni Novelli
+ */
+public class ThroughputChart extends JPanel {
+
+    private static final long serialVersionUID = 3094786234521637291L;
+    private static final int SAMPLES = 300;
+    private double[] samples = new double[SAMPLES];
+    private int count = 0;
+    private long lastRows = -1;
+    private long lastTime = 0;
+
+    public ThroughputChart() {
+        setBackground(Color.WHITE);
+    }
+
+    /**
+     * Adds the rate between the previous sample and rows, the total number
+     * of rows batched so far.
+     */
+    public void addSample(long rows) {
+        long now = System.currentTimeMillis();
+        if (lastRows >= 0 && now > lastTime) {
+            double rate = Math.max(0, rows - lastRows) * 1000.0 / (now - lastTime);
+            samples[count % SAMPLES] = rate;
+            count++;
+            repaint();
+        }
+        lastRows = rows;
+        lastTime = now;
+    }
+
+    public void clear() {
+        count = 0;
+        lastRows = -1;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int width = getWidth();
+        int height = getHeight() - 15;
+        int n = Math.min(count, SAMPLES);
+        double max = 1;
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        g.setColor(Color.LIGHT_GRAY);
+        g.drawLine(0, height, width, height);
+        g.setColor(Color.BLUE);
+        int first = count - n;
+        for (int i = 1; i < n; i++) {
+            int x1 = (i - 1) * width / SAMPLES;
+            int x2 = i * width / SAMPLES;
+            int y1 = height - (int) (samples[(first + i - 1) % SAMPLES] * height / max);
+            int y2 = height - (int) (samples[(first + i) % SAMPLES] * height / max);
+            g.drawLine(x1, y1, x2, y2);
+        }
+        g.setColor(Color.BLACK);
+        String last = n > 0 ? String.format("%.0f", samples[(count - 1) % SAMPLES]) : "0";
+        g.drawString("rows/s: " + last + " (max " + String.format("%.0f", max) + ")",
+                5, getHeight() - 3);
+    }
+}
@@ -104,6 +104,9 @@ public abstract class Row implements IRow {
             try {
                 this.setValues();
                 this.getStmt().addBatch();
+                if (Static.getProgress() != null) {
+                    Static.getProgress().addRow(this.getTablename());
+                }
             } catch (final Exception e) {
                 e.printStackTrace(System.err);
                 result = -1;
@@ -0,0 +1,86 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * CountingInputStream.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.rdf;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream counting the bytes read from the underlying stream.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class CountingInputStream extends FilterInputStream {
+	private volatile long count = 0;
+
+	public CountingInputStream(final InputStream in) {
+		super(in);
+	}
+
+	@Override
+	public int read() throws IOException {
+		final int b = super.read();
+		if (b >= 0) {
+			this.count++;
+		}
+		return b;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+			throws IOException {
+		final int n = super.read(b, off, len);
+		if (n > 0) {
+			this.count += n;
+		}
+		return n;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		final long skipped = super.skip(n);
+		this.count += skipped;
+		return skipped;
+	}
+
+	/**
+	 * @return Returns the number of bytes read so far.
+	 */
+	public long getCount() {
+		return this.count;
+	}
+}
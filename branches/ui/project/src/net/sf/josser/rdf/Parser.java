@@ -36,12 +36,14 @@
 package net.sf.josser.rdf;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Date;
 
 import net.sf.josser.Josser;
+import net.sf.josser.util.Static;
 
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
@@ -63,9 +65,9 @@ public abstract class Parser implements IParser {
 				try {
 					// BufferedReader in = new BufferedReader(new
 					// FileReader(this.path));
+					final CountingInputStream counter = this.open();
 					final BufferedReader in = new BufferedReader(
-							new InputStreamReader(new FileInputStream(this
-									.getPath()), "UTF8"));
+							new InputStreamReader(counter, "UTF8"));
 					String line;
                                         System.out.println("Importing RDF dump:" +
                                                            " " +
@@ -77,9 +79,15 @@ public abstract class Parser implements IParser {
 							&& (this.getPhase() < 2)) {
 						numlines = numlines + 1;
 						this.process(line);
+						this.progress(numlines, counter);
 						final boolean print = (numlines % grouplines) == 0;
 						if (print) {
 							this.store(numlines, start_time);
+							if (Static.isCanceled()) {
+								System.out.println("  Stopped after " +
+										numlines + " lines.");
+								break;
+							}
 						}
 					}
 					this.store(numlines, start_time);
@@ -101,6 +109,7 @@ public abstract class Parser implements IParser {
 		Date date = new Date();
 		parsed_time = date.getTime();
 		elapsed_time = (parsed_time - start_time);
+		final long commit_time = date.getTime();
 		int nerr = this.batchStore();
 		if (nerr < 0) {
 		}
@@ -114,6 +123,9 @@ public abstract class Parser implements IParser {
 		}
 		date = new Date();
 		committed_time = date.getTime();
+		if (Static.getProgress() != null) {
+			Static.getProgress().setCommitLatency(committed_time - commit_time);
+		}
 		elapsed_time = (committed_time - start_time);
                 System.out.println("  Committed contents from " +
                                    numlines +
@@ -122,6 +134,28 @@ public abstract class Parser implements IParser {
                                    " seconds.");
 	}
 
+	/**
+	 * Opens the dump of this parser, starting a new phase of progress.
+	 */
+	protected CountingInputStream open() throws IOException {
+		final File file = new File(this.getPath());
+		if (Static.getProgress() != null) {
+			Static.getProgress().startPhase(this.getClass().getSimpleName(),
+					file.length());
+		}
+		return new CountingInputStream(new FileInputStream(file));
+	}
+
+	/**
+	 * Publishes bytes read so far every 1024 lines.
+	 */
+	protected void progress(final int numlines,
+			final CountingInputStream counter) {
+		if (((numlines & 1023) == 0) && (Static.getProgress() != null)) {
+			Static.getProgress().setBytes(counter.getCount());
+		}
+	}
+
 	/**
 	 * @param phase
 	 *            The phase to set.
@@ -35,6 +35,8 @@
 
 package net.sf.josser.rdf.impl;
 
+import net.sf.josser.util.Static;
+
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
  */
@@ -69,7 +71,13 @@ public class Dump {
 	public void parse(final String dbtype, final int readlines,
 			final int writelines) {
 		this.getSpreparser().parse(readlines);
+		if (Static.isCanceled()) {
+			return;
+		}
 		this.getSparser().parse(writelines);
+		if (Static.isCanceled()) {
+			return;
+		}
 		System.gc();
 		this.getCparser().parse(writelines);
 	}
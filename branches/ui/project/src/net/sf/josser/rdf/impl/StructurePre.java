@@ -36,11 +36,11 @@
 package net.sf.josser.rdf.impl;
 
 import java.io.BufferedReader;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.Date;
 
+import net.sf.josser.rdf.CountingInputStream;
 import net.sf.josser.rdf.Parser;
 import net.sf.josser.Josser;
 import net.sf.josser.util.Static;
@@ -81,12 +81,14 @@ public class StructurePre extends Parser {
 		try {
 			// BufferedReader in = new BufferedReader(new
 			// FileReader(this.path));
+			final CountingInputStream counter = this.open();
 			final BufferedReader in = new BufferedReader(new InputStreamReader(
-					new FileInputStream(this.getPath()), "UTF8"));
+					counter, "UTF8"));
 			String line;
-			while ((line = in.readLine()) != null) {
+			while (((line = in.readLine()) != null) && !Static.isCanceled()) {
 				numlines = numlines + 1;
 				this.process(line);
+				this.progress(numlines, counter);
 				if ((numlines % grouplines) == 0) {
 					final Date current_date = new Date();
 					final long elapsed_time = current_date.getTime()
@@ -0,0 +1,236 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Progress.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of an import, published by parsers and polled by the user
+ * interface: bytes read of the current dump against its size, rows batched
+ * per table, latency of the last commit, and cancellation requests.
+ * <p>
+ * Overall progress is measured in bytes: the total is the sum of the sizes
+ * of all phases, i.e. the structure dump twice and the content dump once.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Progress {
+	private long total = 0;
+
+	private long completed = 0;
+
+	private String phase = null;
+
+	private int phases = 0;
+
+	private long size = 0;
+
+	private volatile long bytes = 0;
+
+	private long start = 0;
+
+	private long phaseStart = 0;
+
+	private final AtomicLong rows = new AtomicLong();
+
+	private final ConcurrentMap<String, AtomicLong> tables = new ConcurrentHashMap<String, AtomicLong>();
+
+	private volatile long commitLatency = 0;
+
+	private volatile boolean canceled = false;
+
+	public Progress(final long total) {
+		this.total = total;
+		this.start = System.currentTimeMillis();
+	}
+
+	/**
+	 * Starts a new phase reading size bytes, the previous phase being
+	 * completed.
+	 */
+	public synchronized void startPhase(final String phase, final long size) {
+		this.completed += this.size;
+		this.phase = phase;
+		this.phases++;
+		this.size = size;
+		this.bytes = 0;
+		this.phaseStart = System.currentTimeMillis();
+		this.tables.clear();
+	}
+
+	public void setBytes(final long bytes) {
+		this.bytes = bytes;
+	}
+
+	/**
+	 * Counts a batched row of table; called for every row, so it takes no
+	 * lock.
+	 */
+	public void addRow(final String table) {
+		AtomicLong count = this.tables.get(table);
+		if (count == null) {
+			final AtomicLong created = new AtomicLong();
+			count = this.tables.putIfAbsent(table, created);
+			if (count == null) {
+				count = created;
+			}
+		}
+		count.incrementAndGet();
+		this.rows.incrementAndGet();
+	}
+
+	/**
+	 * @return Returns the number of rows batched since the import started.
+	 */
+	public long getRows() {
+		return this.rows.get();
+	}
+
+	/**
+	 * @return Returns the average rows per second of every table during the
+	 *         current phase.
+	 */
+	public synchronized Map<String, Double> getRates() {
+		final Map<String, Double> rates = new TreeMap<String, Double>();
+		final double seconds = Math.max(1,
+				System.currentTimeMillis() - this.phaseStart) / 1000.0;
+		for (final Map.Entry<String, AtomicLong> entry : this.tables.entrySet()) {
+			rates.put(entry.getKey(), Double.valueOf(entry.getValue().get()
+					/ seconds));
+		}
+		return rates;
+	}
+
+	/**
+	 * @param commitLatency
+	 *            The milliseconds taken by the last batch store and commit.
+	 */
+	public void setCommitLatency(final long commitLatency) {
+		this.commitLatency = commitLatency;
+	}
+
+	/**
+	 * @return Returns the commitLatency.
+	 */
+	public long getCommitLatency() {
+		return this.commitLatency;
+	}
+
+	/**
+	 * Asks parsers to stop at the next batch boundary.
+	 */
+	public void cancel() {
+		this.canceled = true;
+	}
+
+	public boolean isCanceled() {
+		return this.canceled;
+	}
+
+	public synchronized String getPhase() {
+		return this.phase;
+	}
+
+	public synchronized int getPhases() {
+		return this.phases;
+	}
+
+	/**
+	 * @return Returns the completed fraction of the current phase.
+	 */
+	public synchronized double getPhaseDone() {
+		return this.size > 0 ? Math.min(1.0, (double) this.bytes / this.size)
+				: 0;
+	}
+
+	/**
+	 * @return Returns the completed fraction of the whole import.
+	 */
+	public synchronized double getDone() {
+		return this.total > 0 ? Math.min(1.0,
+				(double) (this.completed + this.bytes) / this.total) : 0;
+	}
+
+	/**
+	 * @return Returns the estimated milliseconds to the end of the current
+	 *         phase, or -1 when unknown.
+	 */
+	public synchronized long getPhaseEta() {
+		return Progress.eta(this.phaseStart, this.getPhaseDone());
+	}
+
+	/**
+	 * @return Returns the estimated milliseconds to the end of the import, or
+	 *         -1 when unknown.
+	 */
+	public synchronized long getEta() {
+		return Progress.eta(this.start, this.getDone());
+	}
+
+	/**
+	 * @return Returns the megabytes read per second during the current phase.
+	 */
+	public synchronized double getThroughput() {
+		final double seconds = Math.max(1,
+				System.currentTimeMillis() - this.phaseStart) / 1000.0;
+		return this.bytes / seconds / (1024 * 1024);
+	}
+
+	private static long eta(final long start, final double done) {
+		if (done <= 0) {
+			return -1;
+		}
+		final long elapsed = System.currentTimeMillis() - start;
+		return (long) (elapsed * (1 - done) / done);
+	}
+
+	/**
+	 * @return Returns milliseconds formatted as hh:mm:ss, or --:--:-- when
+	 *         negative.
+	 */
+	public static String format(final long millis) {
+		if (millis < 0) {
+			return "--:--:--";
+		}
+		final long seconds = millis / 1000;
+		return String.format("%02d:%02d:%02d", Long.valueOf(seconds / 3600),
+				Long.valueOf((seconds / 60) % 60), Long.valueOf(seconds % 60));
+	}
+}
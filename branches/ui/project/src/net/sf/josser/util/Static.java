@@ -45,6 +45,8 @@ public class Static {
 
 	private static Topics topicsHashtable = null;
 
+	private static Progress progress = null;
+
 	/**
 	 * @param topicsHashtable
 	 *            The topicsHashtable to set.
@@ -76,6 +78,28 @@ public class Static {
 		return Static.topicsHashtable.findTopic(topic);
 	}
 
+	/**
+	 * @param progress
+	 *            The progress to set, or null when progress is not tracked.
+	 */
+	public static void setProgress(final Progress progress) {
+		Static.progress = progress;
+	}
+
+	/**
+	 * @return Returns the progress.
+	 */
+	public static Progress getProgress() {
+		return Static.progress;
+	}
+
+	/**
+	 * @return Returns true when the import has been asked to stop.
+	 */
+	public static boolean isCanceled() {
+		return (Static.progress != null) && Static.progress.isCanceled();
+	}
+
 	/**
 	 * @param filtermatching
 	 *            The filtermatching to set.
@@ -67,6 +67,22 @@ abstract class Buffer {
 		return new ChannelBuffer(size, true);
 	}
 
+	/**
+	 * Allocates a buffer whose storage is borrowed from pool, and borrowed
+	 * again from it when the buffer grows. The storage has to be given back
+	 * with release().
+	 */
+	static Buffer allocatePooled(int size, boolean useNewIo, BufferPool pool) {
+		if (!useNewIo) {
+			return new ByteArrayBuffer(size, pool);
+		}
+
+		return new ChannelBuffer(size, pool);
+	}
+
+	/** The pool storage is borrowed from, null if not pooled */
+	protected BufferPool pool = null;
+
 	protected boolean wasMultiPacket = false;
 
 	abstract void clear();
@@ -136,6 +152,19 @@ abstract class Buffer {
 
 	abstract void ensureCapacity(int additionalData) throws SQLException;
 
+	/**
+	 * Gives the storage of a pooled buffer back to its pool, leaving the
+	 * buffer empty (it grows again if used).
+	 */
+	abstract void release();
+
+	/**
+	 * Detaches a pooled buffer from its pool without giving its storage back,
+	 * for storage which may still be read, so that the pool stops counting
+	 * it.
+	 */
+	abstract void forget();
+
 	/**
 	 * Skip over a length-encoded string
 	 * 
@@ -185,6 +214,8 @@ abstract class Buffer {
 
 	abstract int readIntAsLong();
 
+	abstract void readBytes(byte[] dest, int destOffset, int len);
+
 	abstract byte[] readLenByteArray(int offset);
 
 	abstract long readLength();
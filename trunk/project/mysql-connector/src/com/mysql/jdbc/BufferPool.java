@@ -0,0 +1,346 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package com.mysql.jdbc;
+
+import java.nio.ByteBuffer;
+
+import java.util.LinkedList;
+
+/**
+ * Pool of packet storage shared by all connections, so that large packets
+ * are re-used across connections rather than allocated and thrown away after
+ * every large result or query. Byte arrays (used by ByteArrayBuffer) and
+ * direct byte buffers (used by ChannelBuffer with 'useNewIo') are kept in
+ * size classes of powers of two, with a bound on the bytes retained of each
+ * kind.
+ * <p>
+ * Direct buffers live off the heap, out of reach of the heap limit, so the
+ * direct buffers allocated by the pool, in use or retained, are bounded to
+ * twice the retained bound: beyond it buffers are allocated on the heap.
+ */
+class BufferPool {
+	/** Smallest size class, 4K */
+	private static final int MIN_SHIFT = 12;
+
+	/** Largest size class, 16M */
+	private static final int MAX_SHIFT = 24;
+
+	private static final BufferPool INSTANCE = new BufferPool();
+
+	private LinkedList[] arrays = new LinkedList[MAX_SHIFT + 1];
+
+	private LinkedList[] directBuffers = new LinkedList[MAX_SHIFT + 1];
+
+	private long maxRetainedBytes = 0;
+
+	private long retainedArrayBytes = 0;
+
+	private long retainedDirectBytes = 0;
+
+	/** Bytes of direct buffers allocated and not discarded */
+	private long directBytes = 0;
+
+	private long hits = 0;
+
+	private long misses = 0;
+
+	private long returns = 0;
+
+	private long discards = 0;
+
+	private long heapFallbacks = 0;
+
+	static BufferPool getInstance() {
+		return INSTANCE;
+	}
+
+	private BufferPool() {
+		for (int i = MIN_SHIFT; i <= MAX_SHIFT; i++) {
+			this.arrays[i] = new LinkedList();
+			this.directBuffers[i] = new LinkedList();
+		}
+	}
+
+	/**
+	 * Raises the bound on the bytes retained of each kind of storage. The
+	 * largest bound asked for by any connection is used.
+	 * 
+	 * @param maxBytes
+	 *            the bound asked for
+	 */
+	synchronized void ensureMaxRetainedBytes(long maxBytes) {
+		if (maxBytes > this.maxRetainedBytes) {
+			this.maxRetainedBytes = maxBytes;
+		}
+	}
+
+	/**
+	 * @param size
+	 *            the size needed
+	 * 
+	 * @return a byte array of at least size bytes
+	 */
+	byte[] borrowArray(int size) {
+		int shift = ceilingShift(size);
+
+		if (shift <= MAX_SHIFT) {
+			synchronized (this) {
+				if (!this.arrays[shift].isEmpty()) {
+					byte[] array = (byte[]) this.arrays[shift].removeFirst();
+
+					this.retainedArrayBytes -= array.length;
+					this.hits++;
+
+					return array;
+				}
+
+				this.misses++;
+			}
+
+			return new byte[1 << shift];
+		}
+
+		synchronized (this) {
+			this.misses++;
+		}
+
+		return new byte[size];
+	}
+
+	/**
+	 * Gives back an array for re-use.
+	 * 
+	 * @param array
+	 *            the array, not to be used anymore by the caller
+	 */
+	void returnArray(byte[] array) {
+		int shift = floorShift(array.length);
+
+		synchronized (this) {
+			if ((shift < MIN_SHIFT)
+					|| (this.retainedArrayBytes + array.length > this.maxRetainedBytes)) {
+				this.discards++;
+
+				return;
+			}
+
+			this.arrays[shift].addFirst(array);
+			this.retainedArrayBytes += array.length;
+			this.returns++;
+		}
+	}
+
+	/**
+	 * @param size
+	 *            the size needed
+	 * 
+	 * @return a cleared byte buffer of at least size bytes, direct unless the
+	 *         bound on direct buffers is reached
+	 */
+	ByteBuffer borrowDirect(int size) {
+		int shift = ceilingShift(size);
+		int capacity = (shift <= MAX_SHIFT) ? (1 << shift) : size;
+
+		synchronized (this) {
+			if ((shift <= MAX_SHIFT) && !this.directBuffers[shift].isEmpty()) {
+				ByteBuffer buffer = (ByteBuffer) this.directBuffers[shift]
+						.removeFirst();
+
+				this.retainedDirectBytes -= buffer.capacity();
+				this.hits++;
+
+				buffer.clear();
+
+				return buffer;
+			}
+
+			this.misses++;
+
+			if (this.directBytes + capacity > 2 * this.maxRetainedBytes) {
+				this.heapFallbacks++;
+
+				return ByteBuffer.allocate(capacity);
+			}
+
+			this.directBytes += capacity;
+		}
+
+		try {
+			return ByteBuffer.allocateDirect(capacity);
+		} catch (OutOfMemoryError oom) {
+			// Out of direct memory, the heap may still have room
+			synchronized (this) {
+				this.directBytes -= capacity;
+				this.heapFallbacks++;
+			}
+
+			return ByteBuffer.allocate(capacity);
+		}
+	}
+
+	/**
+	 * Gives back a direct buffer for re-use.
+	 * 
+	 * @param buffer
+	 *            the buffer, not to be used anymore by the caller
+	 */
+	void returnDirect(ByteBuffer buffer) {
+		if (!buffer.isDirect()) {
+			return;
+		}
+
+		int shift = floorShift(buffer.capacity());
+
+		synchronized (this) {
+			if ((shift < MIN_SHIFT)
+					|| (this.retainedDirectBytes + buffer.capacity() > this.maxRetainedBytes)) {
+				this.directBytes = Math.max(0, this.directBytes
+						- buffer.capacity());
+				this.discards++;
+
+				return;
+			}
+
+			this.directBuffers[shift].addFirst(buffer);
+			this.retainedDirectBytes += buffer.capacity();
+			this.returns++;
+		}
+	}
+
+	/**
+	 * Stops counting a direct buffer borrowed and never given back, so that
+	 * it no longer counts against the bound on direct buffers.
+	 * 
+	 * @param buffer
+	 *            the buffer, left to the garbage collector
+	 */
+	void forgetDirect(ByteBuffer buffer) {
+		if (!buffer.isDirect()) {
+			return;
+		}
+
+		synchronized (this) {
+			this.directBytes = Math.max(0, this.directBytes
+					- buffer.capacity());
+			this.discards++;
+		}
+	}
+
+	/**
+	 * @return the number of borrowings served from the pool
+	 */
+	synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * @return the number of borrowings which had to allocate
+	 */
+	synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * @return the number of storages given back and retained
+	 */
+	synchronized long getReturns() {
+		return this.returns;
+	}
+
+	/**
+	 * @return the number of storages given back and dropped, being too small
+	 *         or over the bound
+	 */
+	synchronized long getDiscards() {
+		return this.discards;
+	}
+
+	/**
+	 * @return the number of direct buffers asked for and allocated on the
+	 *         heap instead, the bound on direct buffers being reached
+	 */
+	synchronized long getHeapFallbacks() {
+		return this.heapFallbacks;
+	}
+
+	/**
+	 * @return the bytes of direct buffers allocated by the pool and not
+	 *         discarded, in use or retained
+	 */
+	synchronized long getDirectBytes() {
+		return this.directBytes;
+	}
+
+	/**
+	 * @return the bytes of byte arrays retained
+	 */
+	synchronized long getRetainedArrayBytes() {
+		return this.retainedArrayBytes;
+	}
+
+	/**
+	 * @return the bytes of direct buffers retained, off the heap
+	 */
+	synchronized long getRetainedDirectBytes() {
+		return this.retainedDirectBytes;
+	}
+
+	public synchronized String toString() {
+		return "hits: " + this.hits + ", misses: " + this.misses //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", returns: " + this.returns + ", discards: " //$NON-NLS-1$ //$NON-NLS-2$
+				+ this.discards + ", retained heap bytes: " //$NON-NLS-1$
+				+ this.retainedArrayBytes + ", retained direct bytes: " //$NON-NLS-1$
+				+ this.retainedDirectBytes + " of " + this.maxRetainedBytes //$NON-NLS-1$
+				+ ", allocated direct bytes: " + this.directBytes //$NON-NLS-1$
+				+ ", heap fallbacks: " + this.heapFallbacks; //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the smallest shift with (1 << shift) >= size, at least
+	 *         MIN_SHIFT
+	 */
+	private static int ceilingShift(int size) {
+		int shift = MIN_SHIFT;
+
+		while ((shift <= MAX_SHIFT) && ((1 << shift) < size)) {
+			shift++;
+		}
+
+		return shift;
+	}
+
+	/**
+	 * @return the largest shift with (1 << shift) <= size, at most MAX_SHIFT
+	 */
+	private static int floorShift(int size) {
+		int shift = MAX_SHIFT;
+
+		while ((shift >= 0) && ((1 << shift) > size)) {
+			shift--;
+		}
+
+		return shift;
+	}
+}
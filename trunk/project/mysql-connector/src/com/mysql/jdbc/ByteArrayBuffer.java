@@ -55,6 +55,13 @@ class ByteArrayBuffer extends Buffer {
 		this.position = MysqlIO.HEADER_LENGTH;
 	}
 
+	ByteArrayBuffer(int size, BufferPool pool) {
+		this.pool = pool;
+		this.byteBuffer = pool.borrowArray(size);
+		setBufLength(this.byteBuffer.length);
+		this.position = MysqlIO.HEADER_LENGTH;
+	}
+
 	final void clear() {
 		this.position = MysqlIO.HEADER_LENGTH;
 	}
@@ -84,16 +91,36 @@ class ByteArrayBuffer extends Buffer {
 					newLength = this.byteBuffer.length + additionalData;
 				}
 
-				byte[] newBytes = new byte[newLength];
+				byte[] newBytes = (this.pool != null) ? this.pool
+						.borrowArray(newLength) : new byte[newLength];
 
 				System.arraycopy(this.byteBuffer, 0, newBytes, 0,
 						this.byteBuffer.length);
+
+				if (this.pool != null) {
+					this.pool.returnArray(this.byteBuffer);
+				}
+
 				this.byteBuffer = newBytes;
 				setBufLength(this.byteBuffer.length);
 			}
 		}
 	}
 
+	final void release() {
+		if (this.pool != null) {
+			this.pool.returnArray(this.byteBuffer);
+			this.pool = null;
+			this.byteBuffer = Constants.EMPTY_BYTE_ARRAY;
+			setBufLength(0);
+			this.position = 0;
+		}
+	}
+
+	final void forget() {
+		this.pool = null;
+	}
+
 	/**
 	 * Skip over a length-encoded string
 	 * 
@@ -232,6 +259,15 @@ class ByteArrayBuffer extends Buffer {
 				| ((b[this.position++] & 0xff) << 24);
 	}
 
+	/**
+	 * Copies len bytes from the current position into dest, advancing the
+	 * position.
+	 */
+	final void readBytes(byte[] dest, int destOffset, int len) {
+		System.arraycopy(this.byteBuffer, this.position, dest, destOffset, len);
+		this.position += len;
+	}
+
 	final byte[] readLenByteArray(int offset) {
 		long len = this.readFieldLength();
 
@@ -374,6 +410,11 @@ class ByteArrayBuffer extends Buffer {
 	 *            the array of bytes to use as a buffer
 	 */
 	public void setByteBuffer(byte[] byteBufferToSet) {
+		if (this.pool != null) {
+			this.pool.returnArray(this.byteBuffer);
+			this.pool = null; // byteBufferToSet isn't from the pool
+		}
+
 		this.byteBuffer = byteBufferToSet;
 	}
 
@@ -66,6 +66,14 @@ class ChannelBuffer extends Buffer {
 		this.directBuffer.position(MysqlIO.HEADER_LENGTH);
 	}
 
+	ChannelBuffer(int size, BufferPool pool) {
+		this.pool = pool;
+		this.directBuffer = pool.borrowDirect(size);
+
+		setBufLength(this.directBuffer.capacity());
+		this.directBuffer.position(MysqlIO.HEADER_LENGTH);
+	}
+
 	private byte[] bufferToArray() {
 		if (!this.dirty) {
 			return this.asBytes;
@@ -127,10 +135,17 @@ class ChannelBuffer extends Buffer {
 					newLength = bufferCapacity + additionalData;
 				}
 
-				ByteBuffer largerBuffer = ByteBuffer.allocateDirect(newLength);
+				ByteBuffer largerBuffer = (this.pool != null) ? this.pool
+						.borrowDirect(newLength) : ByteBuffer
+						.allocateDirect(newLength);
 
 				this.directBuffer.position(0);
 				largerBuffer.put(this.directBuffer);
+
+				if (this.pool != null) {
+					this.pool.returnDirect(this.directBuffer);
+				}
+
 				this.directBuffer = largerBuffer;
 				this.directBuffer.position(currentPosition);
 
@@ -141,6 +156,22 @@ class ChannelBuffer extends Buffer {
 		}
 	}
 
+	final void release() {
+		if (this.pool != null) {
+			this.pool.returnDirect(this.directBuffer);
+			this.pool = null;
+			this.directBuffer = ByteBuffer.allocate(0);
+			setBufLength(0);
+		}
+	}
+
+	final void forget() {
+		if (this.pool != null) {
+			this.pool.forgetDirect(this.directBuffer);
+			this.pool = null;
+		}
+	}
+
 	/**
 	 * Skip over a length-encoded string
 	 * 
@@ -304,6 +335,14 @@ class ChannelBuffer extends Buffer {
 		return i;
 	}
 
+	/**
+	 * Copies len bytes from the current position into dest, advancing the
+	 * position, without going through bufferToArray().
+	 */
+	final void readBytes(byte[] dest, int destOffset, int len) {
+		this.directBuffer.get(dest, destOffset, len);
+	}
+
 	final byte[] readLenByteArray(int offset) {
 		long len = this.readFieldLength();
 
@@ -464,6 +503,11 @@ class ChannelBuffer extends Buffer {
 	 *            the array of bytes to use as a buffer
 	 */
 	public void setByteBuffer(byte[] byteBuffer) {
+		if (this.pool != null) {
+			this.pool.returnDirect(this.directBuffer);
+			this.pool = null; // byteBuffer isn't from the pool
+		}
+
 		this.directBuffer = ByteBuffer.wrap(byteBuffer);
 	}
 
@@ -0,0 +1,194 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package com.mysql.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Case-insensitive lookup of column indices by column name, and then by
+ * 'table.column' name, for ResultSet.findColumn(). Built once per shape of
+ * result set and shared by result sets of the same shape, it is never
+ * modified after construction, so lookups need no lock.
+ * 
+ * Names are kept in open-addressing tables of column indices, hashed on
+ * case-folded characters so that a lookup neither allocates nor boxes.
+ * When several columns have the same name, the first one wins, as the
+ * JDBC spec requires.
+ */
+final class ColumnIndex {
+	private final String[] names;
+
+	private final String[] fullNames;
+
+	/** Column index + 1 of each slot, 0 for empty slots */
+	private final int[] nameTable;
+
+	private final int[] fullNameTable;
+
+	private final int mask;
+
+	/**
+	 * Creates a new ColumnIndex for the given fields.
+	 * 
+	 * @param fields
+	 *            the fields of the result set
+	 * 
+	 * @throws SQLException
+	 *             if the names of the fields can't be decoded
+	 */
+	ColumnIndex(Field[] fields) throws SQLException {
+		int numFields = fields.length;
+
+		this.names = new String[numFields];
+		this.fullNames = new String[numFields];
+
+		for (int i = 0; i < numFields; i++) {
+			this.names[i] = fields[i].getName();
+			this.fullNames[i] = fields[i].getFullName();
+		}
+
+		// At most half full
+		int size = 4;
+
+		while (size < numFields * 2) {
+			size <<= 1;
+		}
+
+		this.mask = size - 1;
+		this.nameTable = buildTable(this.names);
+		this.fullNameTable = buildTable(this.fullNames);
+	}
+
+	private int[] buildTable(String[] keys) {
+		int[] table = new int[this.mask + 1];
+
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == null) {
+				continue;
+			}
+
+			int slot = hash(keys[i]) & this.mask;
+
+			while (table[slot] != 0) {
+				if (keys[table[slot] - 1].equalsIgnoreCase(keys[i])) {
+					break; // an earlier column has this name
+				}
+
+				slot = (slot + 1) & this.mask;
+			}
+
+			if (table[slot] == 0) {
+				table[slot] = i + 1;
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * Hash of s consistent with String.equalsIgnoreCase()
+	 */
+	private static int hash(String s) {
+		int h = 0;
+		int length = s.length();
+
+		for (int i = 0; i < length; i++) {
+			h = (31 * h)
+					+ Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+		}
+
+		return h ^ (h >>> 16);
+	}
+
+	private int lookup(int[] table, String[] keys, String name, int hash) {
+		int slot = hash & this.mask;
+
+		while (table[slot] != 0) {
+			int column = table[slot];
+			String key = keys[column - 1];
+
+			if ((key == name) || key.equalsIgnoreCase(name)) {
+				return column;
+			}
+
+			slot = (slot + 1) & this.mask;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Returns the index of the first column named columnName, or else of
+	 * the first column whose 'table.column' name is columnName, ignoring
+	 * case.
+	 * 
+	 * @param columnName
+	 *            the name to look up
+	 * 
+	 * @return the column index, the first column is 1, or 0 if not found
+	 */
+	int findColumn(String columnName) {
+		int hash = hash(columnName);
+		int column = lookup(this.nameTable, this.names, columnName, hash);
+
+		if (column == 0) {
+			column = lookup(this.fullNameTable, this.fullNames, columnName,
+					hash);
+		}
+
+		return column;
+	}
+
+	/**
+	 * Returns true if fields has the same names as the fields this index was
+	 * built for, so that this index can be used for them.
+	 * 
+	 * @param fields
+	 *            the fields of another result set
+	 * 
+	 * @return whether this index applies to fields
+	 * 
+	 * @throws SQLException
+	 *             if the names of the fields can't be decoded
+	 */
+	boolean matches(Field[] fields) throws SQLException {
+		if (fields.length != this.names.length) {
+			return false;
+		}
+
+		for (int i = 0; i < fields.length; i++) {
+			if (!equals(this.names[i], fields[i].getName())
+					|| !equals(this.fullNames[i], fields[i].getFullName())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean equals(String s1, String s2) {
+		return (s1 == null) ? (s2 == null) : s1.equals(s2);
+	}
+}
@@ -4629,6 +4629,11 @@ public class Connection extends ConnectionProperties implements
 			logMessage.append("\nNumber of prepared statement executions: "
 					+ this.numberOfPreparedExecutes);
 
+			if (getPacketBufferPoolSize() > 0) {
+				logMessage.append("\nPacket buffer pool: "
+						+ BufferPool.getInstance());
+			}
+
 			if (this.perfMetricsHistBreakpoints != null) {
 				logMessage.append("\n\n\tTiming Histogram:\n");
 				int maxNumPoints = 20;
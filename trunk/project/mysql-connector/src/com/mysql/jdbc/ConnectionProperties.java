@@ -668,6 +668,18 @@ public class ConnectionProperties {
 
 	private boolean autoReconnectForPoolsAsBoolean = false;
 
+	private IntegerConnectionProperty batchPipelineWindow = new IntegerConnectionProperty(
+			"batchPipelineWindow",
+			0,
+			0,
+			Integer.MAX_VALUE,
+			"When greater than 1, executeBatch() of server-side prepared statements sends the "
+					+ "executions of up to this many parameter sets before reading their results, "
+					+ "instead of waiting for the result of each one. Only used when "
+					+ "'continueBatchOnError' is 'true' and 'jdbcCompliantTruncation' is 'false', "
+					+ "for batches without streams or plain statements (defaults to '0').",
+			"3.1.14", PERFORMANCE_CATEGORY, Integer.MIN_VALUE);
+
 	private MemorySizeConnectionProperty blobSendChunkSize = new MemorySizeConnectionProperty(
 			"blobSendChunkSize",
 			1024 * 1024,
@@ -689,6 +701,14 @@ public class ConnectionProperties {
 					+ " and server-side prepared statements themselves?",
 			"3.0.10", PERFORMANCE_CATEGORY, Integer.MIN_VALUE);
 
+	private BooleanConnectionProperty cacheResultSetFields = new BooleanConnectionProperty(
+			"cacheResultSetFields",
+			false,
+			"Should the driver re-use the Field instances of a result set when the column definitions sent by the server "
+					+ "are the same as those of a recent result set, rather than unpacking them again? The number of "
+					+ "column definitions kept is set by 'metadataCacheSize'.",
+			"3.1.14", PERFORMANCE_CATEGORY, Integer.MIN_VALUE);
+
 	private BooleanConnectionProperty cacheResultSetMetadata = new BooleanConnectionProperty(
 			"cacheResultSetMetadata",
 			false,
@@ -995,6 +1015,19 @@ public class ConnectionProperties {
 			"The maximum number of packets to retain when 'enablePacketDebug' is true",
 			"3.1.3", DEBUGING_PROFILING_CATEGORY, 7);
 
+	private MemorySizeConnectionProperty packetBufferPoolSize = new MemorySizeConnectionProperty(
+			"packetBufferPoolSize",
+			0,
+			0,
+			Integer.MAX_VALUE,
+			"When greater than 0, packets are allocated from a pool shared by all connections, which "
+					+ "retains at most this many bytes of heap arrays and as many bytes of direct "
+					+ "buffers (with 'useNewIo') for re-use, rather than letting large packets be garbage "
+					+ "collected. Direct buffers allocated by the pool, in use or retained, are bounded to "
+					+ "twice this many bytes, further ones being allocated on the heap (defaults to '0', "
+					+ "no pool).",
+			"3.1.14", PERFORMANCE_CATEGORY, Integer.MIN_VALUE);
+
 	private BooleanConnectionProperty paranoid = new BooleanConnectionProperty(
 			"paranoid",
 			false,
@@ -1222,6 +1255,12 @@ public class ConnectionProperties {
 					+ "URL or applying user-specified properties. These configurations are explained in the 'Configurations' of the documentation.",
 			"3.1.5", CONNECTION_AND_AUTH_CATEGORY, Integer.MAX_VALUE);
 
+	private BooleanConnectionProperty useFastDateParsing = new BooleanConnectionProperty(
+			"useFastDateParsing",
+			true,
+			"Use internal String->Date/Timestamp conversion routines, with a cache of recently created dates, to avoid excessive object creation?",
+			"3.1.14", PERFORMANCE_CATEGORY, Integer.MIN_VALUE);
+
 	private BooleanConnectionProperty useFastIntParsing = new BooleanConnectionProperty(
 			"useFastIntParsing",
 			true,
@@ -1272,6 +1311,13 @@ public class ConnectionProperties {
 			"Use newer, optimized non-blocking, buffered input stream when reading from the server?",
 			"3.1.5", PERFORMANCE_CATEGORY, Integer.MIN_VALUE);
 
+	private BooleanConnectionProperty useSlabRowData = new BooleanConnectionProperty(
+			"useSlabRowData",
+			false,
+			"Should fully-read, read-only result sets keep their rows in a few large byte arrays rather than "
+					+ "an array per value, to lower heap use and garbage collection for large results?",
+			"3.1.14", PERFORMANCE_CATEGORY, Integer.MIN_VALUE);
+
 	private BooleanConnectionProperty useSqlStateCodes = new BooleanConnectionProperty(
 			"useSqlStateCodes",
 			true,
@@ -1603,6 +1649,13 @@ public class ConnectionProperties {
 		return this.autoReconnectForPoolsAsBoolean;
 	}
 
+	/**
+	 * @return Returns the batchPipelineWindow.
+	 */
+	public int getBatchPipelineWindow() {
+		return this.batchPipelineWindow.getValueAsInt();
+	}
+
 	/**
 	 * @return Returns the blobSendChunkSize.
 	 */
@@ -1629,6 +1682,13 @@ public class ConnectionProperties {
 				.booleanValue();
 	}
 
+	/**
+	 * @return Returns the cacheResultSetFields.
+	 */
+	public boolean getCacheResultSetFields() {
+		return this.cacheResultSetFields.getValueAsBoolean();
+	}
+
 	/**
 	 * DOCUMENT ME!
 	 * 
@@ -1962,6 +2022,13 @@ public class ConnectionProperties {
 		return this.packetDebugBufferSize.getValueAsInt();
 	}
 
+	/**
+	 * @return Returns the packetBufferPoolSize.
+	 */
+	public int getPacketBufferPoolSize() {
+		return this.packetBufferPoolSize.getValueAsInt();
+	}
+
 	/**
 	 * DOCUMENT ME!
 	 * 
@@ -2196,6 +2263,13 @@ public class ConnectionProperties {
 		return this.useCompression.getValueAsBoolean();
 	}
 
+	/**
+	 * @return Returns the useFastDateParsing.
+	 */
+	public boolean getUseFastDateParsing() {
+		return this.useFastDateParsing.getValueAsBoolean();
+	}
+
 	/**
 	 * @return Returns the useFastIntParsing.
 	 */
@@ -2258,6 +2332,13 @@ public class ConnectionProperties {
 		return this.detectServerPreparedStmts.getValueAsBoolean();
 	}
 
+	/**
+	 * @return Returns the useSlabRowData.
+	 */
+	public boolean getUseSlabRowData() {
+		return this.useSlabRowData.getValueAsBoolean();
+	}
+
 	/**
 	 * DOCUMENT ME!
 	 * 
@@ -2596,6 +2677,14 @@ public class ConnectionProperties {
 		this.autoReconnectForPools.setValue(flag);
 	}
 
+	/**
+	 * @param window
+	 *            The batchPipelineWindow to set.
+	 */
+	public void setBatchPipelineWindow(int window) {
+		this.batchPipelineWindow.setValue(window);
+	}
+
 	/**
 	 * @param blobSendChunkSize
 	 *            The blobSendChunkSize to set.
@@ -2624,6 +2713,14 @@ public class ConnectionProperties {
 		this.cachePreparedStatements.setValue(flag);
 	}
 
+	/**
+	 * @param flag
+	 *            The cacheResultSetFields to set.
+	 */
+	public void setCacheResultSetFields(boolean flag) {
+		this.cacheResultSetFields.setValue(flag);
+	}
+
 	/**
 	 * Sets whether or not we should cache result set metadata.
 	 * 
@@ -3009,6 +3106,14 @@ public class ConnectionProperties {
 		this.packetDebugBufferSize.setValue(size);
 	}
 
+	/**
+	 * @param value
+	 *            The packetBufferPoolSize to set.
+	 */
+	public void setPacketBufferPoolSize(String value) throws SQLException {
+		this.packetBufferPoolSize.setValue(value);
+	}
+
 	/**
 	 * DOCUMENT ME!
 	 * 
@@ -3257,6 +3362,14 @@ public class ConnectionProperties {
 		this.useCompression.setValue(property);
 	}
 
+	/**
+	 * @param flag
+	 *            The useFastDateParsing to set.
+	 */
+	public void setUseFastDateParsing(boolean flag) {
+		this.useFastDateParsing.setValue(flag);
+	}
+
 	/**
 	 * @param useFastIntParsing
 	 *            The useFastIntParsing to set.
@@ -3327,6 +3440,14 @@ public class ConnectionProperties {
 		this.detectServerPreparedStmts.setValue(flag);
 	}
 
+	/**
+	 * @param flag
+	 *            The useSlabRowData to set.
+	 */
+	public void setUseSlabRowData(boolean flag) {
+		this.useSlabRowData.setValue(flag);
+	}
+
 	/**
 	 * DOCUMENT ME!
 	 * 
@@ -26,6 +26,7 @@ package com.mysql.jdbc;
 
 import com.mysql.jdbc.profiler.ProfileEventSink;
 import com.mysql.jdbc.profiler.ProfilerEvent;
+import com.mysql.jdbc.util.LRUCache;
 import com.mysql.jdbc.util.ReadAheadInputStream;
 import com.mysql.jdbc.util.ResultSetUtil;
 
@@ -48,6 +49,8 @@ import java.net.Socket;
 import java.net.URL;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SocketChannel;
 
 import java.security.NoSuchAlgorithmException;
@@ -160,6 +163,12 @@ class MysqlIO {
     private Buffer sendPacket = null;
     private Buffer sharedSendPacket = null;
 
+    /** Pool of packet storage, null when not used */
+    private BufferPool bufferPool = null;
+
+    /** Field[] of recent result sets by their field packets, null when not used */
+    private LRUCache fieldsCache = null;
+
     /** Data to the server */
     protected BufferedOutputStream mysqlOutput = null;
     protected com.mysql.jdbc.Connection connection;
@@ -266,14 +275,19 @@ class MysqlIO {
 
         this.useNewIo = this.connection.getUseNewIo();
 
-        if (this.useNewIo) {
-            this.reusablePacket = Buffer.allocateDirect(this.connection.getNetBufferLength(),
-                    true);
-        } else {
-            this.reusablePacket = Buffer.allocateNew(this.connection.getNetBufferLength(),
-                    false);
+        if (this.connection.getPacketBufferPoolSize() > 0) {
+            this.bufferPool = BufferPool.getInstance();
+            this.bufferPool.ensureMaxRetainedBytes(this.connection.getPacketBufferPoolSize());
         }
 
+        if (this.connection.getCacheResultSetFields() && !this.useNewIo) {
+            // With 'useNewIO' field packets are copied out of the re-used
+            // packet, so there would be nothing to gain
+            this.fieldsCache = new LRUCache(this.connection.getMetadataCacheSize());
+        }
+
+        this.reusablePacket = allocatePacket(this.connection.getNetBufferLength());
+
         this.port = port;
         this.host = host;
 
@@ -387,8 +401,14 @@ class MysqlIO {
         Buffer packet; // The packet from the server
         Field[] fields = null;
 
+        Buffer[] fieldPackets = null;
+
         if (unpackFieldInfo) {
-            fields = new Field[(int) columnCount];
+            if (this.fieldsCache != null) {
+                fieldPackets = new Buffer[(int) columnCount];
+            } else {
+                fields = new Field[(int) columnCount];
+            }
         }
 
         // Read in the column information
@@ -410,11 +430,17 @@ class MysqlIO {
                 fieldPacket = readPacket();
             }
 
-            if (unpackFieldInfo) {
+            if (fieldPackets != null) {
+                fieldPackets[i] = fieldPacket;
+            } else if (unpackFieldInfo) {
                 fields[i] = unpackField(fieldPacket, false);
             }
         }
 
+        if (fieldPackets != null) {
+            fields = getCachedFields(fieldPackets);
+        }
+
         packet = reuseAndReadPacket(this.reusablePacket);
 
         RowData rowData = null;
@@ -467,6 +493,18 @@ class MysqlIO {
             // Let the JVM clean it up later
             this.mysqlConnection = null;
         }
+
+        if (this.bufferPool != null) {
+            // Storage goes back to the pool for other connections, whether
+            // the connection is closed or torn down by a failure
+            if (this.reusablePacket != null) {
+                this.reusablePacket.release();
+            }
+
+            if (this.sharedSendPacket != null) {
+                this.sharedSendPacket.release();
+            }
+        }
     }
 
     /**
@@ -562,6 +600,35 @@ class MysqlIO {
         }
     }
 
+    /**
+     * Returns the fields of a previous result set sent with the same field
+     * packets, or unpacks and caches them. Fields are not modified once
+     * unpacked, so result sets of this connection can share them.
+     *
+     * @param fieldPackets the field packets of the result set
+     *
+     * @return the fields of the result set
+     *
+     * @throws SQLException if a field can't be unpacked
+     */
+    private Field[] getCachedFields(Buffer[] fieldPackets)
+        throws SQLException {
+        FieldsCacheKey key = new FieldsCacheKey(fieldPackets);
+        Field[] fields = (Field[]) this.fieldsCache.get(key);
+
+        if (fields == null) {
+            fields = new Field[fieldPackets.length];
+
+            for (int i = 0; i < fieldPackets.length; i++) {
+                fields[i] = unpackField(fieldPackets[i], false);
+            }
+
+            this.fieldsCache.put(key, fields);
+        }
+
+        return fields;
+    }
+
     /**
      * Unpacks the Field information from the given packet. Understands pre 4.1
      * and post 4.1 server version field packet structures.
@@ -1367,6 +1434,25 @@ class MysqlIO {
         forceClose();
     }
 
+    /**
+     * Allocates a packet, from the pool when 'packetBufferPoolSize' is set.
+     *
+     * @param size the size of the packet
+     *
+     * @return the packet
+     */
+    private Buffer allocatePacket(int size) {
+        if (this.bufferPool != null) {
+            return Buffer.allocatePooled(size, this.useNewIo, this.bufferPool);
+        }
+
+        if (this.useNewIo) {
+            return Buffer.allocateDirect(size, true);
+        }
+
+        return Buffer.allocateNew(size, false);
+    }
+
     /**
      * Returns the packet used for sending data (used by PreparedStatement)
      * Guarded by external synchronization on a mutex.
@@ -1375,13 +1461,7 @@ class MysqlIO {
      */
     Buffer getSharedSendPacket() {
         if (this.sharedSendPacket == null) {
-            if (this.useNewIo) {
-                this.sharedSendPacket = Buffer.allocateDirect(this.connection.getNetBufferLength(),
-                        true);
-            } else {
-                this.sharedSendPacket = Buffer.allocateNew(this.connection.getNetBufferLength(),
-                        false);
-            }
+            this.sharedSendPacket = allocatePacket(this.connection.getNetBufferLength());
         }
 
         return this.sharedSendPacket;
@@ -1607,6 +1687,54 @@ class MysqlIO {
         }
     }
 
+    /**
+     * Sends a command packet without waiting for its response, so that
+     * several commands are in flight at once. Responses have to be read in
+     * order with readPipelinedResponse() before any other command is sent.
+     *
+     * @param queryPacket the packet holding the command
+     * @param first is no other command in flight?
+     *
+     * @throws SQLException if the packet can't be sent
+     */
+    final void sendPipelined(Buffer queryPacket, boolean first)
+        throws SQLException {
+        this.enablePacketDebug = this.connection.getEnablePacketDebug();
+        this.traceProtocol = this.connection.getTraceProtocol();
+
+        if (first) {
+            checkForOutstandingStreamingData();
+            clearInputStream();
+        }
+
+        this.packetSequence = -1;
+        send(queryPacket);
+    }
+
+    /**
+     * Reads the response of the oldest command sent by sendPipelined().
+     *
+     * @param command the command sent
+     *
+     * @return the first packet of the response
+     *
+     * @throws SQLException if the response is an error packet, or can't be
+     *         read
+     */
+    final Buffer readPipelinedResponse(int command) throws SQLException {
+        this.serverStatus = 0;
+        this.hadWarnings = false;
+        this.warningCount = 0;
+
+        this.queryNoIndexUsed = false;
+        this.queryBadIndexUsed = false;
+
+        this.readPacketSequence = 0;
+        this.packetSequenceReset = true;
+
+        return checkErrorPacket(command);
+    }
+
     /**
      * Send a query stored in a packet directly to the server.
      *
@@ -1940,6 +2068,153 @@ class MysqlIO {
         return n;
     }
 
+    /**
+     * Can payloads be transferred from files straight to the socket by the
+     * operating system, rather than copied through packets? Only when using
+     * new I/O without compression, tracing or packet debugging, which all
+     * need the payload in a packet.
+     *
+     * @return true if sendFileRegion() can be used
+     */
+    final boolean isTransferToSocketEnabled() {
+        return this.useNewIo && (this.socketChannel != null) &&
+        !this.useCompression && !this.connection.getTraceProtocol() &&
+        !this.connection.getEnablePacketDebug();
+    }
+
+    /**
+     * Sends a packet made of prefix followed by length bytes of file from
+     * position, the latter transferred straight to the socket without being
+     * copied through the heap.
+     *
+     * @param prefix bytes sent before the contents of the file
+     * @param file the file to send from
+     * @param position position of the contents to send in the file
+     * @param length number of bytes of the file to send
+     *
+     * @throws SQLException if the socket can't be written, or the file can't
+     *         be read once the packet is started, leaving the connection
+     *         unusable
+     */
+    private final void sendFileRegion(byte[] prefix, FileChannel file,
+        long position, int length) throws SQLException {
+        int packetLen = prefix.length + length;
+
+        if (this.connection.getMaintainTimeStats()) {
+            this.lastPacketSentTimeMs = System.currentTimeMillis();
+        }
+
+        this.packetSequence++;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH + prefix.length);
+        header.put((byte) (packetLen & 0xff));
+        header.put((byte) (packetLen >>> 8));
+        header.put((byte) (packetLen >>> 16));
+        header.put(this.packetSequence);
+        header.put(prefix);
+        header.flip();
+
+        try {
+            while (header.hasRemaining()) {
+                this.socketChannel.write(header);
+            }
+
+            long sent = 0;
+
+            while (sent < length) {
+                long count = file.transferTo(position + sent, length - sent,
+                        this.socketChannel);
+
+                if (count <= 0) {
+                    // The file was truncated since its size was taken
+                    throw new EOFException();
+                }
+
+                sent += count;
+            }
+        } catch (IOException ioEx) {
+            // The packet is incomplete, whatever failed
+            throw new CommunicationsException(this.connection,
+                this.lastPacketSentTimeMs, ioEx);
+        }
+    }
+
+    /**
+     * Sends the contents of file from its position as long data of a
+     * parameter of a server-side prepared statement, in COM_LONG_DATA
+     * commands of at most chunkSize bytes transferred straight to the socket.
+     *
+     * @param statementId the id of the statement
+     * @param parameterIndex the index of the parameter, from 0
+     * @param file the file to send
+     * @param chunkSize the largest size of the data of a command
+     *
+     * @throws IOException if the position or size of the file can't be read
+     * @throws SQLException if outstanding data can't be cleared, or the data
+     *         can't be sent
+     */
+    final void sendLongData(long statementId, int parameterIndex,
+        FileChannel file, int chunkSize) throws IOException, SQLException {
+        checkForOutstandingStreamingData();
+        clearInputStream();
+
+        byte[] prefix = new byte[7];
+        prefix[0] = (byte) MysqlDefs.COM_LONG_DATA;
+        prefix[1] = (byte) (statementId & 0xff);
+        prefix[2] = (byte) (statementId >>> 8);
+        prefix[3] = (byte) (statementId >>> 16);
+        prefix[4] = (byte) (statementId >>> 24);
+        prefix[5] = (byte) (parameterIndex & 0xff);
+        prefix[6] = (byte) (parameterIndex >>> 8);
+
+        int chunk = Math.max(1,
+                Math.min(chunkSize, this.maxThreeBytes - prefix.length - 1));
+
+        long position = file.position();
+        long size = file.size();
+
+        // An empty stream is still sent as one command
+        do {
+            int length = (int) Math.min(chunk, Math.max(0, size - position));
+
+            this.packetSequence = -1;
+            sendFileRegion(prefix, file, position, length);
+            position += length;
+        } while (position < size);
+
+        file.position(position);
+    }
+
+    /**
+     * Reads from in until len bytes of b are filled or the end of the stream
+     * is reached.
+     *
+     * @param in the stream to read
+     * @param b the buffer to fill
+     * @param len the number of bytes to read
+     *
+     * @return the number of bytes read, less than len only at the end of the
+     *         stream
+     *
+     * @throws IOException if the stream can't be read
+     */
+    private final int readAvailable(InputStream in, byte[] b, int len)
+        throws IOException {
+        int n = 0;
+
+        while (n < len) {
+            int count = in.read(b, n, len - n);
+
+            if (count < 0) {
+                break;
+            }
+
+            n += count;
+        }
+
+        return n;
+    }
+
     /**
      * Reads one result set off of the wire, if the result is actually an
      * update count, creates an update-count only result set.
@@ -2284,6 +2559,13 @@ class MysqlIO {
         int resultSetConcurrency, boolean isBinaryEncoded, Field[] fields)
         throws SQLException {
         RowData rowData;
+
+        if (!isBinaryEncoded &&
+                (resultSetConcurrency == java.sql.ResultSet.CONCUR_READ_ONLY) &&
+                this.connection.getUseSlabRowData()) {
+            return readSingleRowSetIntoSlabs((int) columnCount, maxRows);
+        }
+
         ArrayList rows = new ArrayList();
 
         // Now read the data
@@ -2314,6 +2596,40 @@ class MysqlIO {
         return rowData;
     }
 
+    /**
+     * Reads the rows of a text protocol result set straight from the
+     * re-used packet into the slabs of a RowDataSlab, without an array
+     * per value.
+     */
+    private RowData readSingleRowSetIntoSlabs(int columnCount, int maxRows)
+        throws SQLException {
+        RowDataSlab rowData = new RowDataSlab(columnCount);
+        int rowCount = 0;
+
+        while (true) {
+            Buffer rowPacket = checkErrorPacket();
+
+            //
+            // Didn't read an error, so re-position to beginning
+            // of packet in order to read result set data
+            //
+            rowPacket.setPosition(rowPacket.getPosition() - 1);
+
+            if (rowPacket.isLastDataPacket()) {
+                readServerStatusForResultSets(rowPacket);
+
+                break;
+            }
+
+            if ((maxRows == -1) || (rowCount < maxRows)) {
+                rowData.addRow(rowPacket);
+                rowCount++;
+            }
+        }
+
+        return rowData;
+    }
+
     private Buffer readViaChannel() throws IOException, SQLException {
         Buffer packet = Buffer.allocateNew(16384, true);
         packet.setPosition(0);
@@ -2356,8 +2672,8 @@ class MysqlIO {
     private void reclaimLargeReusablePacket() {
         if ((this.reusablePacket != null) &&
                 (this.reusablePacket.getCapacity() > 1048576)) {
-            this.reusablePacket = Buffer.allocateNew(this.connection.getNetBufferLength(),
-                    this.useNewIo);
+            this.reusablePacket.release();
+            this.reusablePacket = allocatePacket(this.connection.getNetBufferLength());
         }
     }
 
@@ -2423,7 +2739,12 @@ class MysqlIO {
                 // necesarily the actual length of the byte array
                 // used as the buffer
                 if (reuse.getByteBuffer().length <= packetLength) {
-                    reuse.setByteBuffer(new byte[packetLength + 1]);
+                    if (this.bufferPool != null) {
+                        // Swaps storage with the pool
+                        reuse.ensureCapacity(packetLength + 1);
+                    } else {
+                        reuse.setByteBuffer(new byte[packetLength + 1]);
+                    }
                 }
 
                 // Set the new length
@@ -2772,8 +3093,9 @@ class MysqlIO {
     private final ResultSet sendFileToServer(Statement callingStatement,
         String fileName) throws SQLException {
     	
-        Buffer filePacket = (this.loadFileBufRef == null) ? null
-                                                          : (Buffer) (this.loadFileBufRef.get());
+        Buffer filePacket = ((this.loadFileBufRef == null) ||
+            (this.bufferPool != null)) ? null
+                                       : (Buffer) (this.loadFileBufRef.get());
 
         int bigPacketLength = Math.min(this.connection.getMaxAllowedPacket() -
                 (HEADER_LENGTH * 3),
@@ -2789,9 +3111,14 @@ class MysqlIO {
 
         if (filePacket == null) {
         	try {
-        		filePacket = Buffer.allocateNew((packetLength + HEADER_LENGTH),
-                    this.useNewIo);
-        		this.loadFileBufRef = new SoftReference(filePacket);
+        		if (this.bufferPool != null) {
+        			// Released once the file is sent
+        			filePacket = allocatePacket(packetLength + HEADER_LENGTH);
+        		} else {
+        			filePacket = Buffer.allocateNew((packetLength + HEADER_LENGTH),
+        					this.useNewIo);
+        			this.loadFileBufRef = new SoftReference(filePacket);
+        		}
         	} catch (OutOfMemoryError oom) {
         		throw new SQLException("Could not allocate packet of " + packetLength 
         				+ " bytes required for LOAD DATA LOCAL INFILE operation." 
@@ -2801,85 +3128,146 @@ class MysqlIO {
         	}
         }
 
-        filePacket.clear();
-        send(filePacket, 0);
+        byte[] fileBuf = null;
 
-        byte[] fileBuf = new byte[packetLength];
+        try {
+            filePacket.clear();
+            send(filePacket, 0);
 
-        BufferedInputStream fileIn = null;
+            fileBuf = (this.bufferPool != null)
+                ? this.bufferPool.borrowArray(packetLength) : new byte[packetLength];
 
-        try {
-            if (!this.connection.getAllowUrlInLocalInfile()) {
-                fileIn = new BufferedInputStream(new FileInputStream(fileName));
-            } else {
-                // First look for ':'
-                if (fileName.indexOf(":") != -1) {
-                    try {
-                        URL urlFromFileName = new URL(fileName);
-                        fileIn = new BufferedInputStream(urlFromFileName.openStream());
-                    } catch (MalformedURLException badUrlEx) {
-                        // we fall back to trying this as a file input stream
+            InputStream fileIn = null;
+
+            InputStream hookedStream = null;
+
+            ReadableByteChannel hookedChannel = null;
+
+            if (callingStatement != null) {
+                // Only used for one LOAD DATA
+                hookedStream = callingStatement.getLocalInfileInputStream();
+                hookedChannel = callingStatement.getLocalInfileChannel();
+                callingStatement.setLocalInfileInputStream(null);
+            }
+
+            try {
+                FileChannel fileChannel = null;
+
+                if (hookedStream != null) {
+                    fileIn = hookedStream;
+
+                    if (hookedChannel instanceof FileChannel) {
+                        fileChannel = (FileChannel) hookedChannel;
+                    }
+                } else if (!this.connection.getAllowUrlInLocalInfile()) {
+                    // Read in packet sized chunks, so not buffered
+                    fileIn = new FileInputStream(fileName);
+                } else {
+                    // First look for ':'
+                    if (fileName.indexOf(":") != -1) {
+                        try {
+                            URL urlFromFileName = new URL(fileName);
+                            fileIn = new BufferedInputStream(urlFromFileName.openStream());
+                        } catch (MalformedURLException badUrlEx) {
+                            // we fall back to trying this as a file input stream
+                            fileIn = new BufferedInputStream(new FileInputStream(
+                                        fileName));
+                        }
+                    } else {
                         fileIn = new BufferedInputStream(new FileInputStream(
                                     fileName));
                     }
-                } else {
-                    fileIn = new BufferedInputStream(new FileInputStream(
-                                fileName));
                 }
-            }
 
-            int bytesRead = 0;
+                if (fileIn instanceof FileInputStream) {
+                    fileChannel = ((FileInputStream) fileIn).getChannel();
+                }
 
-            while ((bytesRead = fileIn.read(fileBuf)) != -1) {
-                filePacket.clear();
-                filePacket.writeBytesNoNull(fileBuf, 0, bytesRead);
-                send(filePacket);
-            }
-        } catch (IOException ioEx) {
-            StringBuffer messageBuf = new StringBuffer(Messages.getString(
-                        "MysqlIO.60")); //$NON-NLS-1$
+                if ((fileChannel != null) && isTransferToSocketEnabled()) {
+                    long position = fileChannel.position();
+                    long size = fileChannel.size();
 
-            if (!this.connection.getParanoid()) {
-                messageBuf.append("'"); //$NON-NLS-1$
+                    while (position < size) {
+                        int bytesToSend = (int) Math.min(packetLength,
+                                size - position);
+
+                        sendFileRegion(Constants.EMPTY_BYTE_ARRAY, fileChannel,
+                            position, bytesToSend);
+                        position += bytesToSend;
+                    }
 
-                if (fileName != null) {
-                    messageBuf.append(fileName);
+                    fileChannel.position(position);
+                } else {
+                    int bytesRead = 0;
+
+                    // Streams (pipes, sockets) may return less than asked for,
+                    // so packets are filled up to avoid sending a lot of small
+                    // ones
+                    while ((bytesRead = readAvailable(fileIn, fileBuf, packetLength)) > 0) {
+                        filePacket.clear();
+                        filePacket.writeBytesNoNull(fileBuf, 0, bytesRead);
+                        send(filePacket);
+
+                        if (bytesRead < packetLength) {
+                            break;
+                        }
+                    }
                 }
+            } catch (IOException ioEx) {
+                StringBuffer messageBuf = new StringBuffer(Messages.getString(
+                            "MysqlIO.60")); //$NON-NLS-1$
 
-                messageBuf.append("'"); //$NON-NLS-1$
-            }
+                if (!this.connection.getParanoid()) {
+                    messageBuf.append("'"); //$NON-NLS-1$
 
-            messageBuf.append(Messages.getString("MysqlIO.63")); //$NON-NLS-1$
+                    if (fileName != null) {
+                        messageBuf.append(fileName);
+                    }
 
-            if (!this.connection.getParanoid()) {
-                messageBuf.append(Messages.getString("MysqlIO.64")); //$NON-NLS-1$
-                messageBuf.append(Util.stackTraceToString(ioEx));
+                    messageBuf.append("'"); //$NON-NLS-1$
+                }
+
+                messageBuf.append(Messages.getString("MysqlIO.63")); //$NON-NLS-1$
+
+                if (!this.connection.getParanoid()) {
+                    messageBuf.append(Messages.getString("MysqlIO.64")); //$NON-NLS-1$
+                    messageBuf.append(Util.stackTraceToString(ioEx));
+                }
+
+                throw new SQLException(messageBuf.toString(),
+                    SQLError.SQL_STATE_ILLEGAL_ARGUMENT);
+            } finally {
+                if (fileIn != null) {
+                    try {
+                        fileIn.close();
+                    } catch (Exception ex) {
+                        throw new SQLException(Messages.getString("MysqlIO.65"), //$NON-NLS-1$
+                            SQLError.SQL_STATE_GENERAL_ERROR);
+                    }
+
+                    fileIn = null;
+                } else {
+                    // file open failed, but server needs one packet
+                    filePacket.clear();
+                    send(filePacket);
+                    checkErrorPacket(); // to clear response off of queue
+                }
             }
 
-            throw new SQLException(messageBuf.toString(),
-                SQLError.SQL_STATE_ILLEGAL_ARGUMENT);
+            // send empty packet to mark EOF
+            filePacket.clear();
+            send(filePacket);
         } finally {
-            if (fileIn != null) {
-                try {
-                    fileIn.close();
-                } catch (Exception ex) {
-                    throw new SQLException(Messages.getString("MysqlIO.65"), //$NON-NLS-1$
-                        SQLError.SQL_STATE_GENERAL_ERROR);
+            // Given back whether or not the file could be sent
+            if (this.bufferPool != null) {
+                if (fileBuf != null) {
+                    this.bufferPool.returnArray(fileBuf);
                 }
 
-                fileIn = null;
-            } else {
-                // file open failed, but server needs one packet
-                filePacket.clear();
-                send(filePacket);
-                checkErrorPacket(); // to clear response off of queue
+                filePacket.release();
             }
         }
 
-        // send empty packet to mark EOF
-        filePacket.clear();
-        send(filePacket);
-
         Buffer resultPacket = checkErrorPacket();
 
         return buildResultSetWithUpdates(callingStatement, resultPacket);
@@ -3246,8 +3634,11 @@ class MysqlIO {
     private void reclaimLargeSharedSendPacket() {
         if ((this.sharedSendPacket != null) &&
                 (this.sharedSendPacket.getCapacity() > 1048576)) {
-            this.sharedSendPacket = Buffer.allocateNew(this.connection.getNetBufferLength(),
-                    this.useNewIo);
+            // Not released to the pool, callers may still be reading
+            // the query out of the packet just sent, but no longer
+            // counted by it
+            this.sharedSendPacket.forget();
+            this.sharedSendPacket = allocatePacket(this.connection.getNetBufferLength());
         }
     }
 
@@ -4323,4 +4714,71 @@ class MysqlIO {
             send(packet);
         }
     }
+
+    /**
+     * Key of the fields cache, the bytes of the field packets of a result
+     * set.
+     */
+    private static class FieldsCacheKey {
+        private byte[][] packets;
+        private int[] lengths;
+        private int hashCode;
+
+        FieldsCacheKey(Buffer[] fieldPackets) {
+            this.packets = new byte[fieldPackets.length][];
+            this.lengths = new int[fieldPackets.length];
+
+            int hash = fieldPackets.length;
+
+            for (int i = 0; i < fieldPackets.length; i++) {
+                byte[] bytes = fieldPackets[i].getByteBuffer();
+                int length = fieldPackets[i].getBufLength();
+
+                this.packets[i] = bytes;
+                this.lengths[i] = length;
+
+                for (int j = 0; j < length; j++) {
+                    hash = (31 * hash) + bytes[j];
+                }
+            }
+
+            this.hashCode = hash;
+        }
+
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FieldsCacheKey)) {
+                return false;
+            }
+
+            FieldsCacheKey other = (FieldsCacheKey) obj;
+
+            if ((other.hashCode != this.hashCode)
+                    || (other.lengths.length != this.lengths.length)) {
+                return false;
+            }
+
+            for (int i = 0; i < this.lengths.length; i++) {
+                int length = this.lengths[i];
+
+                if (other.lengths[i] != length) {
+                    return false;
+                }
+
+                byte[] bytes = this.packets[i];
+                byte[] otherBytes = other.packets[i];
+
+                for (int j = 0; j < length; j++) {
+                    if (bytes[j] != otherBytes[j]) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+    }
 }
@@ -136,6 +136,8 @@ public class PreparedStatement extends com.mysql.jdbc.Statement implements
 
 		byte[][] staticSql = null;
 
+		int[] parameterPositions = null;
+
 		/**
 		 * 
 		 */
@@ -260,6 +262,12 @@ public class PreparedStatement extends com.mysql.jdbc.Statement implements
 				this.foundLoadData = false;
 			}
 
+			this.parameterPositions = new int[endpointList.size()];
+
+			for (i = 0; i < this.parameterPositions.length; i++) {
+				this.parameterPositions[i] = ((int[]) endpointList.get(i))[1];
+			}
+
 			endpointList.add(new int[] { lastParmEnd, this.statementLength });
 			this.staticSql = new byte[endpointList.size()][];
 			char[] asCharArray = null;
@@ -407,6 +415,21 @@ public class PreparedStatement extends com.mysql.jdbc.Statement implements
 
 	private String batchedValuesClause;
 
+	/**
+	 * Static SQL opening a row of a multi-value insert up to its first
+	 * parameter, a leading ',' included
+	 */
+	private byte[] batchedValuesPrefix = null;
+
+	/**
+	 * Static SQL closing a row of a multi-value insert after its last
+	 * parameter
+	 */
+	private byte[] batchedValuesSuffix = null;
+
+	/** Static SQL following the VALUES clause (i.e. ON DUPLICATE KEY UPDATE) */
+	private byte[] batchedValuesTail = null;
+
 	/**
 	 * Constructor used by server-side prepared statements
 	 * 
@@ -874,6 +897,10 @@ public class PreparedStatement extends com.mysql.jdbc.Statement implements
 	 * @throws SQLException
 	 */
 	private int[] executeBatchedInserts() throws SQLException {
+		if (splitValuesClause()) {
+			return executeStreamedBatchedInserts();
+		}
+
 		String valuesClause = extractValuesClause();
 
 		if (valuesClause == null) {
@@ -967,6 +994,177 @@ public class PreparedStatement extends com.mysql.jdbc.Statement implements
 		return updateCounts;
 	}
 
+	/**
+	 * Executes the batch as multi-value inserts, appending the already escaped
+	 * parameters of every batched parameter set as a row of the statement
+	 * straight into the send packet, which is sent whenever the next row would
+	 * make it larger than max_allowed_packet. No intermediate statement is
+	 * generated, prepared or bound.
+	 * 
+	 * @return update counts in the same fashion as executeBatch()
+	 * 
+	 * @throws SQLException
+	 *             if an error occurs
+	 */
+	private int[] executeStreamedBatchedInserts() throws SQLException {
+		checkClosed();
+
+		int numBatchedArgs = this.batchedArgs.size();
+
+		if (this.retrieveGeneratedKeys) {
+			this.batchedGeneratedKeys = new ArrayList(numBatchedArgs);
+		}
+
+		if (this.results != null) {
+			if (!this.connection.getHoldResultsOpenOverStatementClose()) {
+				this.results.realClose(false);
+			}
+		}
+
+		// Anything sent here has to go before the send packet is filled,
+		// since it is shared
+
+		String oldCatalog = null;
+
+		if (!this.connection.getCatalog().equals(this.currentCatalog)) {
+			oldCatalog = this.connection.getCatalog();
+			this.connection.setCatalog(this.currentCatalog);
+		}
+
+		if (this.connection.useMaxRows()) {
+			this.connection.execSQL(this,
+					"SET OPTION SQL_SELECT_LIMIT=DEFAULT", -1, null, //$NON-NLS-1$
+					java.sql.ResultSet.TYPE_FORWARD_ONLY,
+					java.sql.ResultSet.CONCUR_READ_ONLY, false, false,
+					this.currentCatalog, true);
+		}
+
+		boolean oldInfoMsgState = false;
+
+		if (this.retrieveGeneratedKeys) {
+			oldInfoMsgState = this.connection.isReadInfoMsgEnabled();
+			this.connection.setReadInfoMsgEnabled(true);
+		}
+
+		boolean useStreamLengths = this.connection
+				.getUseStreamLengthsInPrepStmts();
+		int maxAllowedPacket = this.connection.getMaxAllowedPacket();
+
+		int staticRowLength = this.batchedValuesPrefix.length
+				+ this.batchedValuesSuffix.length;
+
+		for (int j = 1; j < this.parameterCount; j++) {
+			staticRowLength += this.staticSqlStrings[j].length;
+		}
+
+		Buffer sendPacket = this.connection.getIO().getSharedSendPacket();
+		int rowsInPacket = 0;
+
+		try {
+			for (int i = 0; i < numBatchedArgs; i++) {
+				BatchParams paramArg = (BatchParams) this.batchedArgs.get(i);
+
+				if (rowsInPacket > 0) {
+					long rowLength = staticRowLength;
+
+					for (int j = 0; j < this.parameterCount; j++) {
+						if (!paramArg.isStream[j]) {
+							rowLength += paramArg.parameterStrings[j].length;
+						} else if (paramArg.streamLengths[j] != -1) {
+							rowLength += paramArg.streamLengths[j] * 2; // for safety in escaping
+						}
+					}
+
+					if (sendPacket.getPosition() + rowLength
+							+ this.batchedValuesTail.length > maxAllowedPacket) {
+						executeBatchedInsertPacket(sendPacket);
+						rowsInPacket = 0;
+					}
+				}
+
+				if (rowsInPacket == 0) {
+					sendPacket.clear();
+					sendPacket.writeByte((byte) MysqlDefs.QUERY);
+					sendPacket.writeBytesNoNull(this.staticSqlStrings[0]);
+				} else {
+					sendPacket.writeBytesNoNull(this.batchedValuesPrefix);
+				}
+
+				for (int j = 0; j < this.parameterCount; j++) {
+					if ((paramArg.parameterStrings[j] == null)
+							&& (paramArg.parameterStreams[j] == null)) {
+						throw new SQLException(Messages
+								.getString("PreparedStatement.40") //$NON-NLS-1$
+								+ (j + 1),
+								SQLError.SQL_STATE_WRONG_NO_OF_PARAMETERS);
+					}
+
+					if (j > 0) {
+						sendPacket.writeBytesNoNull(this.staticSqlStrings[j]);
+					}
+
+					if (paramArg.isStream[j]) {
+						streamToBytes(sendPacket, paramArg.parameterStreams[j],
+								true, paramArg.streamLengths[j],
+								useStreamLengths);
+					} else {
+						sendPacket.writeBytesNoNull(paramArg.parameterStrings[j]);
+					}
+				}
+
+				sendPacket.writeBytesNoNull(this.batchedValuesSuffix);
+				rowsInPacket++;
+			}
+
+			if (rowsInPacket > 0) {
+				executeBatchedInsertPacket(sendPacket);
+			}
+		} finally {
+			if (this.retrieveGeneratedKeys) {
+				this.connection.setReadInfoMsgEnabled(oldInfoMsgState);
+			}
+
+			if (oldCatalog != null) {
+				this.connection.setCatalog(oldCatalog);
+			}
+		}
+
+		int[] updateCounts = new int[numBatchedArgs];
+
+		for (int i = 0; i < numBatchedArgs; i++) {
+			updateCounts[i] = 1;
+		}
+
+		return updateCounts;
+	}
+
+	/**
+	 * Completes and sends a multi-value insert built by
+	 * executeStreamedBatchedInserts().
+	 * 
+	 * @param sendPacket
+	 *            the packet holding the rows of the insert
+	 * 
+	 * @throws SQLException
+	 *             if a database error occurs
+	 */
+	private void executeBatchedInsertPacket(Buffer sendPacket)
+			throws SQLException {
+		sendPacket.writeBytesNoNull(this.batchedValuesTail);
+
+		ResultSet rs = executeInternal(-1, sendPacket, false, false, true,
+				true);
+
+		this.results = rs;
+		this.updateCount = rs.getUpdateCount();
+		this.lastInsertId = rs.getUpdateID();
+
+		if (this.retrieveGeneratedKeys) {
+			rs.setFirstCharOfQuery(this.firstCharOfStmt);
+			getBatchedGeneratedKeys();
+		}
+	}
+
 	protected int computeBatchSize(int numBatchedArgs) {
 		long sizeOfEntireBatch = 0;
 		long maxSizeOfParameterSet = 0;
@@ -1434,6 +1632,127 @@ public class PreparedStatement extends com.mysql.jdbc.Statement implements
 		return this.batchedValuesClause;
 	}
 
+	/**
+	 * Splits the VALUES clause of this statement around its parameters, so
+	 * that batched parameter sets can be appended as further rows of the
+	 * statement.
+	 * 
+	 * @return false if the statement has no VALUES clause, no parameters or
+	 *         parameters outside of its VALUES clause.
+	 * 
+	 * @throws SQLException
+	 *             if the SQL can't be converted to the connection's encoding
+	 */
+	private synchronized boolean splitValuesClause() throws SQLException {
+		if (this.batchedValuesPrefix != null) {
+			return true;
+		}
+
+		int[] parameterPositions = this.parseInfo.parameterPositions;
+
+		if ((parameterPositions == null) || (parameterPositions.length == 0)) {
+			return false;
+		}
+
+		String quoteCharStr = this.connection.getMetaData()
+				.getIdentifierQuoteString();
+		char quoteChar = 0;
+
+		int indexOfValues = -1;
+
+		if (quoteCharStr.length() > 0) {
+			quoteChar = quoteCharStr.charAt(0);
+			indexOfValues = StringUtils.indexOfIgnoreCaseRespectQuotes(0,
+					this.originalSql, "VALUES ", quoteChar, false);
+		} else {
+			indexOfValues = StringUtils.indexOfIgnoreCase(0, this.originalSql,
+					"VALUES ");
+		}
+
+		if (indexOfValues == -1) {
+			return false;
+		}
+
+		int firstParameter = parameterPositions[0];
+		int lastParameter = parameterPositions[parameterPositions.length - 1];
+
+		int indexOfFirstParen = this.originalSql.indexOf('(', indexOfValues + 7);
+
+		if ((indexOfFirstParen == -1) || (indexOfFirstParen > firstParameter)) {
+			return false;
+		}
+
+		int indexOfClosingParen = indexOfClosingParen(this.originalSql,
+				indexOfFirstParen, quoteChar);
+
+		if ((indexOfClosingParen == -1)
+				|| (indexOfClosingParen < lastParameter)) {
+			return false;
+		}
+
+		this.batchedValuesSuffix = getSqlBytes(this.originalSql.substring(
+				lastParameter + 1, indexOfClosingParen + 1));
+		this.batchedValuesTail = getSqlBytes(this.originalSql
+				.substring(indexOfClosingParen + 1));
+		this.batchedValuesPrefix = getSqlBytes(","
+				+ this.originalSql.substring(indexOfFirstParen, firstParameter));
+
+		return true;
+	}
+
+	/**
+	 * Finds the parenthesis closing the one at openParen, skipping quoted
+	 * strings and identifiers.
+	 * 
+	 * @return the index of the closing parenthesis, or -1 if unbalanced
+	 */
+	private int indexOfClosingParen(String sql, int openParen,
+			char quotedIdentifierChar) {
+		boolean noBackslashEscapes = this.connection.isNoBackslashEscapesSet();
+		char quoteChar = 0;
+		int depth = 0;
+
+		for (int i = openParen; i < sql.length(); i++) {
+			char c = sql.charAt(i);
+
+			if (quoteChar != 0) {
+				if (!noBackslashEscapes && (c == '\\')) {
+					i++;
+				} else if (c == quoteChar) {
+					quoteChar = 0;
+				}
+			} else if ((c == '\'') || (c == '"')
+					|| ((quotedIdentifierChar != 0) && (c == quotedIdentifierChar))) {
+				quoteChar = c;
+			} else if (c == '(') {
+				depth++;
+			} else if ((c == ')') && (--depth == 0)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Converts static SQL to bytes the same way ParseInfo does.
+	 */
+	private byte[] getSqlBytes(String sql) throws SQLException {
+		if (this.charEncoding == null) {
+			byte[] buf = new byte[sql.length()];
+
+			for (int i = 0; i < buf.length; i++) {
+				buf[i] = (byte) sql.charAt(i);
+			}
+
+			return buf;
+		}
+
+		return StringUtils.getBytes(sql, this.charEncoding, this.connection
+				.getServerCharacterEncoding(), this.connection
+				.parserKnowsUnicode());
+	}
+
 	/**
 	 * Creates the packet that contains the query to be sent to the server.
 	 * 
@@ -3128,6 +3447,11 @@ public class PreparedStatement extends com.mysql.jdbc.Statement implements
 		// if the passed string is null, then set this column to null
 		if (x == null) {
 			setNull(parameterIndex, Types.CHAR);
+		} else if (!this.isLoadDataQuery && (this.charConverter == null)
+				&& Utf8CharsetConverter.isUtf8(this.charEncoding)) {
+			// Escape and encode in one go
+			setInternal(parameterIndex, Utf8CharsetConverter.toQuotedBytes(x,
+					this.usingAnsiMode));
 		} else {
 			StringBuffer buf = new StringBuffer((int) (x.length() * 1.1));
 			buf.append('\'');
@@ -130,6 +130,9 @@ public class ResultSet implements java.sql.ResultSet {
 	/** Counter used to generate IDs for profiling. */
 	protected static int resultCounter = 1;
 
+	/** Bits of the index of the caches of dates */
+	private static final int DATE_CACHE_BITS = 6;
+
 	/**
 	 * Converts the given value as a java long, to an 'unsigned' long, using the
 	 * java.math.BigInteger class.
@@ -151,8 +154,8 @@ public class ResultSet implements java.sql.ResultSet {
 	/** The catalog that was in use when we were created */
 	protected String catalog = null;
 
-	/** Map column names (and all of their permutations) to column indices */
-	protected Map columnNameToIndex = null;
+	/** Case-insensitive lookup of column indices by column name */
+	ColumnIndex columnIndex = null;
 
 	/** Keep track of columns accessed */
 	protected boolean[] columnUsed = null;
@@ -173,6 +176,19 @@ public class ResultSet implements java.sql.ResultSet {
 
 	private Calendar fastDateCal = null;
 
+	/**
+	 * Caches of the millis of recently created dates, and of the midnights of
+	 * recently created timestamps (Long.MIN_VALUE for days during which the
+	 * offset of the timezone changes), by year * 10000 + month * 100 + day.
+	 */
+	private int[] dateCacheKeys = null;
+
+	private long[] dateCacheMillis = null;
+
+	private int[] midnightCacheKeys = null;
+
+	private long[] midnightCacheMillis = null;
+
 	/** The direction to fetch rows (always FETCH_FORWARD) */
 	protected int fetchDirection = FETCH_FORWARD;
 
@@ -189,10 +205,6 @@ public class ResultSet implements java.sql.ResultSet {
 	 */
 	protected char firstCharOfQuery;
 
-	/** Map of fully-specified column names to column indices */
-	protected Map fullColumnNameToIndex = null;
-
-	protected boolean hasBuiltIndexMapping = false;
 
 	/**
 	 * Is the data stored as strings (default) or natively (which is the case
@@ -582,47 +594,26 @@ public class ResultSet implements java.sql.ResultSet {
 	// ---------------------------------------------------------------------
 
 	/**
-	 * Builds a hash between column names and their indices for fast retrieval.
+	 * Builds the lookup between column names and their indices for fast
+	 * retrieval, or re-uses the one of the previous result set of the owning
+	 * statement when it has the same columns.
 	 */
 	protected void buildIndexMapping() throws SQLException {
-		int numFields = this.fields.length;
-		this.columnNameToIndex = new HashMap(numFields);
-		this.fullColumnNameToIndex = new HashMap(numFields);
+		ColumnIndex index = null;
 
-		// We do this in reverse order, so that the 'first' column
-		// with a given name ends up as the final mapping in the
-		// hashtable...
-		//
-		// Quoting the JDBC Spec:
-		//
-		// "Column names used as input to getter
-		// methods are case insensitive. When a getter method is called with a
-		// column
-		// name and several columns have the same name, the value of the first
-		// matching column will be returned. "
-		//
-		for (int i = numFields - 1; i >= 0; i--) {
-			Integer index = new Integer(i);
-			String columnName = this.fields[i].getName();
-			String fullColumnName = this.fields[i].getFullName();
+		if (this.owningStatement != null) {
+			index = this.owningStatement.lastColumnIndex;
+		}
 
-			if (columnName != null) {
-				this.columnNameToIndex.put(columnName, index);
-				this.columnNameToIndex.put(columnName.toUpperCase(), index);
-				this.columnNameToIndex.put(columnName.toLowerCase(), index);
-			}
+		if ((index == null) || !index.matches(this.fields)) {
+			index = new ColumnIndex(this.fields);
 
-			if (fullColumnName != null) {
-				this.fullColumnNameToIndex.put(fullColumnName, index);
-				this.fullColumnNameToIndex.put(fullColumnName.toUpperCase(),
-						index);
-				this.fullColumnNameToIndex.put(fullColumnName.toLowerCase(),
-						index);
+			if (this.owningStatement != null) {
+				this.owningStatement.lastColumnIndex = index;
 			}
 		}
 
-		// set the flag to prevent rebuilding...
-		this.hasBuiltIndexMapping = true;
+		this.columnIndex = index;
 	}
 
 	/**
@@ -829,6 +820,9 @@ public class ResultSet implements java.sql.ResultSet {
 				if (encoding == null) {
 					stringVal = new String(
 							(byte[]) this.thisRow[columnIndexMinusOne]);
+				} else if (Utf8CharsetConverter.isUtf8(encoding)) {
+					stringVal = Utf8CharsetConverter
+							.toString((byte[]) this.thisRow[columnIndexMinusOne]);
 				} else {
 					SingleByteCharsetConverter converter = this.connection
 							.getCharsetConverter(encoding);
@@ -908,6 +902,235 @@ public class ResultSet implements java.sql.ResultSet {
 				minute, seconds, secondsPart);
 	}
 
+	/**
+	 * Returns the bytes of a numeric or temporal value of a text protocol
+	 * row, which are ASCII whatever the character set, so that they can be
+	 * parsed without creating a String.
+	 * 
+	 * @param columnIndex
+	 *            the first column is 1, the second is 2, ...
+	 * @param temporal
+	 *            whether a DATE, DATETIME or TIMESTAMP column is expected,
+	 *            rather than a numeric one
+	 * 
+	 * @return the bytes of the value, or null for SQL NULL (setting
+	 *         wasNullFlag) and for columns of other types
+	 * 
+	 * @throws SQLException
+	 *             if not on a row or columnIndex is out of range
+	 */
+	private byte[] getAsciiValueBytes(int columnIndex, boolean temporal)
+			throws SQLException {
+		checkRowPos();
+		checkColumnBounds(columnIndex);
+
+		this.wasNullFlag = false;
+
+		switch (this.fields[columnIndex - 1].getMysqlType()) {
+		case MysqlDefs.FIELD_TYPE_DECIMAL:
+		case MysqlDefs.FIELD_TYPE_NEW_DECIMAL:
+		case MysqlDefs.FIELD_TYPE_TINY:
+		case MysqlDefs.FIELD_TYPE_SHORT:
+		case MysqlDefs.FIELD_TYPE_INT24:
+		case MysqlDefs.FIELD_TYPE_LONG:
+		case MysqlDefs.FIELD_TYPE_LONGLONG:
+		case MysqlDefs.FIELD_TYPE_FLOAT:
+		case MysqlDefs.FIELD_TYPE_DOUBLE:
+			if (temporal) {
+				return null;
+			}
+
+			break;
+
+		case MysqlDefs.FIELD_TYPE_DATE:
+		case MysqlDefs.FIELD_TYPE_DATETIME:
+		case MysqlDefs.FIELD_TYPE_TIMESTAMP:
+			if (!temporal) {
+				return null;
+			}
+
+			break;
+
+		default:
+			return null;
+		}
+
+		Object value = this.thisRow[columnIndex - 1];
+
+		if (value == null) {
+			this.wasNullFlag = true;
+
+			return null;
+		}
+
+		return (value instanceof byte[]) ? (byte[]) value : null;
+	}
+
+	/**
+	 * Parses the 'YYYY-MM-DD' start of a value.
+	 * 
+	 * @return year * 10000 + month * 100 + day, or 0 when the value doesn't
+	 *         start with a date of non-zero year, month and day
+	 */
+	private static int getDateKey(byte[] asBytes) {
+		if ((asBytes.length < 10) || (asBytes[4] != '-')
+				|| (asBytes[7] != '-')) {
+			return 0;
+		}
+
+		int year = getTwoDigits(asBytes, 0);
+		int yearLow = getTwoDigits(asBytes, 2);
+		int month = getTwoDigits(asBytes, 5);
+		int day = getTwoDigits(asBytes, 8);
+
+		if ((year < 0) || (yearLow < 0) || (month <= 0) || (day <= 0)
+				|| ((year == 0) && (yearLow == 0))) {
+			return 0;
+		}
+
+		return (((year * 100) + yearLow) * 10000) + (month * 100) + day;
+	}
+
+	/**
+	 * @return the value of the two digits at offset, or -1 if they aren't
+	 *         digits
+	 */
+	private static int getTwoDigits(byte[] asBytes, int offset) {
+		int high = asBytes[offset] - '0';
+		int low = asBytes[offset + 1] - '0';
+
+		if ((high < 0) || (high > 9) || (low < 0) || (low > 9)) {
+			return -1;
+		}
+
+		return (high * 10) + low;
+	}
+
+	/**
+	 * Creates a Date from the bytes of a DATE, DATETIME or TIMESTAMP value,
+	 * through the cache of recently created dates.
+	 * 
+	 * @return the Date, or null for the values left to getDateFromString()
+	 */
+	private java.sql.Date getDateFromBytes(byte[] asBytes, int columnIndex) {
+		int length = asBytes.length;
+
+		if ((this.fields[columnIndex - 1].getMysqlType() == MysqlDefs.FIELD_TYPE_TIMESTAMP)
+				&& (length != 19) && (length != 21)) {
+			return null;
+		}
+
+		int key = getDateKey(asBytes);
+
+		if (key == 0) {
+			return null;
+		}
+
+		if (this.dateCacheKeys == null) {
+			this.dateCacheKeys = new int[1 << DATE_CACHE_BITS];
+			this.dateCacheMillis = new long[1 << DATE_CACHE_BITS];
+		}
+
+		int slot = (key * 0x9E3779B9) >>> (32 - DATE_CACHE_BITS);
+
+		if (this.dateCacheKeys[slot] != key) {
+			this.dateCacheMillis[slot] = fastDateCreate(null, key / 10000,
+					(key / 100) % 100, key % 100).getTime();
+			this.dateCacheKeys[slot] = key;
+		}
+
+		return new java.sql.Date(this.dateCacheMillis[slot]);
+	}
+
+	/**
+	 * Creates a Timestamp from the bytes of a 'YYYY-MM-DD HH:MM:SS[.fraction]'
+	 * value, adding the time of day to the cached midnight of the day when
+	 * the offset of the timezone doesn't change around that day.
+	 * 
+	 * @return the Timestamp, before any timezone conversion, or null for the
+	 *         values left to getTimestampFromString()
+	 */
+	private Timestamp getTimestampFromBytes(byte[] asBytes) {
+		int length = asBytes.length;
+
+		if ((length < 19) || (length == 20) || (length > 26)
+				|| (asBytes[10] != ' ') || (asBytes[13] != ':')
+				|| (asBytes[16] != ':')) {
+			return null;
+		}
+
+		int key = getDateKey(asBytes);
+		int hour = getTwoDigits(asBytes, 11);
+		int minutes = getTwoDigits(asBytes, 14);
+		int seconds = getTwoDigits(asBytes, 17);
+
+		if ((key == 0) || (hour < 0) || (hour > 23) || (minutes < 0)
+				|| (minutes > 59) || (seconds < 0) || (seconds > 59)) {
+			return null;
+		}
+
+		// The digits of the fraction are taken as nanos, as
+		// getTimestampFromString() does
+		int nanos = 0;
+
+		if (length > 19) {
+			if (asBytes[19] != '.') {
+				return null;
+			}
+
+			for (int i = 20; i < length; i++) {
+				int digit = asBytes[i] - '0';
+
+				if ((digit < 0) || (digit > 9)) {
+					return null;
+				}
+
+				nanos = (nanos * 10) + digit;
+			}
+		}
+
+		int year = key / 10000;
+		int month = (key / 100) % 100;
+		int day = key % 100;
+
+		if (this.midnightCacheKeys == null) {
+			this.midnightCacheKeys = new int[1 << DATE_CACHE_BITS];
+			this.midnightCacheMillis = new long[1 << DATE_CACHE_BITS];
+		}
+
+		int slot = (key * 0x9E3779B9) >>> (32 - DATE_CACHE_BITS);
+
+		if (this.midnightCacheKeys[slot] != key) {
+			long midnight = fastTimestampCreate(null, year, month, day, 0, 0,
+					0, 0).getTime();
+			long lastSecond = fastTimestampCreate(null, year, month, day, 23,
+					59, 59, 0).getTime();
+			TimeZone tz = getDefaultTimeZone();
+
+			if ((lastSecond - midnight != 86399000L)
+					|| (tz.getOffset(midnight - 86400000L) != tz
+							.getOffset(lastSecond + 86400000L))) {
+				midnight = Long.MIN_VALUE;
+			}
+
+			this.midnightCacheMillis[slot] = midnight;
+			this.midnightCacheKeys[slot] = key;
+		}
+
+		long midnight = this.midnightCacheMillis[slot];
+
+		if (midnight == Long.MIN_VALUE) {
+			return fastTimestampCreate(null, year, month, day, hour, minutes,
+					seconds, nanos);
+		}
+
+		Timestamp ts = new Timestamp(midnight
+				+ ((((hour * 60L) + minutes) * 60L) + seconds) * 1000L);
+		ts.setNanos(nanos);
+
+		return ts;
+	}
+
 	/*
 	/**
 	 * Required by JDBC spec
@@ -936,32 +1159,20 @@ public class ResultSet implements java.sql.ResultSet {
 	 * @exception SQLException
 	 *                if a database access error occurs
 	 */
-	public synchronized int findColumn(String columnName) throws SQLException {
-		Integer index;
-
-		if (!this.hasBuiltIndexMapping) {
-			buildIndexMapping();
-		}
-
-		index = (Integer) this.columnNameToIndex.get(columnName);
+	public int findColumn(String columnName) throws SQLException {
+		// The index is never modified once built, no lock needed
+		ColumnIndex index = this.columnIndex;
 
 		if (index == null) {
-			index = (Integer) this.fullColumnNameToIndex.get(columnName);
-		}
+			buildIndexMapping();
 
-		if (index != null) {
-			return index.intValue() + 1;
+			index = this.columnIndex;
 		}
 
-		// Try this inefficient way, now
+		int column = index.findColumn(columnName);
 
-		for (int i = 0; i < this.fields.length; i++) {
-			if (this.fields[i].getName().equalsIgnoreCase(columnName)) {
-				return i + 1;
-			} else if (this.fields[i].getFullName()
-					.equalsIgnoreCase(columnName)) {
-				return i + 1;
-			}
+		if (column != 0) {
+			return column;
 		}
 
 		StringBuffer debugBuf = null;
@@ -1122,6 +1333,20 @@ public class ResultSet implements java.sql.ResultSet {
 	 */
 	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
 		if (!this.isBinaryEncoded) {
+			if (this.connection.getUseFastIntParsing()) {
+				byte[] asBytes = getAsciiValueBytes(columnIndex, false);
+
+				if (asBytes != null) {
+					BigDecimal val = StringUtils.getBigDecimal(asBytes);
+
+					if (val != null) {
+						return val;
+					}
+				} else if (this.wasNullFlag) {
+					return null;
+				}
+			}
+
 			String stringVal = getString(columnIndex);
 			BigDecimal val;
 
@@ -1903,6 +2128,20 @@ public class ResultSet implements java.sql.ResultSet {
 					: this.getDefaultTimeZone());
 		}
 
+		if (this.connection.getUseFastDateParsing()) {
+			byte[] asBytes = getAsciiValueBytes(columnIndex, true);
+
+			if (asBytes != null) {
+				java.sql.Date date = getDateFromBytes(asBytes, columnIndex);
+
+				if (date != null) {
+					return date;
+				}
+			} else if (this.wasNullFlag) {
+				return null;
+			}
+		}
+
 		String stringVal = getStringInternal(columnIndex, false);
 
 		if (stringVal == null) {
@@ -2147,6 +2386,21 @@ public class ResultSet implements java.sql.ResultSet {
 	 *             if an error occurs
 	 */
 	protected double getDoubleInternal(int colIndex) throws SQLException {
+		if (this.connection.getUseFastIntParsing()) {
+			byte[] asBytes = getAsciiValueBytes(colIndex, false);
+
+			if (asBytes != null) {
+				double d = StringUtils.getDouble(asBytes);
+
+				if (!Double.isNaN(d)) {
+					return this.useStrictFloatingPoint ? fixEndpointRounding(d)
+							: d;
+				}
+			} else if (this.wasNullFlag) {
+				return 0;
+			}
+		}
+
 		return getDoubleInternal(getString(colIndex), colIndex);
 	}
 
@@ -2178,26 +2432,7 @@ public class ResultSet implements java.sql.ResultSet {
 			double d = Double.parseDouble(stringVal);
 
 			if (this.useStrictFloatingPoint) {
-				// Fix endpoint rounding precision loss in MySQL server
-				if (d == 2.147483648E9) {
-					// Fix Odd end-point rounding on MySQL
-					d = 2.147483647E9;
-				} else if (d == 1.0000000036275E-15) {
-					// Fix odd end-point rounding on MySQL
-					d = 1.0E-15;
-				} else if (d == 9.999999869911E14) {
-					d = 9.99999999999999E14;
-				} else if (d == 1.4012984643248E-45) {
-					d = 1.4E-45;
-				} else if (d == 1.4013E-45) {
-					d = 1.4E-45;
-				} else if (d == 3.4028234663853E37) {
-					d = 3.4028235E37;
-				} else if (d == -2.14748E9) {
-					d = -2.147483648E9;
-				} else if (d == 3.40282E37) {
-					d = 3.4028235E37;
-				}
+				d = fixEndpointRounding(d);
 			}
 
 			return d;
@@ -2216,6 +2451,33 @@ public class ResultSet implements java.sql.ResultSet {
 		}
 	}
 
+	/**
+	 * Fix endpoint rounding precision loss in MySQL server
+	 */
+	private double fixEndpointRounding(double d) {
+		if (d == 2.147483648E9) {
+			// Fix Odd end-point rounding on MySQL
+			d = 2.147483647E9;
+		} else if (d == 1.0000000036275E-15) {
+			// Fix odd end-point rounding on MySQL
+			d = 1.0E-15;
+		} else if (d == 9.999999869911E14) {
+			d = 9.99999999999999E14;
+		} else if (d == 1.4012984643248E-45) {
+			d = 1.4E-45;
+		} else if (d == 1.4013E-45) {
+			d = 1.4E-45;
+		} else if (d == 3.4028234663853E37) {
+			d = 3.4028235E37;
+		} else if (d == -2.14748E9) {
+			d = -2.147483648E9;
+		} else if (d == 3.40282E37) {
+			d = 3.4028235E37;
+		}
+
+		return d;
+	}
+
 	/**
 	 * JDBC 2.0 Returns the fetch direction for this result set.
 	 * 
@@ -2263,6 +2525,20 @@ public class ResultSet implements java.sql.ResultSet {
 	 */
 	public float getFloat(int columnIndex) throws SQLException {
 		if (!this.isBinaryEncoded) {
+			if (this.connection.getUseFastIntParsing()) {
+				byte[] asBytes = getAsciiValueBytes(columnIndex, false);
+
+				if (asBytes != null) {
+					float f = StringUtils.getFloat(asBytes);
+
+					if (!Float.isNaN(f)) {
+						return f;
+					}
+				} else if (this.wasNullFlag) {
+					return 0;
+				}
+			}
+
 			String val = null;
 
 			val = getString(columnIndex);
@@ -4878,6 +5154,10 @@ public class ResultSet implements java.sql.ResultSet {
 					if (encoding == null) {
 						stringVal = new String(
 								(byte[]) this.thisRow[columnIndex]);
+					} else if (Utf8CharsetConverter.isUtf8(encoding)) {
+						// Not worth a trip through the charset converters
+						stringVal = Utf8CharsetConverter
+								.toString((byte[]) this.thisRow[columnIndex]);
 					} else {
 						SingleByteCharsetConverter converter = this.connection
 								.getCharsetConverter(encoding);
@@ -5561,6 +5841,22 @@ public class ResultSet implements java.sql.ResultSet {
 			return getNativeTimestamp(columnIndex, tz, rollForward);
 		}
 
+		if (this.connection.getUseFastDateParsing()) {
+			byte[] asBytes = getAsciiValueBytes(columnIndex, true);
+
+			if (asBytes != null) {
+				Timestamp ts = getTimestampFromBytes(asBytes);
+
+				if (ts != null) {
+					return TimeUtil.changeTimezone(this.connection, ts,
+							this.connection.getServerTimezoneTZ(), tz,
+							rollForward);
+				}
+			} else if (this.wasNullFlag) {
+				return null;
+			}
+		}
+
 		String timestampValue = getStringInternal(columnIndex, false);
 
 		return getTimestampFromString(columnIndex, timestampValue, tz,
@@ -6238,8 +6534,8 @@ public class ResultSet implements java.sql.ResultSet {
 							this.pointOfOrigin, message));
 				}
 
-				if (this.rowData instanceof RowDataStatic && !isLast()
-						&& !isAfterLast() && (this.rowData.size() != 0)) {
+				if ((this.rowData instanceof RowDataStatic || this.rowData instanceof RowDataSlab)
+						&& !isLast() && !isAfterLast() && (this.rowData.size() != 0)) {
 					StringBuffer messageBuf = new StringBuffer(
 							Messages
 									.getString("ResultSet.Possible_incomplete_traversal_of_result_set._Cursor_was_left_on_row__154")); //$NON-NLS-1$
@@ -6320,8 +6616,7 @@ public class ResultSet implements java.sql.ResultSet {
 			this.rowData = null;
 			this.defaultTimeZone = null;
 			this.fields = null;
-			this.columnNameToIndex = null;
-			this.fullColumnNameToIndex = null;
+			this.columnIndex = null;
 			this.eventSink = null;
 			this.warningChain = null;
 			
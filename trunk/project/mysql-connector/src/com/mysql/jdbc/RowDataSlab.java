@@ -0,0 +1,438 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package com.mysql.jdbc;
+
+/**
+ * Represents an in-memory result set whose values are copied into a few
+ * large byte arrays ('slabs'), with a table of offsets and lengths, rather
+ * than kept as one array per value as RowDataStatic does. The values of a row
+ * are copied out into a byte[][] only when the cursor moves to that row.
+ * 
+ * The rows of a slab are never moved, removing a row only removes its
+ * entries from the tables, so this is meant for read-only result sets.
+ */
+public class RowDataSlab implements RowData {
+	/** Size of the first slab, slabs then grow with the rows stored */
+	private static final int MIN_SLAB_SIZE = 1024;
+
+	/** Largest size of a slab, unless a single row is larger */
+	private static final int MAX_SLAB_SIZE = 256 * 1024;
+
+	private int columnCount;
+
+	private int index;
+
+	ResultSet owner;
+
+	private byte[][] slabs;
+
+	private int slabCount;
+
+	/** Bytes used in the last slab */
+	private int slabUsed;
+
+	/** Bytes used in all slabs */
+	private long totalBytes;
+
+	/** Slab of each row */
+	private int[] rowSlabs;
+
+	/** Offset in its slab and length of each value, -1 length for NULL */
+	private int[] cells;
+
+	private int rowCount;
+
+	/** The row last copied out of the slabs, and its number */
+	private byte[][] currentRow;
+
+	private int currentRowNumber;
+
+	/**
+	 * Creates a new RowDataSlab object.
+	 * 
+	 * @param columnCount
+	 *            the number of values of every row
+	 */
+	public RowDataSlab(int columnCount) {
+		this.columnCount = columnCount;
+		this.index = -1;
+		this.slabs = new byte[8][];
+		this.slabCount = 0;
+		this.slabUsed = 0;
+		this.totalBytes = 0;
+		this.rowSlabs = new int[16];
+		this.cells = new int[16 * columnCount * 2];
+		this.rowCount = 0;
+		this.currentRowNumber = -1;
+	}
+
+	/**
+	 * Copies a text protocol row packet, positioned on its first value, into
+	 * the slabs.
+	 * 
+	 * @param rowPacket
+	 *            the row packet
+	 */
+	void addRow(Buffer rowPacket) {
+		// The values can't take more than what is left of the packet
+		int slab = reserve(rowPacket.getBufLength() - rowPacket.getPosition());
+		int cell = newRow(slab);
+		byte[] bytes = this.slabs[slab];
+		int rowStart = this.slabUsed;
+
+		for (int i = 0; i < this.columnCount; i++) {
+			long length = rowPacket.readFieldLength();
+
+			if (length == Buffer.NULL_LENGTH) {
+				this.cells[cell++] = 0;
+				this.cells[cell++] = -1;
+			} else {
+				rowPacket.readBytes(bytes, this.slabUsed, (int) length);
+				this.cells[cell++] = this.slabUsed;
+				this.cells[cell++] = (int) length;
+				this.slabUsed += length;
+			}
+		}
+
+		this.totalBytes += this.slabUsed - rowStart;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @param row
+	 *            DOCUMENT ME!
+	 */
+	public void addRow(byte[][] row) {
+		int rowLength = 0;
+
+		for (int i = 0; i < this.columnCount; i++) {
+			if (row[i] != null) {
+				rowLength += row[i].length;
+			}
+		}
+
+		int slab = reserve(rowLength);
+		int cell = newRow(slab);
+		byte[] bytes = this.slabs[slab];
+
+		for (int i = 0; i < this.columnCount; i++) {
+			if (row[i] == null) {
+				this.cells[cell++] = 0;
+				this.cells[cell++] = -1;
+			} else {
+				System.arraycopy(row[i], 0, bytes, this.slabUsed,
+						row[i].length);
+				this.cells[cell++] = this.slabUsed;
+				this.cells[cell++] = row[i].length;
+				this.slabUsed += row[i].length;
+			}
+		}
+
+		this.totalBytes += rowLength;
+	}
+
+	/**
+	 * Makes room for length bytes in the last slab, starting a new slab when
+	 * they don't fit.
+	 * 
+	 * @return the index of the slab
+	 */
+	private int reserve(int length) {
+		if ((this.slabCount == 0)
+				|| (this.slabUsed + length > this.slabs[this.slabCount - 1].length)) {
+			// Slabs double with the bytes stored, so that small results
+			// don't pay for a large slab
+			int size = (int) Math.min(MAX_SLAB_SIZE, Math.max(MIN_SLAB_SIZE,
+					this.totalBytes));
+
+			if (this.slabCount == this.slabs.length) {
+				byte[][] newSlabs = new byte[this.slabs.length * 2][];
+				System.arraycopy(this.slabs, 0, newSlabs, 0, this.slabCount);
+				this.slabs = newSlabs;
+			}
+
+			this.slabs[this.slabCount++] = new byte[Math.max(size, length)];
+			this.slabUsed = 0;
+		}
+
+		return this.slabCount - 1;
+	}
+
+	/**
+	 * Adds a row stored in slab to the tables.
+	 * 
+	 * @return the index in cells of the first value of the row
+	 */
+	private int newRow(int slab) {
+		if (this.rowCount == this.rowSlabs.length) {
+			int[] newRowSlabs = new int[this.rowSlabs.length * 2];
+			System.arraycopy(this.rowSlabs, 0, newRowSlabs, 0, this.rowCount);
+			this.rowSlabs = newRowSlabs;
+
+			int[] newCells = new int[this.cells.length * 2];
+			System.arraycopy(this.cells, 0, newCells, 0, this.cells.length);
+			this.cells = newCells;
+		}
+
+		this.rowSlabs[this.rowCount] = slab;
+
+		return this.rowCount++ * this.columnCount * 2;
+	}
+
+	/**
+	 * Copies the values of a row out of its slab.
+	 * 
+	 * @param rowNumber
+	 *            the row to copy
+	 * 
+	 * @return the values of the row
+	 */
+	private byte[][] getRow(int rowNumber) {
+		if (rowNumber != this.currentRowNumber) {
+			byte[][] row = new byte[this.columnCount][];
+			byte[] bytes = this.slabs[this.rowSlabs[rowNumber]];
+			int cell = rowNumber * this.columnCount * 2;
+
+			for (int i = 0; i < this.columnCount; i++) {
+				int offset = this.cells[cell++];
+				int length = this.cells[cell++];
+
+				if (length == 0) {
+					row[i] = Constants.EMPTY_BYTE_ARRAY;
+				} else if (length > 0) {
+					row[i] = new byte[length];
+					System.arraycopy(bytes, offset, row[i], 0, length);
+				}
+			}
+
+			this.currentRow = row;
+			this.currentRowNumber = rowNumber;
+		}
+
+		return this.currentRow;
+	}
+
+	/**
+	 * Moves to after last.
+	 */
+	public void afterLast() {
+		this.index = this.rowCount;
+	}
+
+	/**
+	 * Moves to before first.
+	 */
+	public void beforeFirst() {
+		this.index = -1;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 */
+	public void beforeLast() {
+		this.index = this.rowCount - 2;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 */
+	public void close() {
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @param atIndex
+	 *            DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public Object[] getAt(int atIndex) {
+		if ((atIndex < 0) || (atIndex >= this.rowCount)) {
+			return null;
+		}
+
+		return getRow(atIndex);
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public int getCurrentRowNumber() {
+		return this.index;
+	}
+
+	/**
+	 * @see com.mysql.jdbc.RowData#getOwner()
+	 */
+	public ResultSet getOwner() {
+		return this.owner;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public boolean hasNext() {
+		return (this.index + 1) < this.rowCount;
+	}
+
+	/**
+	 * Returns true if we got the last element.
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public boolean isAfterLast() {
+		return this.index >= this.rowCount;
+	}
+
+	/**
+	 * Returns if iteration has not occured yet.
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public boolean isBeforeFirst() {
+		return (this.index == -1) && (this.rowCount != 0);
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public boolean isDynamic() {
+		return false;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public boolean isEmpty() {
+		return this.rowCount == 0;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public boolean isFirst() {
+		return this.index == 0;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public boolean isLast() {
+		//
+		// You can never be on the 'last' row of
+		// an empty result set
+		//
+		if (this.rowCount == 0) {
+			return false;
+		}
+
+		return (this.index == (this.rowCount - 1));
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @param rowsToMove
+	 *            DOCUMENT ME!
+	 */
+	public void moveRowRelative(int rowsToMove) {
+		this.index += rowsToMove;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public Object[] next() {
+		this.index++;
+
+		if (this.index < this.rowCount) {
+			return getRow(this.index);
+		}
+
+		return null;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @param atIndex
+	 *            DOCUMENT ME!
+	 */
+	public void removeRow(int atIndex) {
+		int rowCells = this.columnCount * 2;
+		int rowsAfter = this.rowCount - atIndex - 1;
+
+		System.arraycopy(this.rowSlabs, atIndex + 1, this.rowSlabs, atIndex,
+				rowsAfter);
+		System.arraycopy(this.cells, (atIndex + 1) * rowCells, this.cells,
+				atIndex * rowCells, rowsAfter * rowCells);
+
+		this.rowCount--;
+		this.currentRowNumber = -1;
+		this.currentRow = null;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @param newIndex
+	 *            DOCUMENT ME!
+	 */
+	public void setCurrentRow(int newIndex) {
+		this.index = newIndex;
+	}
+
+	/**
+	 * @see com.mysql.jdbc.RowData#setOwner(com.mysql.jdbc.ResultSet)
+	 */
+	public void setOwner(ResultSet rs) {
+		this.owner = rs;
+	}
+
+	/**
+	 * DOCUMENT ME!
+	 * 
+	 * @return DOCUMENT ME!
+	 */
+	public int size() {
+		return this.rowCount;
+	}
+}
@@ -28,6 +28,7 @@ import com.mysql.jdbc.profiler.ProfileEventSink;
 import com.mysql.jdbc.profiler.ProfilerEvent;
 
 import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
@@ -555,6 +556,10 @@ public class ServerPreparedStatement extends PreparedStatement {
 			BindValue[] oldBindValues = this.parameterBindings;
 
 			try {
+				if (canPipelineBatch()) {
+					return executeBatchPipelined();
+				}
+
 				int[] updateCounts = null;
 
 				if (this.batchedArgs != null) {
@@ -665,6 +670,189 @@ public class ServerPreparedStatement extends PreparedStatement {
 		}
 	}
 
+	/**
+	 * Can the batch be executed by executeBatchPipelined()? Results of every
+	 * parameter set have to be read before anything else is sent to the
+	 * server, so the batch can't hold plain statements or long data, nor
+	 * stop at the first failure, and warnings can't be checked for
+	 * truncation.
+	 * 
+	 * @return true if the batch can be pipelined
+	 */
+	private boolean canPipelineBatch() {
+		if ((this.connection.getBatchPipelineWindow() < 2)
+				|| (this.batchedArgs == null) || (this.batchedArgs.size() < 2)
+				|| !this.connection.getContinueBatchOnError()
+				|| this.connection.getJdbcCompliantTruncation()
+				|| this.connection.getUseCompression()
+				|| this.connection.getProfileSql()
+				|| this.connection.getLogSlowQueries()
+				|| this.connection.getGatherPerformanceMetrics()
+				|| this.connection.getAutoGenerateTestcaseScript()
+				|| this.detectedLongParameterSwitch
+				|| (this.firstCharOfStmt == 'S')) {
+			return false;
+		}
+
+		int nbrCommands = this.batchedArgs.size();
+
+		for (int i = 0; i < nbrCommands; i++) {
+			Object arg = this.batchedArgs.get(i);
+
+			if (!(arg instanceof BatchedBindValues)) {
+				return false;
+			}
+
+			BindValue[] bindValues = ((BatchedBindValues) arg).batchedParameterValues;
+
+			for (int j = 0; j < this.parameterCount; j++) {
+				if (!bindValues[j].isSet || bindValues[j].isLongData) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Executes the batch writing the COM_EXECUTE packets of up to
+	 * 'batchPipelineWindow' parameter sets back-to-back, then reading their
+	 * results in order, rather than waiting for the result of each parameter
+	 * set before sending the next one.
+	 * 
+	 * Every parameter set is executed, and failures are reported as
+	 * executeBatch() does with 'continueBatchOnError'.
+	 * 
+	 * @return the update counts of the batch
+	 * 
+	 * @throws SQLException
+	 *             if the connection fails, or as a BatchUpdateException if
+	 *             any parameter set fails
+	 */
+	private int[] executeBatchPipelined() throws SQLException {
+		int nbrCommands = this.batchedArgs.size();
+		int[] updateCounts = new int[nbrCommands];
+		boolean[] notSent = new boolean[nbrCommands];
+
+		if (this.retrieveGeneratedKeys) {
+			this.batchedGeneratedKeys = new ArrayList(nbrCommands);
+		}
+
+		if (this.results != null) {
+			if (!this.connection.getHoldResultsOpenOverStatementClose()) {
+				this.results.realClose(false);
+			}
+		}
+
+		// Anything else sent to the server has to go before the pipeline
+
+		String oldCatalog = null;
+
+		if (!this.connection.getCatalog().equals(this.currentCatalog)) {
+			oldCatalog = this.connection.getCatalog();
+			this.connection.setCatalog(this.currentCatalog);
+		}
+
+		if (this.connection.useMaxRows()) {
+			this.connection.execSQL(this,
+					"SET OPTION SQL_SELECT_LIMIT=DEFAULT", -1, null, //$NON-NLS-1$
+					java.sql.ResultSet.TYPE_FORWARD_ONLY,
+					java.sql.ResultSet.CONCUR_READ_ONLY, false, false,
+					this.currentCatalog, true);
+		}
+
+		boolean oldInfoMsgState = false;
+
+		if (this.retrieveGeneratedKeys) {
+			oldInfoMsgState = this.connection.isReadInfoMsgEnabled();
+			this.connection.setReadInfoMsgEnabled(true);
+		}
+
+		MysqlIO mysql = this.connection.getIO();
+		int window = this.connection.getBatchPipelineWindow();
+		SQLException sqlEx = null;
+		int sent = 0;
+		int read = 0;
+
+		try {
+			while (read < nbrCommands) {
+				while ((sent < nbrCommands) && (sent - read < window)) {
+					this.parameterBindings = ((BatchedBindValues) this.batchedArgs
+							.get(sent)).batchedParameterValues;
+
+					// Whether the server took the types of a previous
+					// parameter set isn't known yet, so they're always sent
+					this.sendTypesToServer = true;
+
+					try {
+						Buffer packet = fillExecutePacket(mysql);
+
+						mysql.sendPipelined(packet, sent == read);
+					} catch (CommunicationsException ex) {
+						throw ex;
+					} catch (SQLException ex) {
+						notSent[sent] = true;
+						updateCounts[sent] = EXECUTE_FAILED;
+						sqlEx = ex;
+					}
+
+					sent++;
+				}
+
+				if (!notSent[read]) {
+					try {
+						Buffer resultPacket = mysql
+								.readPipelinedResponse(MysqlDefs.COM_EXECUTE);
+
+						this.numberOfExecutions++;
+						this.connection.incrementNumberOfPreparedExecutes();
+
+						com.mysql.jdbc.ResultSet rs = mysql.readAllResults(this,
+								-1, this.resultSetType,
+								this.resultSetConcurrency, false,
+								this.currentCatalog, resultPacket, true,
+								this.fieldCount, true);
+
+						this.results = rs;
+						this.updateCount = rs.getUpdateCount();
+						this.lastInsertId = rs.getUpdateID();
+
+						updateCounts[read] = (this.updateCount > Integer.MAX_VALUE) ? Integer.MAX_VALUE
+								: (int) this.updateCount;
+
+						if (this.retrieveGeneratedKeys) {
+							rs.setFirstCharOfQuery(this.firstCharOfStmt);
+							getBatchedGeneratedKeys();
+						}
+					} catch (CommunicationsException ex) {
+						throw ex;
+					} catch (SQLException ex) {
+						updateCounts[read] = EXECUTE_FAILED;
+						sqlEx = ex;
+					}
+				}
+
+				read++;
+			}
+		} finally {
+			if (this.retrieveGeneratedKeys) {
+				this.connection.setReadInfoMsgEnabled(oldInfoMsgState);
+			}
+
+			if (oldCatalog != null) {
+				this.connection.setCatalog(oldCatalog);
+			}
+		}
+
+		if (sqlEx != null) {
+			throw new java.sql.BatchUpdateException(sqlEx.getMessage(), sqlEx
+					.getSQLState(), sqlEx.getErrorCode(), updateCounts);
+		}
+
+		return updateCounts;
+	}
+
 	/**
 	 * @see com.mysql.jdbc.PreparedStatement#executeInternal(int,
 	 *      com.mysql.jdbc.Buffer, boolean, boolean)
@@ -1058,65 +1246,7 @@ public class ServerPreparedStatement extends PreparedStatement {
 			//
 			MysqlIO mysql = this.connection.getIO();
 
-			Buffer packet = mysql.getSharedSendPacket();
-
-			packet.clear();
-			packet.writeByte((byte) MysqlDefs.COM_EXECUTE);
-			packet.writeLong(this.serverStatementId);
-
-			if (this.connection.versionMeetsMinimum(4, 1, 2)) {
-				packet.writeByte((byte) 0); // placeholder for flags
-				packet.writeLong(1); // placeholder for parameter iterations
-			}
-
-			/* Reserve place for null-marker bytes */
-			int nullCount = (this.parameterCount + 7) / 8;
-
-			// if (mysql.versionMeetsMinimum(4, 1, 2)) {
-			// nullCount = (this.parameterCount + 9) / 8;
-			// }
-			int nullBitsPosition = packet.getPosition();
-
-			for (int i = 0; i < nullCount; i++) {
-				packet.writeByte((byte) 0);
-			}
-
-			byte[] nullBitsBuffer = new byte[nullCount];
-
-			/* In case if buffers (type) altered, indicate to server */
-			packet.writeByte(this.sendTypesToServer ? (byte) 1 : (byte) 0);
-
-			if (this.sendTypesToServer) {
-				/*
-				 * Store types of parameters in first in first package that is
-				 * sent to the server.
-				 */
-				for (int i = 0; i < this.parameterCount; i++) {
-					packet.writeInt(this.parameterBindings[i].bufferType);
-				}
-			}
-
-			//
-			// store the parameter values
-			//
-			for (int i = 0; i < this.parameterCount; i++) {
-				if (!this.parameterBindings[i].isLongData) {
-					if (!this.parameterBindings[i].isNull) {
-						storeBinding(packet, this.parameterBindings[i], mysql);
-					} else {
-						nullBitsBuffer[i / 8] |= (1 << (i & 7));
-					}
-				}
-			}
-
-			//
-			// Go back and write the NULL flags
-			// to the beginning of the packet
-			//
-			int endPosition = packet.getPosition();
-			packet.setPosition(nullBitsPosition);
-			packet.writeBytesNoNull(nullBitsBuffer);
-			packet.setPosition(endPosition);
+			Buffer packet = fillExecutePacket(mysql);
 
 			long begin = 0;
 
@@ -1206,6 +1336,82 @@ public class ServerPreparedStatement extends PreparedStatement {
 		}
 	}
 
+	/**
+	 * Fills the shared send packet with the COM_EXECUTE command of the
+	 * current parameter bindings, long data excepted.
+	 * 
+	 * @param mysql
+	 *            the I/O of the connection
+	 * 
+	 * @return the packet
+	 * 
+	 * @throws SQLException
+	 *             if a binding can't be stored
+	 */
+	private Buffer fillExecutePacket(MysqlIO mysql) throws SQLException {
+		Buffer packet = mysql.getSharedSendPacket();
+
+		packet.clear();
+		packet.writeByte((byte) MysqlDefs.COM_EXECUTE);
+		packet.writeLong(this.serverStatementId);
+
+		if (this.connection.versionMeetsMinimum(4, 1, 2)) {
+			packet.writeByte((byte) 0); // placeholder for flags
+			packet.writeLong(1); // placeholder for parameter iterations
+		}
+
+		/* Reserve place for null-marker bytes */
+		int nullCount = (this.parameterCount + 7) / 8;
+
+		// if (mysql.versionMeetsMinimum(4, 1, 2)) {
+		// nullCount = (this.parameterCount + 9) / 8;
+		// }
+		int nullBitsPosition = packet.getPosition();
+
+		for (int i = 0; i < nullCount; i++) {
+			packet.writeByte((byte) 0);
+		}
+
+		byte[] nullBitsBuffer = new byte[nullCount];
+
+		/* In case if buffers (type) altered, indicate to server */
+		packet.writeByte(this.sendTypesToServer ? (byte) 1 : (byte) 0);
+
+		if (this.sendTypesToServer) {
+			/*
+			 * Store types of parameters in first in first package that is
+			 * sent to the server.
+			 */
+			for (int i = 0; i < this.parameterCount; i++) {
+				packet.writeInt(this.parameterBindings[i].bufferType);
+			}
+		}
+
+		//
+		// store the parameter values
+		//
+		for (int i = 0; i < this.parameterCount; i++) {
+			if (!this.parameterBindings[i].isLongData) {
+				if (!this.parameterBindings[i].isNull) {
+					storeBinding(packet, this.parameterBindings[i], mysql);
+				} else {
+					nullBitsBuffer[i / 8] |= (1 << (i & 7));
+				}
+			}
+		}
+
+		//
+		// Go back and write the NULL flags
+		// to the beginning of the packet
+		//
+		int endPosition = packet.getPosition();
+		packet.setPosition(nullBitsPosition);
+		packet.writeBytesNoNull(nullBitsBuffer);
+		packet.setPosition(endPosition);
+
+		return packet;
+	}
+
 	/**
 	 * Sends stream-type data parameters to the server.
 	 * 
@@ -2248,11 +2454,23 @@ public class ServerPreparedStatement extends PreparedStatement {
 
 	private void storeStream(MysqlIO mysql, int parameterIndex, Buffer packet,
 			InputStream inStream) throws SQLException {
-		byte[] buf = new byte[BLOB_STREAM_READ_BUF_SIZE];
-
 		int numRead = 0;
 		
 		try {
+			if ((inStream instanceof FileInputStream)
+					&& mysql.isTransferToSocketEnabled()) {
+				// Straight from the file to the socket, failures to send
+				// being thrown as CommunicationsException rather than
+				// wrapped as read errors below
+				mysql.sendLongData(this.serverStatementId, parameterIndex,
+						((FileInputStream) inStream).getChannel(),
+						this.connection.getBlobSendChunkSize());
+
+				return;
+			}
+
+			byte[] buf = new byte[BLOB_STREAM_READ_BUF_SIZE];
+
 			int bytesInPacket = 0;
 			int totalBytesRead = 0;
 			int bytesReadAtLastSend = 0;
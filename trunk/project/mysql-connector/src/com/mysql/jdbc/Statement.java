@@ -28,6 +28,11 @@ import com.mysql.jdbc.profiler.ProfileEventSink;
 import com.mysql.jdbc.profiler.ProfilerEvent;
 import com.mysql.jdbc.util.LRUCache;
 
+import java.io.InputStream;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
 import java.sql.DataTruncation;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -37,7 +42,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * A Statement object is used for executing a static SQL statement and obtaining
@@ -59,15 +63,12 @@ import java.util.Map;
  */
 public class Statement implements java.sql.Statement {
 	class CachedResultSetMetaData {
-		/** Map column names (and all of their permutations) to column indices */
-		Map columnNameToIndex = null;
+		/** Case-insensitive lookup of column indices by column name */
+		ColumnIndex columnIndex = null;
 
 		/** Cached Field info */
 		Field[] fields;
 
-		/** Map of fully-specified column names to column indices */
-		Map fullColumnNameToIndex = null;
-
 		/** Cached ResultSetMetaData */
 		java.sql.ResultSetMetaData metadata;
 	}
@@ -147,6 +148,12 @@ public class Statement implements java.sql.Statement {
 	/** Cache of ResultSet metadata */
 	protected LRUCache resultSetMetadataCache;
 
+	/**
+	 * Column name lookup of the last result set which needed one, re-used
+	 * by the next result sets of the same shape
+	 */
+	ColumnIndex lastColumnIndex = null;
+
 	/** The type of this result set (scroll sensitive or in-sensitive) */
 	protected int resultSetType = 0;
 
@@ -171,6 +178,12 @@ public class Statement implements java.sql.Statement {
 
 	protected boolean continueBatchOnError = false;
 
+	/** Source of the next LOAD DATA LOCAL INFILE, instead of the file named */
+	private InputStream localInfileInputStream = null;
+
+	/** Channel localInfileInputStream reads, if set as a channel */
+	private ReadableByteChannel localInfileChannel = null;
+
 	/**
 	 * Constructor for a Statement.
 	 * 
@@ -1699,8 +1712,7 @@ public class Statement implements java.sql.Statement {
 				// lookups
 				resultSet.buildIndexMapping();
 
-				cachedMetaData.columnNameToIndex = resultSet.columnNameToIndex;
-				cachedMetaData.fullColumnNameToIndex = resultSet.fullColumnNameToIndex;
+				cachedMetaData.columnIndex = resultSet.columnIndex;
 
 				cachedMetaData.metadata = resultSet.getMetaData();
 
@@ -1713,9 +1725,7 @@ public class Statement implements java.sql.Statement {
 			} else {
 				// initialize results from cached data
 				resultSet.fields = cachedMetaData.fields;
-				resultSet.columnNameToIndex = cachedMetaData.columnNameToIndex;
-				resultSet.fullColumnNameToIndex = cachedMetaData.fullColumnNameToIndex;
-				resultSet.hasBuiltIndexMapping = true;
+				resultSet.columnIndex = cachedMetaData.columnIndex;
 
 				// results.resultSetMetaData = cachedMetaData.metadata;
 			}
@@ -1972,6 +1982,49 @@ public class Statement implements java.sql.Statement {
 		this.resultSetType = typeFlag;
 	}
 
+	/**
+	 * Sets a stream to be sent to the server as the contents of the file
+	 * named by the next LOAD DATA LOCAL INFILE executed by this statement,
+	 * so that data can be loaded without being written to a file first. The
+	 * stream is read to its end and closed by the driver.
+	 * 
+	 * @param stream
+	 *            the data to load, or null to send the file named
+	 */
+	public synchronized void setLocalInfileInputStream(InputStream stream) {
+		this.localInfileInputStream = stream;
+		this.localInfileChannel = null;
+	}
+
+	/**
+	 * Sets a channel to be sent to the server as the contents of the file
+	 * named by the next LOAD DATA LOCAL INFILE executed by this statement.
+	 * 
+	 * @param channel
+	 *            the data to load, or null to send the file named
+	 * 
+	 * @see #setLocalInfileInputStream(InputStream)
+	 */
+	public synchronized void setLocalInfileChannel(ReadableByteChannel channel) {
+		this.localInfileInputStream = (channel != null) ? Channels
+				.newInputStream(channel) : null;
+		this.localInfileChannel = channel;
+	}
+
+	/**
+	 * @return the stream set by setLocalInfileInputStream(), if any
+	 */
+	public synchronized InputStream getLocalInfileInputStream() {
+		return this.localInfileInputStream;
+	}
+
+	/**
+	 * @return the channel set by setLocalInfileChannel(), if any
+	 */
+	public synchronized ReadableByteChannel getLocalInfileChannel() {
+		return this.localInfileChannel;
+	}
+
 	protected void getBatchedGeneratedKeys(java.sql.Statement batchedStatement) throws SQLException {
 		if (this.retrieveGeneratedKeys) {
 			java.sql.ResultSet rs = null;
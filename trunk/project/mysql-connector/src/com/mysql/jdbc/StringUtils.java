@@ -52,6 +52,15 @@ public class StringUtils {
 
 	private static Method toPlainStringMethod;
 
+	/** Powers of ten which are exact as doubles */
+	private static final double[] DOUBLE_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3,
+			1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+			1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** Powers of ten which are exact as floats */
+	private static final float[] FLOAT_POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f,
+			1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
 	static final int WILD_COMPARE_MATCH_NO_WILD = 0;
 
 	static final int WILD_COMPARE_MATCH_WITH_WILD = 1;
@@ -829,6 +838,205 @@ public class StringUtils {
 		return (negative ? (short) -i : (short) i);
 	}
 
+	/**
+	 * Parses a decimal number, with an optional exponent, without creating a
+	 * String. Only numbers which can be converted exactly by a single
+	 * multiplication or division are handled, at most 15 significant digits
+	 * and a power of ten up to 22, so the result is the same as
+	 * Double.parseDouble() gives.
+	 * 
+	 * @param buf
+	 *            the number as ASCII bytes
+	 * 
+	 * @return the number, or NaN when buf has to be parsed by
+	 *         Double.parseDouble()
+	 */
+	public static double getDouble(byte[] buf) {
+		return parseDecimal(buf, false);
+	}
+
+	/**
+	 * Parses a decimal number like getDouble(), as Float.parseFloat() would,
+	 * for significant digits up to 2^24 and a power of ten up to 10.
+	 * 
+	 * @param buf
+	 *            the number as ASCII bytes
+	 * 
+	 * @return the number, or NaN when buf has to be parsed by
+	 *         Float.parseFloat()
+	 */
+	public static float getFloat(byte[] buf) {
+		return (float) parseDecimal(buf, true);
+	}
+
+	private static double parseDecimal(byte[] buf, boolean asFloat) {
+		int length = buf.length;
+		int s = 0;
+
+		boolean negative = false;
+
+		if ((s < length) && ((buf[s] == '-') || (buf[s] == '+'))) {
+			negative = (buf[s] == '-');
+			++s;
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean sawDigit = false;
+		boolean sawPoint = false;
+
+		for (; s < length; s++) {
+			byte b = buf[s];
+
+			if ((b >= '0') && (b <= '9')) {
+				sawDigit = true;
+
+				if (sawPoint) {
+					scale++;
+				}
+
+				if ((mantissa == 0) && (b == '0')) {
+					continue; // leading zeros aren't significant
+				}
+
+				if (++digits > 15) {
+					return Double.NaN;
+				}
+
+				mantissa = (mantissa * 10) + (b - '0');
+			} else if ((b == '.') && !sawPoint) {
+				sawPoint = true;
+			} else {
+				break;
+			}
+		}
+
+		if (!sawDigit) {
+			return Double.NaN;
+		}
+
+		int exponent = 0;
+
+		if ((s < length) && ((buf[s] == 'e') || (buf[s] == 'E'))) {
+			++s;
+
+			boolean negativeExponent = false;
+
+			if ((s < length) && ((buf[s] == '-') || (buf[s] == '+'))) {
+				negativeExponent = (buf[s] == '-');
+				++s;
+			}
+
+			int save = s;
+
+			for (; (s < length) && (buf[s] >= '0') && (buf[s] <= '9'); s++) {
+				exponent = (exponent * 10) + (buf[s] - '0');
+
+				if (exponent > 999) {
+					return Double.NaN;
+				}
+			}
+
+			if (s == save) {
+				return Double.NaN;
+			}
+
+			if (negativeExponent) {
+				exponent = -exponent;
+			}
+		}
+
+		if (s != length) {
+			return Double.NaN;
+		}
+
+		int power = exponent - scale;
+		double value;
+
+		if (asFloat) {
+			if ((mantissa > (1 << 24)) || (power < -10) || (power > 10)) {
+				return Double.NaN;
+			}
+
+			// Float arithmetic, rounding through a double could differ
+			// from Float.parseFloat()
+			float f = mantissa;
+
+			value = (power < 0) ? (f / FLOAT_POWERS_OF_TEN[-power])
+					: (f * FLOAT_POWERS_OF_TEN[power]);
+		} else {
+			if ((power < -22) || (power > 22)) {
+				return Double.NaN;
+			}
+
+			value = (power < 0) ? (mantissa / DOUBLE_POWERS_OF_TEN[-power])
+					: (mantissa * DOUBLE_POWERS_OF_TEN[power]);
+		}
+
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses a plain decimal number, without exponent, of at most 18 digits
+	 * into a BigDecimal without creating a String.
+	 * 
+	 * @param buf
+	 *            the number as ASCII bytes
+	 * 
+	 * @return the number, with the scale new BigDecimal(String) would give, or
+	 *         null when buf has to be parsed by new BigDecimal(String)
+	 */
+	public static BigDecimal getBigDecimal(byte[] buf) {
+		int length = buf.length;
+		int s = 0;
+
+		boolean negative = false;
+
+		if ((s < length) && ((buf[s] == '-') || (buf[s] == '+'))) {
+			negative = (buf[s] == '-');
+			++s;
+		}
+
+		long unscaled = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean sawDigit = false;
+		boolean sawPoint = false;
+
+		for (; s < length; s++) {
+			byte b = buf[s];
+
+			if ((b >= '0') && (b <= '9')) {
+				sawDigit = true;
+
+				if (sawPoint) {
+					scale++;
+				}
+
+				if ((unscaled == 0) && (b == '0')) {
+					continue;
+				}
+
+				if (++digits > 18) {
+					return null;
+				}
+
+				unscaled = (unscaled * 10) + (b - '0');
+			} else if ((b == '.') && !sawPoint) {
+				sawPoint = true;
+			} else {
+				return null;
+			}
+		}
+
+		if (!sawDigit) {
+			return null;
+		}
+
+		return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+	}
+
 	public final static int indexOfIgnoreCase(int startingPosition,
 			String searchIn, String searchFor) {
 		if ((searchIn == null) || (searchFor == null)
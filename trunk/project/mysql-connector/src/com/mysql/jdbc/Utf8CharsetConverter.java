@@ -0,0 +1,273 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package com.mysql.jdbc;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Converter for String->byte[] and byte[]->String for UTF-8, which
+ * SingleByteCharsetConverter can't handle, without the charset lookups and
+ * intermediate buffers of the JVM's converters, and with a fast path for
+ * ASCII. Input the JVM would treat specially (malformed or unpaired
+ * sequences) is left to the JVM, so results are always the same as
+ * String.getBytes("UTF-8") and new String(bytes, "UTF-8").
+ */
+final class Utf8CharsetConverter {
+
+	private Utf8CharsetConverter() {
+	}
+
+	/**
+	 * Returns true if the given Java encoding name is UTF-8.
+	 * 
+	 * @param javaEncodingName
+	 *            the encoding name, may be null
+	 * 
+	 * @return whether this converter applies
+	 */
+	static boolean isUtf8(String javaEncodingName) {
+		return (javaEncodingName != null)
+				&& ("UTF-8".equalsIgnoreCase(javaEncodingName) //$NON-NLS-1$
+				|| "UTF8".equalsIgnoreCase(javaEncodingName)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Decodes UTF-8 bytes.
+	 * 
+	 * @param b
+	 *            the bytes to decode
+	 * 
+	 * @return the decoded String
+	 */
+	static String toString(byte[] b) {
+		return toString(b, 0, b.length);
+	}
+
+	/**
+	 * Decodes UTF-8 bytes.
+	 * 
+	 * @param b
+	 *            the bytes to decode
+	 * @param offset
+	 *            the position of the first byte
+	 * @param length
+	 *            the number of bytes
+	 * 
+	 * @return the decoded String
+	 */
+	static String toString(byte[] b, int offset, int length) {
+		char[] c = new char[length];
+		int end = offset + length;
+		int i = offset;
+		int n = 0;
+
+		// ASCII, one char per byte
+		while ((i < end) && (b[i] >= 0)) {
+			c[n++] = (char) b[i++];
+		}
+
+		while (i < end) {
+			int b0 = b[i] & 0xff;
+
+			if (b0 < 0x80) {
+				c[n++] = (char) b0;
+				i++;
+			} else if ((b0 >= 0xc2) && (b0 < 0xe0) && (i + 1 < end)
+					&& isContinuation(b[i + 1])) {
+				c[n++] = (char) (((b0 & 0x1f) << 6) | (b[i + 1] & 0x3f));
+				i += 2;
+			} else if ((b0 >= 0xe0) && (b0 < 0xf0) && (i + 2 < end)
+					&& isContinuation(b[i + 1]) && isContinuation(b[i + 2])) {
+				int ch = ((b0 & 0x0f) << 12) | ((b[i + 1] & 0x3f) << 6)
+						| (b[i + 2] & 0x3f);
+
+				if ((ch < 0x800) || ((ch >= 0xd800) && (ch < 0xe000))) {
+					// overlong or surrogate
+					return toStringWithJvm(b, offset, length);
+				}
+
+				c[n++] = (char) ch;
+				i += 3;
+			} else if ((b0 >= 0xf0) && (b0 < 0xf5) && (i + 3 < end)
+					&& isContinuation(b[i + 1]) && isContinuation(b[i + 2])
+					&& isContinuation(b[i + 3])) {
+				int ch = ((b0 & 0x07) << 18) | ((b[i + 1] & 0x3f) << 12)
+						| ((b[i + 2] & 0x3f) << 6) | (b[i + 3] & 0x3f);
+
+				if ((ch < 0x10000) || (ch > 0x10ffff)) {
+					return toStringWithJvm(b, offset, length);
+				}
+
+				ch -= 0x10000;
+				c[n++] = (char) (0xd800 | (ch >> 10));
+				c[n++] = (char) (0xdc00 | (ch & 0x3ff));
+				i += 4;
+			} else {
+				return toStringWithJvm(b, offset, length);
+			}
+		}
+
+		return new String(c, 0, n);
+	}
+
+	private static boolean isContinuation(byte b) {
+		return (b & 0xc0) == 0x80;
+	}
+
+	private static String toStringWithJvm(byte[] b, int offset, int length) {
+		try {
+			return new String(b, offset, length, "UTF-8"); //$NON-NLS-1$
+		} catch (UnsupportedEncodingException uee) {
+			// UTF-8 is always supported
+			throw new IllegalStateException(uee.toString());
+		}
+	}
+
+	/**
+	 * Encodes a String parameter as a quoted UTF-8 string literal, escaping
+	 * as PreparedStatement.setString() does, in one pass to size the result
+	 * and one to fill it.
+	 * 
+	 * @param s
+	 *            the string to encode
+	 * @param escapeDoubleQuotes
+	 *            whether '"' has to be escaped
+	 * 
+	 * @return the literal, with the surrounding quotes
+	 */
+	static byte[] toQuotedBytes(String s, boolean escapeDoubleQuotes) {
+		int stringLength = s.length();
+		int length = 2;
+
+		for (int i = 0; i < stringLength; i++) {
+			char c = s.charAt(i);
+
+			if (c < 0x80) {
+				length += (needsEscape(c, escapeDoubleQuotes) ? 2 : 1);
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (isSurrogatePair(s, i)) {
+				length += 4;
+				i++;
+			} else if ((c >= 0xd800) && (c < 0xe000)) {
+				length += 1; // unpaired surrogate, '?' as the JVM does
+			} else {
+				length += 3;
+			}
+		}
+
+		byte[] b = new byte[length];
+		int n = 0;
+
+		b[n++] = '\'';
+
+		for (int i = 0; i < stringLength; i++) {
+			char c = s.charAt(i);
+
+			if (c < 0x80) {
+				if (needsEscape(c, escapeDoubleQuotes)) {
+					b[n++] = '\\';
+
+					switch (c) {
+					case 0:
+						b[n++] = '0';
+
+						break;
+
+					case '\n':
+						b[n++] = 'n';
+
+						break;
+
+					case '\r':
+						b[n++] = 'r';
+
+						break;
+
+					case '\032':
+						b[n++] = 'Z';
+
+						break;
+
+					default:
+						b[n++] = (byte) c;
+					}
+				} else {
+					b[n++] = (byte) c;
+				}
+			} else if (c < 0x800) {
+				b[n++] = (byte) (0xc0 | (c >> 6));
+				b[n++] = (byte) (0x80 | (c & 0x3f));
+			} else if (isSurrogatePair(s, i)) {
+				int ch = (((c - 0xd800) << 10) | (s.charAt(++i) - 0xdc00)) + 0x10000;
+
+				b[n++] = (byte) (0xf0 | (ch >> 18));
+				b[n++] = (byte) (0x80 | ((ch >> 12) & 0x3f));
+				b[n++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+				b[n++] = (byte) (0x80 | (ch & 0x3f));
+			} else if ((c >= 0xd800) && (c < 0xe000)) {
+				b[n++] = '?';
+			} else {
+				b[n++] = (byte) (0xe0 | (c >> 12));
+				b[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				b[n++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+
+		b[n++] = '\'';
+
+		return b;
+	}
+
+	private static boolean isSurrogatePair(String s, int i) {
+		char c = s.charAt(i);
+
+		if ((c < 0xd800) || (c >= 0xdc00) || (i + 1 >= s.length())) {
+			return false;
+		}
+
+		char next = s.charAt(i + 1);
+
+		return (next >= 0xdc00) && (next < 0xe000);
+	}
+
+	private static boolean needsEscape(char c, boolean escapeDoubleQuotes) {
+		switch (c) {
+		case 0:
+		case '\n':
+		case '\r':
+		case '\\':
+		case '\'':
+		case '\032':
+			return true;
+
+		case '"':
+			return escapeDoubleQuotes;
+
+		default:
+			return false;
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package testsuite.simple;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the accounting of the pool of packet storage shared by connections.
+ * The pool isn't public, so it is reached by reflection.
+ * 
+ * @version $Id$
+ */
+public class BufferPoolTest extends TestCase {
+	/** A size class no connection of this test uses, 8M */
+	private static final int SIZE = 5 * 1024 * 1024;
+
+	private static final int CAPACITY = 8 * 1024 * 1024;
+
+	private Object pool;
+
+	/**
+	 * Creates a new BufferPoolTest.
+	 * 
+	 * @param name
+	 *            the name of the test to run
+	 */
+	public BufferPoolTest(String name) {
+		super(name);
+	}
+
+	/**
+	 * Runs all test cases in this test suite
+	 * 
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		junit.textui.TestRunner.run(BufferPoolTest.class);
+	}
+
+	public void setUp() throws Exception {
+		Method getInstance = Class.forName("com.mysql.jdbc.BufferPool")
+				.getDeclaredMethod("getInstance", new Class[0]);
+
+		getInstance.setAccessible(true);
+		this.pool = getInstance.invoke(null, new Object[0]);
+
+		invoke("ensureMaxRetainedBytes", Long.TYPE, new Long(4 * CAPACITY));
+	}
+
+	public void testForgetDirect() throws Exception {
+		long before = getLong("getDirectBytes");
+		ByteBuffer buffer = (ByteBuffer) invoke("borrowDirect", Integer.TYPE,
+				new Integer(SIZE));
+
+		assertTrue(buffer.isDirect());
+		assertEquals(CAPACITY, buffer.capacity());
+		assertEquals(before + CAPACITY, getLong("getDirectBytes"));
+
+		long discards = getLong("getDiscards");
+
+		invoke("forgetDirect", ByteBuffer.class, buffer);
+		assertEquals(before, getLong("getDirectBytes"));
+		assertEquals(discards + 1, getLong("getDiscards"));
+
+		// Heap buffers were never counted
+		invoke("forgetDirect", ByteBuffer.class, ByteBuffer.allocate(CAPACITY));
+		assertEquals(before, getLong("getDirectBytes"));
+		assertEquals(discards + 1, getLong("getDiscards"));
+	}
+
+	public void testReturnDirect() throws Exception {
+		ByteBuffer buffer = (ByteBuffer) invoke("borrowDirect", Integer.TYPE,
+				new Integer(SIZE));
+		long directBytes = getLong("getDirectBytes");
+		long retained = getLong("getRetainedDirectBytes");
+
+		buffer.put((byte) 1);
+		invoke("returnDirect", ByteBuffer.class, buffer);
+		assertEquals(retained + CAPACITY, getLong("getRetainedDirectBytes"));
+		assertEquals(directBytes, getLong("getDirectBytes"));
+
+		long hits = getLong("getHits");
+		ByteBuffer again = (ByteBuffer) invoke("borrowDirect", Integer.TYPE,
+				new Integer(SIZE));
+
+		assertSame(buffer, again);
+		assertEquals(0, again.position());
+		assertEquals(hits + 1, getLong("getHits"));
+		assertEquals(retained, getLong("getRetainedDirectBytes"));
+		assertEquals(directBytes, getLong("getDirectBytes"));
+
+		invoke("forgetDirect", ByteBuffer.class, again);
+	}
+
+	public void testReturnArray() throws Exception {
+		byte[] array = (byte[]) invoke("borrowArray", Integer.TYPE,
+				new Integer(SIZE));
+		long retained = getLong("getRetainedArrayBytes");
+
+		assertEquals(CAPACITY, array.length);
+
+		invoke("returnArray", byte[].class, array);
+		assertEquals(retained + CAPACITY, getLong("getRetainedArrayBytes"));
+		assertSame(array, invoke("borrowArray", Integer.TYPE, new Integer(SIZE)));
+		assertEquals(retained, getLong("getRetainedArrayBytes"));
+
+		// Arrays smaller than the smallest size class are dropped
+		long discards = getLong("getDiscards");
+
+		invoke("returnArray", byte[].class, new byte[100]);
+		assertEquals(discards + 1, getLong("getDiscards"));
+	}
+
+	private Object invoke(String name, Class type, Object arg)
+			throws Exception {
+		Method method = this.pool.getClass().getDeclaredMethod(name,
+				new Class[] { type });
+
+		method.setAccessible(true);
+
+		return method.invoke(this.pool, new Object[] { arg });
+	}
+
+	private long getLong(String name) throws Exception {
+		Method method = this.pool.getClass().getDeclaredMethod(name,
+				new Class[0]);
+
+		method.setAccessible(true);
+
+		return ((Long) method.invoke(this.pool, new Object[0])).longValue();
+	}
+}
@@ -23,6 +23,7 @@
 package testsuite.simple;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -288,4 +289,52 @@ public class CharsetTests extends BaseTestCase {
 		}
 	}
 
+	/**
+	 * Tests that strings sent and read back over a UTF-8 connection are
+	 * encoded as String.getBytes() and decoded as new String() do.
+	 * 
+	 * @throws Exception
+	 *             if the test fails
+	 */
+	public void testUtf8Converter() throws Exception {
+		if (!versionMeetsMinimum(4, 1)) {
+			return;
+		}
+
+		String[] strings = { "", "plain ascii",
+				"quotes ' \" and \\ backslash, \0 nul, \r\n, \032 ctrl-z",
+				"\u00e8\u00e0\u00f9 latin", "\u65e5\u672c\u8a9e",
+				"\u20ac euro", "unpaired \ud800 surrogate" };
+
+		Properties props = new Properties();
+		props.setProperty("useServerPrepStmts", "false");
+		props.setProperty("useUnicode", "true");
+		props.setProperty("characterEncoding", "UTF-8");
+		Connection utf8Conn = getConnectionWithProps(props);
+
+		try {
+			PreparedStatement pStmt = utf8Conn
+					.prepareStatement("SELECT ?, HEX(?)");
+
+			for (int i = 0; i < strings.length; i++) {
+				byte[] bytes = strings[i].getBytes("UTF-8");
+				StringBuffer hex = new StringBuffer();
+
+				for (int j = 0; j < bytes.length; j++) {
+					hex.append(Character.forDigit((bytes[j] >> 4) & 0xf, 16));
+					hex.append(Character.forDigit(bytes[j] & 0xf, 16));
+				}
+
+				pStmt.setString(1, strings[i]);
+				pStmt.setString(2, strings[i]);
+				this.rs = pStmt.executeQuery();
+				assertTrue(this.rs.next());
+				assertEquals(new String(bytes, "UTF-8"), this.rs.getString(1));
+				assertEquals(hex.toString().toUpperCase(Locale.ENGLISH),
+						this.rs.getString(2));
+			}
+		} finally {
+			utf8Conn.close();
+		}
+	}
 }
@@ -0,0 +1,122 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package testsuite.simple;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import com.mysql.jdbc.RowDataSlab;
+
+/**
+ * Tests that rows stored in byte slabs are given back as they were added,
+ * NULL values as null and empty values as empty arrays.
+ * 
+ * @version $Id$
+ */
+public class RowDataSlabTest extends TestCase {
+	/**
+	 * Creates a new RowDataSlabTest.
+	 * 
+	 * @param name
+	 *            the name of the test to run
+	 */
+	public RowDataSlabTest(String name) {
+		super(name);
+	}
+
+	/**
+	 * Runs all test cases in this test suite
+	 * 
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		junit.textui.TestRunner.run(RowDataSlabTest.class);
+	}
+
+	public void testNullAndEmptyCells() throws Exception {
+		RowDataSlab rows = new RowDataSlab(3);
+
+		rows.addRow(new byte[][] { null, new byte[0], "abc".getBytes() });
+		rows.addRow(new byte[][] { new byte[0], null, null });
+		rows.addRow(new byte[][] { null, null, null });
+
+		assertEquals(3, rows.size());
+
+		byte[][] row = (byte[][]) rows.getAt(0);
+		assertNull(row[0]);
+		assertNotNull(row[1]);
+		assertEquals(0, row[1].length);
+		assertEquals("abc", new String(row[2]));
+
+		row = (byte[][]) rows.getAt(1);
+		assertNotNull(row[0]);
+		assertEquals(0, row[0].length);
+		assertNull(row[1]);
+		assertNull(row[2]);
+
+		row = (byte[][]) rows.getAt(2);
+		assertNull(row[0]);
+		assertNull(row[1]);
+		assertNull(row[2]);
+	}
+
+	public void testRowsAcrossSlabs() throws Exception {
+		RowDataSlab rows = new RowDataSlab(2);
+		byte[] large = new byte[300 * 1024];
+
+		Arrays.fill(large, (byte) 'x');
+
+		for (int i = 0; i < 2000; i++) {
+			byte[] value = new byte[i % 300];
+
+			Arrays.fill(value, (byte) i);
+			rows.addRow(new byte[][] { value,
+					((i == 1000) ? large : String.valueOf(i).getBytes()) });
+		}
+
+		assertEquals(2000, rows.size());
+
+		rows.beforeFirst();
+
+		for (int i = 0; i < 2000; i++) {
+			assertTrue(rows.hasNext());
+
+			byte[][] row = (byte[][]) rows.next();
+			byte[] value = new byte[i % 300];
+
+			Arrays.fill(value, (byte) i);
+			assertTrue(Arrays.equals(value, row[0]));
+
+			if (i == 1000) {
+				assertTrue(Arrays.equals(large, row[1]));
+			} else {
+				assertEquals(String.valueOf(i), new String(row[1]));
+			}
+		}
+
+		assertFalse(rows.hasNext());
+	}
+}
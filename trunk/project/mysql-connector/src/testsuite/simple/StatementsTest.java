@@ -27,6 +27,7 @@ package testsuite.simple;
 import java.io.ByteArrayInputStream;
 import java.io.CharArrayReader;
 import java.io.Reader;
+import java.sql.BatchUpdateException;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -1014,7 +1015,146 @@ public class StatementsTest extends BaseTestCase {
 			assertEquals(i, genKeys.getInt(1));
 		}
 	}
-	
+
+	/**
+	 * Tests that rewritten batches streamed into several packets keep an ON
+	 * DUPLICATE KEY UPDATE clause once, after the last row of each packet.
+	 * 
+	 * @throws SQLException
+	 *             if the test fails
+	 */
+	public void testStreamedRewriteBatchOnDuplicateKey() throws SQLException {
+		createTable("testStreamedRewriteBatch",
+				"(pk_field INT PRIMARY KEY NOT NULL, field1 VARCHAR(32), hits INT)");
+
+		Properties props = new Properties();
+		props.setProperty("useServerPrepStmts", "false");
+		props.setProperty("rewriteBatchedStatements", "true");
+		props.setProperty("sessionVariables", "max_allowed_packet=1024");
+		Connection rewriteConn = getConnectionWithProps(props);
+
+		try {
+			PreparedStatement pStmt = rewriteConn
+					.prepareStatement("INSERT INTO testStreamedRewriteBatch VALUES (?, ?, 1) "
+							+ "ON DUPLICATE KEY UPDATE field1=VALUES(field1), hits=hits+1");
+
+			for (int i = 0; i < 200; i++) {
+				pStmt.setInt(1, i % 100);
+				pStmt.setString(2, "it's \\ row " + i);
+				pStmt.addBatch();
+			}
+
+			assertEquals(200, pStmt.executeBatch().length);
+
+			this.rs = this.stmt
+					.executeQuery("SELECT pk_field, field1, hits FROM testStreamedRewriteBatch ORDER BY pk_field");
+
+			for (int i = 0; i < 100; i++) {
+				assertTrue(this.rs.next());
+				assertEquals(i, this.rs.getInt(1));
+				assertEquals("it's \\ row " + (i + 100), this.rs.getString(2));
+				assertEquals(2, this.rs.getInt(3));
+			}
+
+			assertFalse(this.rs.next());
+		} finally {
+			rewriteConn.close();
+		}
+	}
+
+	/**
+	 * Tests that pipelined server-side batches report the indexes of the
+	 * parameter sets which failed, and execute all the others.
+	 * 
+	 * @throws SQLException
+	 *             if the test fails
+	 */
+	public void testPipelinedBatchErrorIndexes() throws SQLException {
+		if (!versionMeetsMinimum(4, 1)) {
+			return;
+		}
+
+		createTable("testPipelinedBatch", "(pk_field INT PRIMARY KEY NOT NULL)");
+
+		Properties props = new Properties();
+		props.setProperty("useServerPrepStmts", "true");
+		props.setProperty("batchPipelineWindow", "4");
+		props.setProperty("continueBatchOnError", "true");
+		props.setProperty("jdbcCompliantTruncation", "false");
+		Connection pipelineConn = getConnectionWithProps(props);
+
+		try {
+			PreparedStatement pStmt = pipelineConn
+					.prepareStatement("INSERT INTO testPipelinedBatch VALUES (?)");
+			int[] keys = { 0, 1, 2, 1, 3, 4, 5, 5, 6, 7 };
+
+			for (int i = 0; i < keys.length; i++) {
+				pStmt.setInt(1, keys[i]);
+				pStmt.addBatch();
+			}
+
+			try {
+				pStmt.executeBatch();
+				fail("Duplicate keys should have failed the batch");
+			} catch (BatchUpdateException bue) {
+				int[] counts = bue.getUpdateCounts();
+
+				assertEquals(keys.length, counts.length);
+
+				for (int i = 0; i < counts.length; i++) {
+					if ((i == 3) || (i == 7)) {
+						assertEquals(Statement.EXECUTE_FAILED, counts[i]);
+					} else {
+						assertEquals(1, counts[i]);
+					}
+				}
+			}
+
+			this.rs = this.stmt
+					.executeQuery("SELECT COUNT(*) FROM testPipelinedBatch");
+			assertTrue(this.rs.next());
+			assertEquals(8, this.rs.getInt(1));
+		} finally {
+			pipelineConn.close();
+		}
+	}
+
+	/**
+	 * Tests that findColumn() returns the first of columns with the same
+	 * name, ignoring case, also when the statement re-uses the index of a
+	 * previous result set.
+	 * 
+	 * @throws SQLException
+	 *             if the test fails
+	 */
+	public void testFindColumn() throws SQLException {
+		this.rs = this.stmt
+				.executeQuery("SELECT 1 AS a, 2 AS A, 3 AS b, 4 AS b");
+		assertTrue(this.rs.next());
+		assertEquals(1, this.rs.findColumn("a"));
+		assertEquals(1, this.rs.findColumn("A"));
+		assertEquals(3, this.rs.findColumn("B"));
+		assertEquals(3, this.rs.getInt("b"));
+
+		try {
+			this.rs.findColumn("c");
+			fail("Column 'c' should not have been found");
+		} catch (SQLException sqlEx) {
+			assertEquals(SQLError.SQL_STATE_COLUMN_NOT_FOUND, sqlEx
+					.getSQLState());
+		}
+
+		this.rs = this.stmt
+				.executeQuery("SELECT 1 AS a, 2 AS A, 3 AS b, 4 AS b");
+		assertTrue(this.rs.next());
+		assertEquals(1, this.rs.getInt("A"));
+
+		this.rs = this.stmt.executeQuery("SELECT 5 AS b, 6 AS a");
+		assertTrue(this.rs.next());
+		assertEquals(2, this.rs.findColumn("a"));
+		assertEquals(5, this.rs.getInt("B"));
+	}
+
 	/**
 	 * DOCUMENT ME!
 	 * 
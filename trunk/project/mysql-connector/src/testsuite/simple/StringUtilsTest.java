@@ -0,0 +1,115 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package testsuite.simple;
+
+import java.math.BigDecimal;
+
+import junit.framework.TestCase;
+
+import com.mysql.jdbc.StringUtils;
+
+/**
+ * Tests that the numbers parsed by StringUtils straight from row bytes are
+ * the ones the JDK parsers give, or that the JDK parsers are left to do it.
+ * 
+ * @version $Id$
+ */
+public class StringUtilsTest extends TestCase {
+	private static final String[] NUMBERS = { "0", "-0", "+0", "1", "-1",
+			"0.1", "0.2", "0.3", "1.5", "-2.75", "3.14159", "123456789012345",
+			"1234567890123456", "0.000001", "0000012.5000", "1e10", "1E-5",
+			"-4.5e+3", "1.7976931348623157e308", "4.9e-324", "9007199254740993",
+			"16777217", "0.1e-22", "1e23", ".5", "5.", "", "-", ".", "e5",
+			"1e", "1e+", "1.2.3", "12a", " 12", "NaN", "Infinity", "0x10",
+			"99999999999999999999" };
+
+	/**
+	 * Creates a new StringUtilsTest.
+	 * 
+	 * @param name
+	 *            the name of the test to run
+	 */
+	public StringUtilsTest(String name) {
+		super(name);
+	}
+
+	/**
+	 * Runs all test cases in this test suite
+	 * 
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		junit.textui.TestRunner.run(StringUtilsTest.class);
+	}
+
+	public void testGetDouble() throws Exception {
+		for (int i = 0; i < NUMBERS.length; i++) {
+			double value = StringUtils.getDouble(NUMBERS[i].getBytes("US-ASCII"));
+
+			if (!Double.isNaN(value)) {
+				assertEquals(NUMBERS[i], Double.doubleToLongBits(Double
+						.parseDouble(NUMBERS[i])), Double
+						.doubleToLongBits(value));
+			}
+		}
+
+		assertEquals(0.3, StringUtils.getDouble("0.3".getBytes("US-ASCII")),
+				0);
+		assertTrue(Double.isNaN(StringUtils.getDouble("12a"
+				.getBytes("US-ASCII"))));
+	}
+
+	public void testGetFloat() throws Exception {
+		for (int i = 0; i < NUMBERS.length; i++) {
+			float value = StringUtils.getFloat(NUMBERS[i].getBytes("US-ASCII"));
+
+			if (!Float.isNaN(value)) {
+				assertEquals(NUMBERS[i], Float.floatToIntBits(Float
+						.parseFloat(NUMBERS[i])), Float.floatToIntBits(value));
+			}
+		}
+
+		assertEquals(0.1f, StringUtils.getFloat("0.1".getBytes("US-ASCII")),
+				0);
+	}
+
+	public void testGetBigDecimal() throws Exception {
+		for (int i = 0; i < NUMBERS.length; i++) {
+			BigDecimal value = StringUtils.getBigDecimal(NUMBERS[i]
+					.getBytes("US-ASCII"));
+
+			if (value != null) {
+				BigDecimal expected = new BigDecimal(NUMBERS[i]);
+
+				assertEquals(NUMBERS[i], expected, value);
+				assertEquals(NUMBERS[i], expected.scale(), value.scale());
+			}
+		}
+
+		assertEquals(new BigDecimal("-2.75"), StringUtils
+				.getBigDecimal("-2.75".getBytes("US-ASCII")));
+		assertNull(StringUtils.getBigDecimal("1e10".getBytes("US-ASCII")));
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ Copyright (C) 2002-2004 MySQL AB
+
+ This program is free software; you can redistribute it and/or modify
+ it under the terms of version 2 of the GNU General Public License as 
+ published by the Free Software Foundation.
+
+ There are special exceptions to the terms and conditions of the GPL 
+ as it is applied to this software. View the full text of the 
+ exception in file EXCEPTIONS-CONNECTOR-J in the directory of this 
+ software distribution.
+
+ This program is distributed in the hope that it will be useful,
+ but WITHOUT ANY WARRANTY; without even the implied warranty of
+ MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ GNU General Public License for more details.
+
+ You should have received a copy of the GNU General Public License
+ along with this program; if not, write to the Free Software
+ Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+
+
+ */
+package testsuite.simple;
+
+import java.lang.reflect.Method;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the UTF-8 converter used by setString() and getString() gives
+ * the same bytes as String.getBytes() and the same strings as new String(),
+ * malformed input included. The converter isn't public, so it is reached by
+ * reflection.
+ * 
+ * @version $Id$
+ */
+public class Utf8CharsetConverterTest extends TestCase {
+	private static final String[] STRINGS = { "", "plain ascii",
+			"\u00e8\u00e0\u00f9 latin", "\u07ff\u0800\uffff edges",
+			"\u65e5\u672c\u8a9e", "\u20ac euro", "\ud834\udd1e clef",
+			"unpaired \ud800 high", "unpaired \udc00 low", "trailing \ud800" };
+
+	private static final byte[][] MALFORMED = { { (byte) 0x80 },
+			{ 'a', (byte) 0xc3 }, { (byte) 0xc3, '(' },
+			{ (byte) 0xc0, (byte) 0xaf }, { (byte) 0xe0, (byte) 0x80, (byte) 0xaf },
+			{ (byte) 0xed, (byte) 0xa0, (byte) 0x80 },
+			{ (byte) 0xf4, (byte) 0x90, (byte) 0x80, (byte) 0x80 },
+			{ (byte) 0xf8, (byte) 0x88, (byte) 0x80, (byte) 0x80, (byte) 0x80 },
+			{ 'x', (byte) 0xe2, (byte) 0x82 } };
+
+	private Method toString;
+
+	private Method toQuotedBytes;
+
+	/**
+	 * Creates a new Utf8CharsetConverterTest.
+	 * 
+	 * @param name
+	 *            the name of the test to run
+	 */
+	public Utf8CharsetConverterTest(String name) {
+		super(name);
+	}
+
+	/**
+	 * Runs all test cases in this test suite
+	 * 
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		junit.textui.TestRunner.run(Utf8CharsetConverterTest.class);
+	}
+
+	public void setUp() throws Exception {
+		Class converter = Class.forName("com.mysql.jdbc.Utf8CharsetConverter");
+
+		this.toString = converter.getDeclaredMethod("toString",
+				new Class[] { byte[].class });
+		this.toString.setAccessible(true);
+		this.toQuotedBytes = converter.getDeclaredMethod("toQuotedBytes",
+				new Class[] { String.class, Boolean.TYPE });
+		this.toQuotedBytes.setAccessible(true);
+	}
+
+	public void testDecode() throws Exception {
+		for (int i = 0; i < STRINGS.length; i++) {
+			byte[] bytes = STRINGS[i].getBytes("UTF-8");
+
+			assertEquals(new String(bytes, "UTF-8"), decode(bytes));
+		}
+
+		for (int i = 0; i < MALFORMED.length; i++) {
+			assertEquals(new String(MALFORMED[i], "UTF-8"),
+					decode(MALFORMED[i]));
+		}
+	}
+
+	public void testEncode() throws Exception {
+		for (int i = 0; i < STRINGS.length; i++) {
+			String expected = "'" + STRINGS[i] + "'";
+
+			assertEquals(STRINGS[i], toHex(expected.getBytes("UTF-8")),
+					toHex(encode(STRINGS[i], false)));
+		}
+	}
+
+	public void testEscapes() throws Exception {
+		String s = "nul \0 lf \n cr \r bs \\ q ' dq \" ctrl-z \032 \u00e8";
+
+		assertEquals(toHex("'nul \\0 lf \\n cr \\r bs \\\\ q \\' dq \" ctrl-z \\Z \u00e8'"
+				.getBytes("UTF-8")), toHex(encode(s, false)));
+		assertEquals(toHex("'nul \\0 lf \\n cr \\r bs \\\\ q \\' dq \\\" ctrl-z \\Z \u00e8'"
+				.getBytes("UTF-8")), toHex(encode(s, true)));
+	}
+
+	private String decode(byte[] bytes) throws Exception {
+		return (String) this.toString.invoke(null, new Object[] { bytes });
+	}
+
+	private byte[] encode(String s, boolean escapeDoubleQuotes)
+			throws Exception {
+		return (byte[]) this.toQuotedBytes.invoke(null, new Object[] { s,
+				Boolean.valueOf(escapeDoubleQuotes) });
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuffer hex = new StringBuffer();
+
+		for (int i = 0; i < bytes.length; i++) {
+			hex.append(Character.forDigit((bytes[i] >> 4) & 0xf, 16));
+			hex.append(Character.forDigit(bytes[i] & 0xf, 16));
+		}
+
+		return hex.toString();
+	}
+}
@@ -7,7 +7,9 @@ CREATE TABLE IF NOT EXISTS `dmoz_aliases` (
   `Title` varchar(512) NOT NULL default '',
   `Target` varchar(512) NOT NULL default '',
   `tcatid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `Title` (`Title`),
   KEY `catid` (`catid`),
   KEY `tcatid` (`tcatid`)
@@ -21,7 +23,9 @@ CREATE TABLE IF NOT EXISTS `dmoz_altlangs` (
   `resource` varchar(512) NOT NULL default '',
   `catid` int(11) NOT NULL default '0',
   `rcatid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `language` (`language`),
   KEY `catid` (`catid`),
   KEY `rcatid` (`rcatid`)
@@ -38,10 +42,12 @@ CREATE TABLE IF NOT EXISTS `dmoz_categories` (
   `charset` varchar(512) NOT NULL default '',
   `Title` varchar(512) NOT NULL default '',
   `Description` text NOT NULL,
+  `zDescription` blob,
   `lastUpdate` varchar(512) NOT NULL default '',
   `fatherid` int(11) NOT NULL default '0',
+  `topid` int(11) NOT NULL default '0',
   PRIMARY KEY  (`id`),
-  KEY `catid` (`catid`),
+  UNIQUE KEY `catid` (`catid`),
   KEY `Title` (`Title`),
   KEY `fatherid` (`fatherid`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='List of ODP categories' AUTO_INCREMENT=1 ;
@@ -52,7 +58,9 @@ CREATE TABLE IF NOT EXISTS `dmoz_editors` (
   `id` int(11) NOT NULL auto_increment,
   `editor` varchar(512) NOT NULL default '',
   `catid` int(255) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `catid` (`catid`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='Lisf of editors for ODP categories' AUTO_INCREMENT=1 ;
 
@@ -60,19 +68,38 @@ CREATE TABLE IF NOT EXISTS `dmoz_editors` (
 DROP TABLE IF EXISTS `dmoz_externalpages`;
 CREATE TABLE IF NOT EXISTS `dmoz_externalpages` (
   `id` int(11) NOT NULL auto_increment,
+  `pageid` int(11) NOT NULL default '0',
   `ages` varchar(256) NOT NULL default '',
   `type` varchar(256) NOT NULL default '',
   `link` varchar(512) NOT NULL default '',
+  `urlid` int(11) NOT NULL default '0',
   `Title` varchar(512) NOT NULL default '',
   `Description` text NOT NULL,
+  `zDescription` blob,
   `catid` int(11) NOT NULL default '0',
   `priority` int(11) NOT NULL default '0',
   `mediadate` varchar(512) NOT NULL default '',
+  `topid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `Title` (`Title`),
-  KEY `catid` (`catid`)
+  KEY `catid` (`catid`),
+  KEY `urlid` (`urlid`),
+  KEY `pageid` (`pageid`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='List of external pages for ODP categories.' AUTO_INCREMENT=1 ;
 
+-- Table structure for table `dmoz_hierarchy`
+DROP TABLE IF EXISTS `dmoz_hierarchy`;
+CREATE TABLE IF NOT EXISTS `dmoz_hierarchy` (
+  `catid` int(11) NOT NULL default '0',
+  `lft` int(11) NOT NULL default '0',
+  `rgt` int(11) NOT NULL default '0',
+  `depth` int(11) NOT NULL default '0',
+  PRIMARY KEY  (`catid`),
+  UNIQUE KEY `lft` (`lft`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='Nested sets of ODP categories, descendants of a category have lft between its lft and rgt';
+
 -- Table structure for table `dmoz_letterbars`
 DROP TABLE IF EXISTS `dmoz_letterbars`;
 CREATE TABLE IF NOT EXISTS `dmoz_letterbars` (
@@ -80,7 +107,9 @@ CREATE TABLE IF NOT EXISTS `dmoz_letterbars` (
   `letterbar` varchar(512) NOT NULL default '',
   `catid` int(11) NOT NULL default '0',
   `lcatid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `catid` (`catid`),
   KEY `lcatid` (`lcatid`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='List of related letterbars for ODP categories' AUTO_INCREMENT=1 ;
@@ -94,7 +123,9 @@ CREATE TABLE IF NOT EXISTS `dmoz_narrows` (
   `priority` int(11) NOT NULL default '0',
   `catid` int(11) NOT NULL default '0',
   `ncatid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `priority` (`priority`),
   KEY `catid` (`catid`),
   KEY `ncatid` (`ncatid`)
@@ -107,7 +138,9 @@ CREATE TABLE IF NOT EXISTS `dmoz_newsgroups` (
   `type` varchar(256) NOT NULL default '',
   `newsGroup` varchar(512) NOT NULL default '',
   `catid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `catid` (`catid`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='List of related newsgroups for ODP categories' AUTO_INCREMENT=1 ;
 
@@ -118,11 +151,25 @@ CREATE TABLE IF NOT EXISTS `dmoz_related` (
   `related` varchar(254) NOT NULL default '',
   `catid` int(11) NOT NULL default '0',
   `rcatid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `catid` (`catid`),
   KEY `rcatid` (`rcatid`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='List of related categories for ODP categories.' AUTO_INCREMENT=1 ;
 
+-- Table structure for table `dmoz_stats`
+DROP TABLE IF EXISTS `dmoz_stats`;
+CREATE TABLE IF NOT EXISTS `dmoz_stats` (
+  `catid` int(11) NOT NULL default '0',
+  `pages` int(11) NOT NULL default '0',
+  `allpages` int(11) NOT NULL default '0',
+  `children` int(11) NOT NULL default '0',
+  `allchildren` int(11) NOT NULL default '0',
+  `lastUpdate` varchar(512) NOT NULL default '',
+  PRIMARY KEY  (`catid`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='Direct and subtree counts of external pages and subcategories for ODP categories';
+
 -- Table structure for table `dmoz_symbolics`
 DROP TABLE IF EXISTS `dmoz_symbolics`;
 CREATE TABLE IF NOT EXISTS `dmoz_symbolics` (
@@ -132,8 +179,18 @@ CREATE TABLE IF NOT EXISTS `dmoz_symbolics` (
   `priority` int(11) NOT NULL default '0',
   `catid` int(11) NOT NULL default '0',
   `scatid` int(11) NOT NULL default '0',
+  `entry` char(32) NOT NULL default '',
   PRIMARY KEY  (`id`),
+  UNIQUE KEY `entry` (`catid`,`entry`),
   KEY `priority` (`priority`),
   KEY `catid` (`catid`),
   KEY `scatid` (`scatid`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='List of related symbolics for ODP categories' AUTO_INCREMENT=1 ;
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='List of related symbolics for ODP categories' AUTO_INCREMENT=1 ;
+
+-- Table structure for table `dmoz_urls`
+DROP TABLE IF EXISTS `dmoz_urls`;
+CREATE TABLE IF NOT EXISTS `dmoz_urls` (
+  `urlid` int(11) NOT NULL default '0',
+  `url` varchar(512) NOT NULL default '',
+  PRIMARY KEY  (`urlid`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='Normalized distinct links of external pages';
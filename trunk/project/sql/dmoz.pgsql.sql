@@ -17,9 +17,19 @@ CREATE TABLE dmoz_aliases (
   Alias varchar NOT NULL default '',
   Title varchar NOT NULL default '',
   Target varchar NOT NULL default '',
-  tcatid int NOT NULL default '0'
+  tcatid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 ALTER TABLE dmoz_aliases ADD PRIMARY KEY (id);
+
+-- Index: dmoz_aliases_entry
+
+-- DROP INDEX dmoz_aliases_entry;
+
+CREATE UNIQUE INDEX dmoz_aliases_entry
+  ON dmoz_aliases
+  USING btree
+  (catid, entry);
 -- Index: dmoz_aliases_title
 
 -- DROP INDEX dmoz_aliases_title;
@@ -52,7 +62,8 @@ CREATE TABLE dmoz_altlangs (
   language varchar NOT NULL default '',
   resource varchar NOT NULL default '',
   catid int NOT NULL default '0',
-  rcatid int NOT NULL default '0'
+  rcatid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 
 -- Constraint: dmoz_altlangs_pkey
@@ -62,6 +73,15 @@ CREATE TABLE dmoz_altlangs (
 ALTER TABLE dmoz_altlangs
   ADD CONSTRAINT dmoz_altlangs_pkey PRIMARY KEY(id);
 
+-- Index: dmoz_altlangs_entry
+
+-- DROP INDEX dmoz_altlangs_entry;
+
+CREATE UNIQUE INDEX dmoz_altlangs_entry
+  ON dmoz_altlangs
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_altlangs_language
 
 -- DROP INDEX dmoz_altlangs_language;
@@ -98,8 +118,10 @@ CREATE TABLE dmoz_categories (
   charset varchar NOT NULL default '',
   Title varchar NOT NULL default '',
   Description text NOT NULL,
+  zDescription bytea,
   lastUpdate varchar NOT NULL default '',
-  fatherid int NOT NULL default '0'
+  fatherid int NOT NULL default '0',
+  topid int NOT NULL default '0'
 );
 ALTER TABLE dmoz_categories ADD PRIMARY KEY (id);
 
@@ -116,7 +138,7 @@ CREATE INDEX dmoz_categories_title
 
 -- DROP INDEX dmoz_categories_catid;
 
-CREATE INDEX dmoz_categories_catid
+CREATE UNIQUE INDEX dmoz_categories_catid
   ON dmoz_categories
   USING btree
   (catid);
@@ -134,10 +156,20 @@ CREATE INDEX dmoz_categories_fatherid
 CREATE TABLE dmoz_editors (
   id SERIAL,
   editor varchar NOT NULL default '',
-  catid int NOT NULL default '0'
+  catid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 ALTER TABLE dmoz_editors ADD PRIMARY KEY (id);
 
+-- Index: dmoz_editors_entry
+
+-- DROP INDEX dmoz_editors_entry;
+
+CREATE UNIQUE INDEX dmoz_editors_entry
+  ON dmoz_editors
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_editors_catid
 
 -- DROP INDEX dmoz_editors_catid;
@@ -149,17 +181,31 @@ CREATE INDEX dmoz_editors_catid
 
 CREATE TABLE dmoz_externalpages (
   id SERIAL,
+  pageid int NOT NULL default '0',
   ages varchar NOT NULL default '',
   type varchar NOT NULL default '',
   link varchar NOT NULL default '',
+  urlid int NOT NULL default '0',
   Title varchar NOT NULL default '',
   Description text NOT NULL,
+  zDescription bytea,
   catid int NOT NULL default '0',
   priority int NOT NULL default '0',
-  mediadate varchar NOT NULL default ''
+  mediadate varchar NOT NULL default '',
+  topid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 ALTER TABLE dmoz_externalpages ADD PRIMARY KEY (id);
 
+-- Index: dmoz_externalpages_entry
+
+-- DROP INDEX dmoz_externalpages_entry;
+
+CREATE UNIQUE INDEX dmoz_externalpages_entry
+  ON dmoz_externalpages
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_externalpages_title
 
 -- DROP INDEX dmoz_externalpages_title;
@@ -178,14 +224,59 @@ CREATE INDEX dmoz_externalpages_catid
   USING btree
   (catid);
 
+-- Index: dmoz_externalpages_urlid
+
+-- DROP INDEX dmoz_externalpages_urlid;
+
+CREATE INDEX dmoz_externalpages_urlid
+  ON dmoz_externalpages
+  USING btree
+  (urlid);
+
+-- Index: dmoz_externalpages_pageid
+
+-- DROP INDEX dmoz_externalpages_pageid;
+
+CREATE INDEX dmoz_externalpages_pageid
+  ON dmoz_externalpages
+  USING btree
+  (pageid);
+
+CREATE TABLE dmoz_hierarchy (
+  catid int NOT NULL default '0',
+  lft int NOT NULL default '0',
+  rgt int NOT NULL default '0',
+  depth int NOT NULL default '0'
+);
+ALTER TABLE dmoz_hierarchy ADD PRIMARY KEY (catid);
+
+-- Index: dmoz_hierarchy_lft
+
+-- DROP INDEX dmoz_hierarchy_lft;
+
+CREATE UNIQUE INDEX dmoz_hierarchy_lft
+  ON dmoz_hierarchy
+  USING btree
+  (lft);
+
 CREATE TABLE dmoz_letterbars (
   id SERIAL,
   letterbar varchar NOT NULL default '',
   catid int NOT NULL default '0',
-  lcatid int NOT NULL default '0'
+  lcatid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 ALTER TABLE dmoz_letterbars ADD PRIMARY KEY (id);
 
+-- Index: dmoz_letterbars_entry
+
+-- DROP INDEX dmoz_letterbars_entry;
+
+CREATE UNIQUE INDEX dmoz_letterbars_entry
+  ON dmoz_letterbars
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_letterbars_catid
 
 -- DROP INDEX dmoz_letterbars_catid;
@@ -209,10 +300,20 @@ CREATE TABLE dmoz_narrows (
   narrow varchar NOT NULL default '',
   priority int NOT NULL default '0',
   catid int NOT NULL default '0',
-  ncatid int NOT NULL default '0'
+  ncatid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 ALTER TABLE dmoz_narrows ADD PRIMARY KEY (id);
 
+-- Index: dmoz_narrows_entry
+
+-- DROP INDEX dmoz_narrows_entry;
+
+CREATE UNIQUE INDEX dmoz_narrows_entry
+  ON dmoz_narrows
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_narrows_priority
 
 -- DROP INDEX dmoz_narrows_priority;
@@ -244,11 +345,21 @@ CREATE TABLE dmoz_newsgroups (
   id SERIAL,
   type varchar NOT NULL default '',
   newsGroup varchar NOT NULL default '',
-  catid int NOT NULL default '0'
+  catid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 
 ALTER TABLE dmoz_newsgroups ADD PRIMARY KEY (id);
 
+-- Index: dmoz_newsgroups_entry
+
+-- DROP INDEX dmoz_newsgroups_entry;
+
+CREATE UNIQUE INDEX dmoz_newsgroups_entry
+  ON dmoz_newsgroups
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_newsgroups_catid
 
 -- DROP INDEX dmoz_newsgroups_catid;
@@ -262,10 +373,20 @@ CREATE TABLE dmoz_related (
   id SERIAL,
   related varchar NOT NULL default '',
   catid int NOT NULL default '0',
-  rcatid int NOT NULL default '0'
+  rcatid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 ALTER TABLE dmoz_related ADD PRIMARY KEY (id);
 
+-- Index: dmoz_related_entry
+
+-- DROP INDEX dmoz_related_entry;
+
+CREATE UNIQUE INDEX dmoz_related_entry
+  ON dmoz_related
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_related_catid
 
 -- DROP INDEX dmoz_related_catid;
@@ -284,16 +405,36 @@ CREATE INDEX dmoz_related_rcatid
   USING btree
   (rcatid);
 
+CREATE TABLE dmoz_stats (
+  catid int NOT NULL default '0',
+  pages int NOT NULL default '0',
+  allpages int NOT NULL default '0',
+  children int NOT NULL default '0',
+  allchildren int NOT NULL default '0',
+  lastUpdate varchar NOT NULL default ''
+);
+ALTER TABLE dmoz_stats ADD PRIMARY KEY (catid);
+
 CREATE TABLE dmoz_symbolics (
   id SERIAL,
   resource varchar NOT NULL default '',
   symbolic varchar NOT NULL default '',
   priority int NOT NULL default '0',
   catid int NOT NULL default '0',
-  scatid int NOT NULL default '0'
+  scatid int NOT NULL default '0',
+  entry char(32) NOT NULL default ''
 );
 ALTER TABLE dmoz_symbolics ADD PRIMARY KEY (id);
 
+-- Index: dmoz_symbolics_entry
+
+-- DROP INDEX dmoz_symbolics_entry;
+
+CREATE UNIQUE INDEX dmoz_symbolics_entry
+  ON dmoz_symbolics
+  USING btree
+  (catid, entry);
+
 -- Index: dmoz_symbolics_priority
 
 -- DROP INDEX dmoz_symbolics_priority;
@@ -321,3 +462,8 @@ CREATE INDEX dmoz_symbolics_scatid
   USING btree
   (scatid);  
 
+CREATE TABLE dmoz_urls (
+  urlid int NOT NULL default '0',
+  url varchar NOT NULL default ''
+);
+ALTER TABLE dmoz_urls ADD PRIMARY KEY (urlid);
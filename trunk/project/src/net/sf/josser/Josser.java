@@ -42,7 +42,11 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
 
+import net.sf.josser.columnar.ColumnExport;
+import net.sf.josser.jdbc.IDialect;
+import net.sf.josser.jdbc.dialect.Dialects;
 import net.sf.josser.rdf.impl.Dump;
+import net.sf.josser.search.Indexer;
 
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
@@ -82,6 +86,12 @@ public class Josser {
                                 " as user " +
                                 Josser.getUsername());
 			final Dump dmoz = new Dump(Josser.getPath());
+			if (Josser.getColumns() != null) {
+				dmoz.addListener(new ColumnExport(Josser.getColumns()));
+			}
+			if (Josser.getIndex() != null) {
+				dmoz.addListener(new Indexer(Josser.getIndex()));
+			}
                         System.out.println(
                                 "Going to parse RDF DMOZ dumps located under path\n" +
                                 "  " +
@@ -108,6 +118,19 @@ public class Josser {
 	private static int wchunk = 0;
 	private static int rchunk = 0;
 	private static String top = null;
+	private static String columns = null;
+	private static String index = null;
+	private static boolean hierarchy = false;
+	private static boolean stats = false;
+	private static boolean urls = false;
+	private static boolean compress = false;
+	private static int partitions = 0;
+	private static String references = null;
+	private static boolean dictionary = false;
+	private static IDialect dialect = null;
+	private static boolean upsert = false;
+	private static boolean disablekeys = false;
+	private static long memory = 0;
 	private static Properties properties = null;
 
 	private static void initProperties() {
@@ -126,6 +149,17 @@ public class Josser {
 		Josser.setPath(property);
 		property = Josser.properties.getProperty("engine");
 		Josser.setEngine(property);
+		property = Josser.properties.getProperty("dialect");
+		if ((property != null) && (property.trim().length() > 0)) {
+			property = property.trim();
+		} else {
+			property = null;
+		}
+		Josser.setDialect(Dialects.getDialect(Josser.getEngine(), property));
+		property = Josser.properties.getProperty("upsert");
+		Josser.setUpsert(Boolean.valueOf(property).booleanValue());
+		property = Josser.properties.getProperty("disablekeys");
+		Josser.setDisablekeys(Boolean.valueOf(property).booleanValue());
 		property = Josser.properties.getProperty("rchunk");
 		Josser.setRChunk(Integer.parseInt(property));
 		property = Josser.properties.getProperty("wchunk");
@@ -143,24 +177,56 @@ public class Josser {
 		Josser.setPort(Integer.parseInt(property));
 		property = Josser.properties.getProperty("top");
 		Josser.setTopicfilter(property);
+		property = Josser.properties.getProperty("hierarchy");
+		Josser.setHierarchy(Boolean.valueOf(property).booleanValue());
+		property = Josser.properties.getProperty("stats");
+		Josser.setStats(Boolean.valueOf(property).booleanValue());
+		property = Josser.properties.getProperty("urls");
+		Josser.setUrls(Boolean.valueOf(property).booleanValue());
+		property = Josser.properties.getProperty("compress");
+		Josser.setCompress(Boolean.valueOf(property).booleanValue());
+		property = Josser.properties.getProperty("partitions");
+		if ((property != null) && (property.trim().length() > 0)) {
+			Josser.setPartitions(Integer.parseInt(property.trim()));
+		}
+		property = Josser.properties.getProperty("references");
+		if ((property != null) && (property.trim().length() > 0)) {
+			Josser.setReferences(property.trim());
+		}
+		property = Josser.properties.getProperty("dictionary");
+		Josser.setDictionary(Boolean.valueOf(property).booleanValue());
+		property = Josser.properties.getProperty("memory");
+		if ((property != null) && (property.trim().length() > 0)) {
+			Josser.setMemory(Long.parseLong(property.trim()) * 1024 * 1024);
+		}
+		property = Josser.properties.getProperty("columns");
+		if ((property != null) && (property.trim().length() > 0)) {
+			Josser.setColumns(property.trim());
+		}
+		property = Josser.properties.getProperty("index");
+		if ((property != null) && (property.trim().length() > 0)) {
+			Josser.setIndex(property.trim());
+		}
 	}
 
         private static String getJDBC_URL() {
-		String jdbc_url = null;
-		if (Josser.getEngine().compareToIgnoreCase("mysql") == 0) {
-			jdbc_url = "jdbc:mysql://" + Josser.getHost() + "/" + Josser.getDB()
-					+ "?user=" + Josser.getUsername() + "&password="
-					+ Josser.getPassword()
-					+ "&useUnicode=true&characterEncoding=UTF-8";
-		} else if (Josser.getEngine().compareToIgnoreCase("postgresql") == 0) {
-			jdbc_url = "jdbc:postgresql://" + Josser.getHost() + "/" + Josser.getDB()
-					+ "?user=" + Josser.getUsername() + "&password="
-					+ Josser.getPassword();
+		if (Josser.getDialect() == null) {
+			return null;
 		}
-                return jdbc_url;
+		return Josser.getDialect().getURL(Josser.getHost(), Josser.getPort(),
+				Josser.getDB(), Josser.getUsername(), Josser.getPassword());
         }
 
 	private static Connection connect() {
+		Josser.setConnection(Josser.createConnection());
+		return Josser.connection;
+	}
+
+	/**
+	 * @return Returns a new connection to JDBC database specified in
+	 *         properties file, with auto commit disabled, or null on failure.
+	 */
+	public static Connection createConnection() {
 		String jdbcclass = null;
 		jdbcclass = Josser.getDriver();
                 String jdbc_url = Josser.getJDBC_URL();
@@ -172,9 +238,10 @@ public class Josser {
 		}
 
 		try {
-			Josser.setConnection(DriverManager.getConnection(jdbc_url));
-			Josser.getConnection().setAutoCommit(false);
-			return Josser.getConnection();
+			final Connection connection = DriverManager
+					.getConnection(jdbc_url);
+			connection.setAutoCommit(false);
+			return connection;
 		} catch (final SQLException e) {
 			e.printStackTrace(System.err);
 			return null;
@@ -273,6 +340,154 @@ public class Josser {
 		return Josser.driver;
 	}
 
+	/**
+	 * @return Returns true when the nested set hierarchy of imported
+	 *         categories has to be stored in table dmoz_hierarchy.
+	 */
+	public static boolean isHierarchy() {
+		return Josser.hierarchy;
+	}
+
+	public static void setHierarchy(final boolean hierarchy) {
+		Josser.hierarchy = hierarchy;
+	}
+
+	/**
+	 * @return Returns true when subtree page and subcategory counts of
+	 *         imported categories have to be stored in table dmoz_stats.
+	 */
+	public static boolean isStats() {
+		return Josser.stats;
+	}
+
+	public static void setStats(final boolean stats) {
+		Josser.stats = stats;
+	}
+
+	/**
+	 * @return Returns true when links of external pages have to be
+	 *         normalized, deduplicated and stored once in table dmoz_urls.
+	 */
+	public static boolean isUrls() {
+		return Josser.urls;
+	}
+
+	public static void setUrls(final boolean urls) {
+		Josser.urls = urls;
+	}
+
+	/**
+	 * @return Returns true when descriptions have to be stored encoded by
+	 *         TextCodec in column zDescription.
+	 */
+	public static boolean isCompress() {
+		return Josser.compress;
+	}
+
+	public static void setCompress(final boolean compress) {
+		Josser.compress = compress;
+	}
+
+	/**
+	 * @return Returns the number of threads loading tables partitioned by
+	 *         top-level topic, or 0 when tables are not partitioned.
+	 */
+	public static int getPartitions() {
+		return Josser.partitions;
+	}
+
+	public static void setPartitions(final int partitions) {
+		Josser.partitions = partitions;
+	}
+
+	/**
+	 * @return Returns report when unresolved references to categories have
+	 *         to be reported at the end of the import, repair when rows
+	 *         holding them must not be stored either, or null.
+	 */
+	public static String getReferences() {
+		return Josser.references;
+	}
+
+	public static void setReferences(final String references) {
+		Josser.references = references;
+	}
+
+	/**
+	 * @return Returns true when topics are looked up in a front coded
+	 *         TopicDictionary rather than in a hashtable of their digests.
+	 */
+	public static boolean isDictionary() {
+		return Josser.dictionary;
+	}
+
+	public static void setDictionary(final boolean dictionary) {
+		Josser.dictionary = dictionary;
+	}
+
+	/**
+	 * @return Returns the SQL dialect of the database engine.
+	 */
+	public static IDialect getDialect() {
+		return Josser.dialect;
+	}
+
+	public static void setDialect(final IDialect dialect) {
+		Josser.dialect = dialect;
+	}
+
+	/**
+	 * @return Returns true when rows with keys update existing rows with the
+	 *         same keys, so that a dump can be imported again.
+	 */
+	public static boolean isUpsert() {
+		return Josser.upsert;
+	}
+
+	public static void setUpsert(final boolean upsert) {
+		Josser.upsert = upsert;
+	}
+
+	/**
+	 * @return Returns true when non unique indexes of tables have to be
+	 *         dropped while tables are loaded, and created again at the end.
+	 */
+	public static boolean isDisablekeys() {
+		return Josser.disablekeys;
+	}
+
+	public static void setDisablekeys(final boolean disablekeys) {
+		Josser.disablekeys = disablekeys;
+	}
+
+	/**
+	 * @return Returns the bytes that JDBC batches of a chunk may hold before
+	 *         further rows are spilled to disk, or 0 for no limit.
+	 */
+	public static long getMemory() {
+		return Josser.memory;
+	}
+
+	public static void setMemory(final long memory) {
+		Josser.memory = memory;
+	}
+
+	private static void setColumns(final String columns) {
+		Josser.columns = columns;
+	}
+
+	private static String getColumns() {
+		return Josser.columns;
+	}
+
+	private static void setIndex(final String index) {
+		Josser.index = index;
+	}
+
+	private static String getIndex() {
+		return Josser.index;
+	}
+
 	private static boolean checkConnection() {
 		boolean result = true;
 		Josser.connection = Josser.getConnection();
@@ -285,7 +500,7 @@ public class Josser {
 		return result;
 	}
 
-	private static void setTopicfilter(final String topicfilter) {
+	public static void setTopicfilter(final String topicfilter) {
 		Josser.top = topicfilter;
 	}
 }
@@ -0,0 +1,98 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * ColumnExport.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.columnar;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.josser.jdbc.Row;
+import net.sf.josser.rdf.IRecordListener;
+import net.sf.josser.util.TextCodec;
+
+/**
+ * Exports every parsed table to a column file named after the table, i.e.
+ * dmoz_externalpages.jcf, inside a given directory.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class ColumnExport implements IRecordListener {
+	private final File directory;
+
+	private final Map<String, ColumnFile> files = new HashMap<String, ColumnFile>();
+
+	public ColumnExport(final String directory) {
+		this.directory = new File(directory);
+		this.directory.mkdirs();
+	}
+
+	public void record(final Row row) {
+		final Object[] record = row.getRecord();
+		// Column files compress by themselves, binary values are decoded
+		for (int i = 0; i < record.length; i++) {
+			if (record[i] instanceof byte[]) {
+				record[i] = TextCodec.decode((byte[]) record[i]);
+			}
+		}
+		try {
+			ColumnFile file = this.files.get(row.getTablename());
+			if (file == null) {
+				file = new ColumnFile(new File(this.directory, row
+						.getTablename()
+						+ ".jcf"), row.getColumns(), record);
+				this.files.put(row.getTablename(), file);
+			}
+			file.append(record);
+		} catch (final IOException e) {
+			e.printStackTrace(System.err);
+		}
+	}
+
+	public void flush() {
+	}
+
+	public void close() {
+		for (final ColumnFile file : this.files.values()) {
+			try {
+				file.close();
+			} catch (final IOException e) {
+				e.printStackTrace(System.err);
+			}
+		}
+		this.files.clear();
+	}
+}
@@ -0,0 +1,333 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * ColumnFile.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.columnar;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes the rows of one table as a column oriented binary file.
+ * <p>
+ * Rows are grouped in stripes of {@link #STRIPE} rows. Every column of a
+ * stripe is stored as a separate deflated block: integers as zigzag encoded
+ * deltas, strings either plain or through a per-stripe dictionary when that
+ * is smaller. A footer at the end of the file holds column names and types,
+ * block offsets and min/max statistics of every block, so that a reader only
+ * touches the columns and stripes it needs.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class ColumnFile {
+	public static final int MAGIC = 0x4A434631;
+
+	public static final int STRIPE = 65536;
+
+	static final byte INT = 0;
+
+	static final byte STRING = 1;
+
+	static final byte PLAIN = 0;
+
+	static final byte DICTIONARY = 1;
+
+	/**
+	 * Footer entry describing one stripe.
+	 */
+	static class Stripe {
+		int rows;
+
+		long[] offsets;
+
+		int[] lengths;
+
+		byte[] encodings;
+
+		Object[] min;
+
+		Object[] max;
+
+		Stripe(final int rows, final int columns) {
+			this.rows = rows;
+			this.offsets = new long[columns];
+			this.lengths = new int[columns];
+			this.encodings = new byte[columns];
+			this.min = new Object[columns];
+			this.max = new Object[columns];
+		}
+	}
+
+	private final String[] columns;
+
+	private final byte[] types;
+
+	private final Object[] buffers;
+
+	private final List<Stripe> stripes = new ArrayList<Stripe>();
+
+	private final DataOutputStream out;
+
+	private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+
+	private long position = 0;
+
+	private int rows = 0;
+
+	/**
+	 * @param file
+	 *            The file to write.
+	 * @param columns
+	 *            The column names.
+	 * @param record
+	 *            A sample record, used to choose the type of every column.
+	 */
+	public ColumnFile(final File file, final String[] columns,
+			final Object[] record) throws IOException {
+		this.columns = columns;
+		this.types = new byte[columns.length];
+		this.buffers = new Object[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			if (record[i] instanceof Integer) {
+				this.types[i] = ColumnFile.INT;
+				this.buffers[i] = new int[ColumnFile.STRIPE];
+			} else {
+				this.types[i] = ColumnFile.STRING;
+				this.buffers[i] = new String[ColumnFile.STRIPE];
+			}
+		}
+		this.out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file), 65536));
+		this.out.writeInt(ColumnFile.MAGIC);
+		this.position = 4;
+	}
+
+	public void append(final Object[] record) throws IOException {
+		for (int i = 0; i < record.length; i++) {
+			if (this.types[i] == ColumnFile.INT) {
+				((int[]) this.buffers[i])[this.rows] = ((Integer) record[i])
+						.intValue();
+			} else {
+				((String[]) this.buffers[i])[this.rows] = (String) record[i];
+			}
+		}
+		this.rows++;
+		if (this.rows == ColumnFile.STRIPE) {
+			this.writeStripe();
+		}
+	}
+
+	public void close() throws IOException {
+		this.writeStripe();
+		final long footer = this.position;
+		this.out.writeInt(this.columns.length);
+		for (int i = 0; i < this.columns.length; i++) {
+			ColumnFile.writeString(this.out, this.columns[i]);
+			this.out.writeByte(this.types[i]);
+		}
+		this.out.writeInt(this.stripes.size());
+		for (final Stripe stripe : this.stripes) {
+			this.out.writeInt(stripe.rows);
+			for (int i = 0; i < this.columns.length; i++) {
+				this.out.writeLong(stripe.offsets[i]);
+				this.out.writeInt(stripe.lengths[i]);
+				this.out.writeByte(stripe.encodings[i]);
+				if (stripe.min[i] == null) {
+					this.out.writeBoolean(false);
+				} else if (this.types[i] == ColumnFile.INT) {
+					this.out.writeBoolean(true);
+					this.out.writeInt(((Integer) stripe.min[i]).intValue());
+					this.out.writeInt(((Integer) stripe.max[i]).intValue());
+				} else {
+					this.out.writeBoolean(true);
+					ColumnFile.writeString(this.out, (String) stripe.min[i]);
+					ColumnFile.writeString(this.out, (String) stripe.max[i]);
+				}
+			}
+		}
+		this.out.writeLong(footer);
+		this.out.writeInt(ColumnFile.MAGIC);
+		this.out.close();
+	}
+
+	private void writeStripe() throws IOException {
+		if (this.rows == 0) {
+			return;
+		}
+		final Stripe stripe = new Stripe(this.rows, this.columns.length);
+		for (int i = 0; i < this.columns.length; i++) {
+			this.block.reset();
+			final OutputStream encoder = new BufferedOutputStream(
+					new DeflaterOutputStream(this.block), 8192);
+			if (this.types[i] == ColumnFile.INT) {
+				this.encodeInts(stripe, i, encoder);
+			} else {
+				this.encodeStrings(stripe, i, encoder);
+			}
+			encoder.close();
+			stripe.offsets[i] = this.position;
+			stripe.lengths[i] = this.block.size();
+			this.block.writeTo(this.out);
+			this.position += this.block.size();
+		}
+		this.stripes.add(stripe);
+		this.rows = 0;
+	}
+
+	private void encodeInts(final Stripe stripe, final int column,
+			final OutputStream out) throws IOException {
+		final int[] values = (int[]) this.buffers[column];
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		int previous = 0;
+		for (int row = 0; row < this.rows; row++) {
+			final int value = values[row];
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+			final int delta = value - previous;
+			ColumnFile.writeVarint(out, (delta << 1) ^ (delta >> 31));
+			previous = value;
+		}
+		stripe.encodings[column] = ColumnFile.PLAIN;
+		stripe.min[column] = Integer.valueOf(min);
+		stripe.max[column] = Integer.valueOf(max);
+	}
+
+	private void encodeStrings(final Stripe stripe, final int column,
+			final OutputStream out) throws IOException {
+		final String[] values = (String[]) this.buffers[column];
+		final Map<String, Integer> dictionary = new HashMap<String, Integer>();
+		final List<String> entries = new ArrayList<String>();
+		String min = null;
+		String max = null;
+		for (int row = 0; row < this.rows; row++) {
+			final String value = values[row];
+			if (value == null) {
+				continue;
+			}
+			if ((min == null) || (value.compareTo(min) < 0)) {
+				min = value;
+			}
+			if ((max == null) || (value.compareTo(max) > 0)) {
+				max = value;
+			}
+			if ((entries.size() <= (this.rows / 2))
+					&& !dictionary.containsKey(value)) {
+				dictionary.put(value, Integer.valueOf(entries.size() + 1));
+				entries.add(value);
+			}
+		}
+		stripe.min[column] = min;
+		stripe.max[column] = max;
+		if (entries.size() <= (this.rows / 2)) {
+			stripe.encodings[column] = ColumnFile.DICTIONARY;
+			ColumnFile.writeVarint(out, entries.size());
+			for (final String entry : entries) {
+				ColumnFile.writeString(out, entry);
+			}
+			for (int row = 0; row < this.rows; row++) {
+				if (values[row] == null) {
+					ColumnFile.writeVarint(out, 0);
+				} else {
+					ColumnFile.writeVarint(out, dictionary.get(values[row])
+							.intValue());
+				}
+			}
+		} else {
+			stripe.encodings[column] = ColumnFile.PLAIN;
+			for (int row = 0; row < this.rows; row++) {
+				ColumnFile.writeString(out, values[row]);
+			}
+		}
+		Arrays.fill(values, 0, this.rows, null);
+	}
+
+	static void writeVarint(final OutputStream out, int value)
+			throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	static int readVarint(final DataInput in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	/**
+	 * Writes a nullable string as its UTF-8 length plus one followed by its
+	 * UTF-8 bytes; null is written as a zero length.
+	 */
+	static void writeString(final OutputStream out, final String value)
+			throws IOException {
+		if (value == null) {
+			ColumnFile.writeVarint(out, 0);
+		} else {
+			final byte[] bytes = value.getBytes("UTF-8");
+			ColumnFile.writeVarint(out, bytes.length + 1);
+			out.write(bytes);
+		}
+	}
+
+	static String readString(final DataInput in) throws IOException {
+		final int length = ColumnFile.readVarint(in);
+		if (length == 0) {
+			return null;
+		}
+		final byte[] bytes = new byte[length - 1];
+		in.readFully(bytes);
+		return new String(bytes, "UTF-8");
+	}
+}
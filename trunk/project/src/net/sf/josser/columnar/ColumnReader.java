@@ -0,0 +1,213 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * ColumnReader.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.columnar;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads files written by {@link ColumnFile}. Only the blocks of the requested
+ * columns and stripes are read from disk.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class ColumnReader {
+	private final RandomAccessFile file;
+
+	private final String[] columns;
+
+	private final byte[] types;
+
+	private final ColumnFile.Stripe[] stripes;
+
+	private int rows = 0;
+
+	public ColumnReader(final File file) throws IOException {
+		this.file = new RandomAccessFile(file, "r");
+		this.file.seek(this.file.length() - 12);
+		final long footer = this.file.readLong();
+		if (this.file.readInt() != ColumnFile.MAGIC) {
+			throw new IOException("Not a column file: " + file);
+		}
+		final byte[] bytes = new byte[(int) (this.file.length() - 12 - footer)];
+		this.file.seek(footer);
+		this.file.readFully(bytes);
+		final DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(bytes));
+		this.columns = new String[in.readInt()];
+		this.types = new byte[this.columns.length];
+		for (int i = 0; i < this.columns.length; i++) {
+			this.columns[i] = ColumnFile.readString(in);
+			this.types[i] = in.readByte();
+		}
+		this.stripes = new ColumnFile.Stripe[in.readInt()];
+		for (int s = 0; s < this.stripes.length; s++) {
+			final ColumnFile.Stripe stripe = new ColumnFile.Stripe(in
+					.readInt(), this.columns.length);
+			for (int i = 0; i < this.columns.length; i++) {
+				stripe.offsets[i] = in.readLong();
+				stripe.lengths[i] = in.readInt();
+				stripe.encodings[i] = in.readByte();
+				if (!in.readBoolean()) {
+					continue;
+				}
+				if (this.types[i] == ColumnFile.INT) {
+					stripe.min[i] = Integer.valueOf(in.readInt());
+					stripe.max[i] = Integer.valueOf(in.readInt());
+				} else {
+					stripe.min[i] = ColumnFile.readString(in);
+					stripe.max[i] = ColumnFile.readString(in);
+				}
+			}
+			this.stripes[s] = stripe;
+			this.rows += stripe.rows;
+		}
+	}
+
+	public void close() throws IOException {
+		this.file.close();
+	}
+
+	/**
+	 * @return Returns the column names.
+	 */
+	public String[] getColumns() {
+		return this.columns.clone();
+	}
+
+	/**
+	 * @return Returns the number of rows.
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * @return Returns the number of stripes.
+	 */
+	public int getStripes() {
+		return this.stripes.length;
+	}
+
+	/**
+	 * @return Returns the number of rows of a stripe.
+	 */
+	public int getRows(final int stripe) {
+		return this.stripes[stripe].rows;
+	}
+
+	/**
+	 * @return Returns the smallest non null value of a column in a stripe, an
+	 *         Integer or a String, or null when the stripe has none.
+	 */
+	public Object getMin(final String column, final int stripe) {
+		return this.stripes[stripe].min[this.indexOf(column)];
+	}
+
+	/**
+	 * @return Returns the largest non null value of a column in a stripe, an
+	 *         Integer or a String, or null when the stripe has none.
+	 */
+	public Object getMax(final String column, final int stripe) {
+		return this.stripes[stripe].max[this.indexOf(column)];
+	}
+
+	public int[] readInts(final String column, final int stripe)
+			throws IOException {
+		final int index = this.indexOf(column);
+		if (this.types[index] != ColumnFile.INT) {
+			throw new IllegalArgumentException(column + " is not an integer column");
+		}
+		final DataInputStream in = this.open(index, stripe);
+		final int[] values = new int[this.stripes[stripe].rows];
+		int previous = 0;
+		for (int row = 0; row < values.length; row++) {
+			final int zigzag = ColumnFile.readVarint(in);
+			previous += (zigzag >>> 1) ^ -(zigzag & 1);
+			values[row] = previous;
+		}
+		in.close();
+		return values;
+	}
+
+	public String[] readStrings(final String column, final int stripe)
+			throws IOException {
+		final int index = this.indexOf(column);
+		if (this.types[index] != ColumnFile.STRING) {
+			throw new IllegalArgumentException(column + " is not a string column");
+		}
+		final DataInputStream in = this.open(index, stripe);
+		final String[] values = new String[this.stripes[stripe].rows];
+		if (this.stripes[stripe].encodings[index] == ColumnFile.DICTIONARY) {
+			final String[] dictionary = new String[ColumnFile.readVarint(in) + 1];
+			for (int i = 1; i < dictionary.length; i++) {
+				dictionary[i] = ColumnFile.readString(in);
+			}
+			for (int row = 0; row < values.length; row++) {
+				values[row] = dictionary[ColumnFile.readVarint(in)];
+			}
+		} else {
+			for (int row = 0; row < values.length; row++) {
+				values[row] = ColumnFile.readString(in);
+			}
+		}
+		in.close();
+		return values;
+	}
+
+	private DataInputStream open(final int column, final int stripe)
+			throws IOException {
+		final byte[] block = new byte[this.stripes[stripe].lengths[column]];
+		this.file.seek(this.stripes[stripe].offsets[column]);
+		this.file.readFully(block);
+		return new DataInputStream(new BufferedInputStream(
+				new InflaterInputStream(new ByteArrayInputStream(block)), 8192));
+	}
+
+	private int indexOf(final String column) {
+		for (int i = 0; i < this.columns.length; i++) {
+			if (this.columns[i].equalsIgnoreCase(column)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unknown column " + column);
+	}
+}
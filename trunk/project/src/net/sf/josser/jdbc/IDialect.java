@@ -0,0 +1,84 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * IDialect.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc;
+
+/**
+ * SQL dialect of a database engine, building the engine specific statements
+ * used to load tables. Implementations are chosen by engine, or named by
+ * class in property dialect of josser.properties, and need a public no
+ * argument constructor.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public interface IDialect {
+	/**
+	 * @return Returns the JDBC URL of database db.
+	 */
+	public abstract String getURL(String host, int port, String db,
+			String username, String password);
+
+	/**
+	 * @return Returns identifier quoted, matching the case of the identifiers
+	 *         of the scripts under sql.
+	 */
+	public abstract String quote(String identifier);
+
+	/**
+	 * @return Returns an INSERT statement of a row, with a parameter for
+	 *         every value.
+	 */
+	public abstract String getInsert(String table, String[] columns);
+
+	/**
+	 * @return Returns an INSERT statement of a row which updates the
+	 *         existing row with the same keys instead of failing, with a
+	 *         parameter for every value.
+	 */
+	public abstract String getUpsert(String table, String[] columns,
+			String[] keys);
+
+	/**
+	 * @return Returns the statements dropping indexes of table.
+	 */
+	public abstract String[] getDropIndexes(String table, String[] indexes);
+
+	/**
+	 * @return Returns the statements creating indexes of table, columns[i]
+	 *         being the columns of indexes[i].
+	 */
+	public abstract String[] getCreateIndexes(String table, String[] indexes,
+			String[][] columns);
+}
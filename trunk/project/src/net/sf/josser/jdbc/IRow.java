@@ -43,6 +43,8 @@ public interface IRow {
 
 	public abstract void setValues();
 
+	public abstract Object[] getRecord();
+
 	public abstract String getValues();
 
 	public abstract int store();
@@ -0,0 +1,270 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * PartitionLoader.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import net.sf.josser.Josser;
+import net.sf.josser.util.Static;
+
+/**
+ * Loads rows of partitioned tables in parallel.
+ * <p>
+ * Every loader thread has its own connection and statements and serves the
+ * partitions whose id modulo the number of threads is its own index, so a
+ * partition is always loaded by the same thread. Rows are copied into a
+ * bounded queue per thread, blocking the parser when loaders fall behind.
+ * <p>
+ * Loaders commit every BATCH rows, so a failed load is not undone: the
+ * failing loader rolls back its last batch, the others stop at their next
+ * row, no further rows are queued, and close() reports the failure with
+ * the rows committed to every partition. The import may then be completed
+ * by running it again with upsert.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class PartitionLoader {
+	private static final int BATCH = 1000;
+
+	private static final int CAPACITY = 10000;
+
+	// Marks the end of the rows queued for a loader
+	private static final Row END = new Row() {
+		@Override
+		public Object[] getRecord() {
+			return null;
+		}
+
+		@Override
+		public String getValues() {
+			return null;
+		}
+
+		@Override
+		protected void setStmt(final PreparedStatement stmt) {
+		}
+
+		@Override
+		protected PreparedStatement getStmt() {
+			return null;
+		}
+	};
+
+	private final List<BlockingQueue<Row>> queues;
+
+	private final Thread[] threads;
+
+	private final int[] rows;
+
+	// failure is the first exception thrown by a loader, if any
+	private volatile Exception failure = null;
+
+	// Rows committed by partition id, guarded by this
+	private final Map<Integer, Integer> committed = new TreeMap<Integer, Integer>();
+
+	public PartitionLoader(final int threads) {
+		this.queues = new ArrayList<BlockingQueue<Row>>(threads);
+		this.threads = new Thread[threads];
+		this.rows = new int[threads];
+		for (int i = 0; i < threads; i++) {
+			this.queues.add(new ArrayBlockingQueue<Row>(
+					PartitionLoader.CAPACITY));
+			final int index = i;
+			this.threads[i] = new Thread(new Runnable() {
+				public void run() {
+					PartitionLoader.this.load(index);
+				}
+			}, "josser-partition-" + i);
+			this.threads[i].setDaemon(true);
+			this.threads[i].start();
+		}
+	}
+
+	/**
+	 * Queues a copy of row for the loader of its partition. Rows are dropped
+	 * once a loader has failed, close() reporting the failure.
+	 */
+	public void add(final Row row) {
+		if (!Static.isFiltermatching() || this.failure != null) {
+			return;
+		}
+		try {
+			this.queues.get(row.getPartition() % this.queues.size()).put(
+					row.copy());
+		} catch (final InterruptedException e) {
+			e.printStackTrace(System.err);
+		}
+	}
+
+	/**
+	 * Waits until all queued rows have been stored and committed.
+	 *
+	 * @throws IllegalStateException
+	 *             when a loader failed to store its rows.
+	 */
+	public void close() {
+		int total = 0;
+		for (int i = 0; i < this.threads.length; i++) {
+			try {
+				this.queues.get(i).put(PartitionLoader.END);
+				this.threads[i].join();
+			} catch (final InterruptedException e) {
+				e.printStackTrace(System.err);
+			}
+			total += this.rows[i];
+		}
+		if (this.failure != null) {
+			String message = "Rows of partitioned tables could not be stored: "
+					+ this.failure.getMessage() + "\n  Rows committed by partition:";
+			synchronized (this) {
+				for (final Map.Entry<Integer, Integer> entry : this.committed
+						.entrySet()) {
+					message = message
+							+ " "
+							+ Static.getPartitions().getPartition(
+									entry.getKey().intValue()) + "="
+							+ entry.getValue();
+				}
+			}
+			throw new IllegalStateException(message, this.failure);
+		}
+		System.out.println("  Loaded " + total + " rows of partitioned tables"
+				+ " with " + this.threads.length + " threads.");
+	}
+
+	private void load(final int index) {
+		final Map<String, PreparedStatement> stmts = new HashMap<String, PreparedStatement>();
+		Connection connection = null;
+		int pending = 0;
+		// Rows batched since the last commit, by partition id
+		final Map<Integer, Integer> batched = new HashMap<Integer, Integer>();
+		final BlockingQueue<Row> queue = this.queues.get(index);
+		try {
+			connection = Josser.createConnection();
+			while (true) {
+				final Row row = queue.take();
+				if (row == PartitionLoader.END) {
+					break;
+				}
+				if (this.failure != null) {
+					throw new IllegalStateException(
+							"Stopped by the failure of another loader");
+				}
+				final String insert = row.getInsert();
+				PreparedStatement stmt = stmts.get(insert);
+				if (stmt == null) {
+					stmt = connection.prepareStatement(insert);
+					stmts.put(insert, stmt);
+				}
+				Row.bind(stmt, row.getRecord());
+				stmt.addBatch();
+				this.rows[index]++;
+				final Integer partition = Integer.valueOf(row.getPartition());
+				final Integer count = batched.get(partition);
+				batched.put(partition, Integer.valueOf(count == null ? 1 : count
+						.intValue() + 1));
+				pending++;
+				if (pending == PartitionLoader.BATCH) {
+					this.store(connection, stmts, batched);
+					pending = 0;
+				}
+			}
+			this.store(connection, stmts, batched);
+		} catch (final Exception e) {
+			e.printStackTrace(System.err);
+			synchronized (this) {
+				if (this.failure == null) {
+					this.failure = e;
+				}
+			}
+			if (connection != null) {
+				try {
+					connection.rollback();
+				} catch (final Exception re) {
+					re.printStackTrace(System.err);
+				}
+			}
+			// Keep draining so that the parser is never blocked
+			try {
+				while (queue.take() != PartitionLoader.END) {
+				}
+			} catch (final InterruptedException ie) {
+				ie.printStackTrace(System.err);
+			}
+		} finally {
+			try {
+				for (final PreparedStatement stmt : stmts.values()) {
+					stmt.close();
+				}
+				if (connection != null) {
+					connection.close();
+				}
+			} catch (final Exception e) {
+				e.printStackTrace(System.err);
+			}
+		}
+	}
+
+	/**
+	 * Executes and commits the batches of stmts, adding the rows batched to
+	 * the rows committed.
+	 */
+	private void store(final Connection connection,
+			final Map<String, PreparedStatement> stmts,
+			final Map<Integer, Integer> batched) throws Exception {
+		for (final PreparedStatement stmt : stmts.values()) {
+			stmt.executeBatch();
+		}
+		connection.commit();
+		synchronized (this) {
+			for (final Map.Entry<Integer, Integer> entry : batched.entrySet()) {
+				final Integer count = this.committed.get(entry.getKey());
+				this.committed.put(entry.getKey(), Integer.valueOf(entry
+						.getValue().intValue()
+						+ (count == null ? 0 : count.intValue())));
+			}
+		}
+		batched.clear();
+	}
+}
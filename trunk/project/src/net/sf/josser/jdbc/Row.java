@@ -34,7 +34,10 @@
  */
 package net.sf.josser.jdbc;
 
+import java.io.StringReader;
+import java.security.MessageDigest;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 
 import net.sf.josser.Josser;
 import net.sf.josser.util.Static;
@@ -42,29 +45,178 @@ import net.sf.josser.util.Static;
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
  */
-public abstract class Row implements IRow {
+public abstract class Row implements IRow, Cloneable {
+	/**
+	 * Length in chars above which string values are bound as character
+	 * streams rather than strings.
+	 */
+	public static final int STREAM_THRESHOLD = 8192;
+
 	private String tablename = "";
 
 	public String getFields() {
 		return null;
 	}
 
-	public abstract void setValues();
+	/**
+	 * @return Returns the values of this row, in the same order of the fields
+	 *         returned by getFields(). Values are either String, Integer or
+	 *         byte[] for binary columns.
+	 */
+	public abstract Object[] getRecord();
 
 	public abstract String getValues();
 
+	/**
+	 * @return Returns the column names listed by getFields().
+	 */
+	public String[] getColumns() {
+		final String fields = this.getFields();
+		final String[] columns = fields.substring(fields.indexOf('(') + 1,
+				fields.lastIndexOf(')')).split(",");
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = columns[i].trim();
+		}
+		return columns;
+	}
+
+	public void setValues() {
+		try {
+			Row.bind(this.getPreparedStatement(), this.getRecord());
+		} catch (final Exception e) {
+			e.printStackTrace(System.err);
+		}
+	}
+
+	/**
+	 * Binds the values of record, as returned by getRecord(), to the
+	 * parameters of stmt. Strings longer than STREAM_THRESHOLD are bound as
+	 * character streams, letting drivers which support it send them without
+	 * a further copy.
+	 */
+	public static void bind(final PreparedStatement stmt,
+			final Object[] record) throws SQLException {
+		for (int i = 0; i < record.length; i++) {
+			if (record[i] instanceof Integer) {
+				stmt.setInt(i + 1, ((Integer) record[i]).intValue());
+			} else if (record[i] instanceof byte[]) {
+				stmt.setBytes(i + 1, (byte[]) record[i]);
+			} else if ((record[i] != null)
+					&& (((String) record[i]).length() > Row.STREAM_THRESHOLD)) {
+				final String value = (String) record[i];
+				stmt.setCharacterStream(i + 1, new StringReader(value), value
+						.length());
+			} else {
+				stmt.setString(i + 1, (String) record[i]);
+			}
+		}
+	}
+
+	/**
+	 * @return Returns a rough estimate of the bytes held by the driver for a
+	 *         batched copy of this row.
+	 */
+	public int getEstimatedSize() {
+		final Object[] record = this.getRecord();
+		int size = 64;
+		for (int i = 0; i < record.length; i++) {
+			if (record[i] instanceof String) {
+				size += 40 + (((String) record[i]).length() * 2);
+			} else if (record[i] instanceof byte[]) {
+				size += 40 + ((byte[]) record[i]).length;
+			} else {
+				size += 16;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * @return Returns the id of the partition of this row, or -1 when its
+	 *         table is not partitioned.
+	 */
+	public int getPartition() {
+		return -1;
+	}
+
+	/**
+	 * @return Returns record preceded by the partition id when the table of
+	 *         this row is partitioned, as listed first by getFields().
+	 */
+	protected Object[] partition(final Object[] record) {
+		final int partition = this.getPartition();
+		if (partition < 0) {
+			return record;
+		}
+		final Object[] partitioned = new Object[record.length + 1];
+		partitioned[0] = Integer.valueOf(partition);
+		System.arraycopy(record, 0, partitioned, 1, record.length);
+		return partitioned;
+	}
+
+	/**
+	 * @return Returns the columns identifying a row of the table of this row,
+	 *         or null when the table has no natural key.
+	 */
+	public String[] getKeys() {
+		return null;
+	}
+
+	/**
+	 * @return Returns the INSERT statement of this row, built by the dialect
+	 *         of the database engine. When upserting, rows with keys update
+	 *         the existing row with the same keys.
+	 */
+	public String getInsert() {
+		final IDialect dialect = Josser.getDialect();
+		if (dialect == null) {
+			return "INSERT INTO " + this.getTablename() + " "
+					+ this.getFields() + "\n" + "VALUES ( " + this.getValues()
+					+ " );";
+		}
+		final String[] keys = this.getKeys();
+		if (Josser.isUpsert() && (keys != null)) {
+			return dialect.getUpsert(this.getTablename(), this.getColumns(),
+					keys);
+		}
+		return dialect.getInsert(this.getTablename(), this.getColumns());
+	}
+
+	/**
+	 * @return Returns value, or an empty string when value is null.
+	 */
+	protected static String optional(final String value) {
+		if ((value != null) && (value.length() > 0)) {
+			return value;
+		} else {
+			return "";
+		}
+	}
+
+	/**
+	 * @return Returns the MD5 digest of value as 32 hex digits, standing for
+	 *         values too long to be part of a unique key.
+	 */
+	protected static String digest(final String value) {
+		try {
+			final byte[] hash = MessageDigest.getInstance("MD5").digest(
+					Row.optional(value).getBytes("UTF-8"));
+			final StringBuilder hex = new StringBuilder(32);
+			for (int i = 0; i < hash.length; i++) {
+				hex.append(Character.forDigit((hash[i] >> 4) & 0xF, 16));
+				hex.append(Character.forDigit(hash[i] & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (final Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	public int store() {
 		int result = 0;
-		String fields = null;
-		String values = null;
-		String sql = null;
 		PreparedStatement stmt = null;
-		fields = this.getFields();
-		values = this.getValues();
-		sql = "INSERT INTO " + this.getTablename() + " " + fields + "\n"
-				+ "VALUES ( " + values + " );";
 		try {
-			stmt = Josser.getConnection().prepareStatement(sql);
+			stmt = Josser.getConnection().prepareStatement(this.getInsert());
 			this.setValues();
 			result = stmt.executeUpdate();
 			stmt.close();
@@ -80,15 +232,9 @@ public abstract class Row implements IRow {
 
 	public PreparedStatement getPreparedStatement() {
 		if (this.getStmt() == null) {
-			String fields = null;
-			String values = null;
-			String sql = null;
-			fields = this.getFields();
-			values = this.getValues();
-			sql = "INSERT INTO " + this.getTablename() + " " + fields + "\n"
-					+ "VALUES ( " + values + " );";
 			try {
-				this.setStmt(Josser.getConnection().prepareStatement(sql));
+				this.setStmt(Josser.getConnection().prepareStatement(
+						this.getInsert()));
 				return this.getStmt();
 			} catch (final Exception e) {
 				e.printStackTrace(System.err);
@@ -150,6 +296,19 @@ public abstract class Row implements IRow {
 		return result;
 	}
 
+	/**
+	 * @return Returns a detached copy of this row, safe to keep while the
+	 *         parser goes on reusing the original.
+	 */
+	public Row copy() {
+		try {
+			return (Row) this.clone();
+		} catch (final CloneNotSupportedException e) {
+			e.printStackTrace(System.err);
+			return null;
+		}
+	}
+
 	/**
 	 * @param tablename
 	 *            The tablename to set.
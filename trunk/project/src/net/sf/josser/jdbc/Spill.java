@@ -0,0 +1,396 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Spill.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.sf.josser.Josser;
+import net.sf.josser.util.Static;
+
+/**
+ * Bounds the memory held by JDBC batches of a parser.
+ * <p>
+ * Rows are added to the batches of their statements until the estimated
+ * size of pending rows exceeds a budget; further rows of the same chunk are
+ * serialized to a spill file instead. When the chunk is stored the spill file
+ * is replayed on a separate thread, with its own connection and statements,
+ * while the parser reads the next chunk. Before a chunk is stored the replay
+ * of the previous one is awaited, so rows reach the database in parsing
+ * order.
+ * <p>
+ * A spill file is replayed in a single transaction. When its replay fails
+ * the transaction is rolled back and the file is kept, renamed with suffix
+ * .failed, and close() reports it.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Spill {
+	private static final int INTEGER = 1;
+
+	private static final int STRING = 2;
+
+	private static final int BYTES = 3;
+
+	private static final int BATCH = 1000;
+
+	private final long budget;
+
+	private long pending = 0;
+
+	private File file = null;
+
+	private DataOutputStream out = null;
+
+	// Statements defined in the current spill file
+	private final Map<String, Integer> inserts = new HashMap<String, Integer>();
+
+	private ExecutorService executor = null;
+
+	private Future<?> replay = null;
+
+	private Connection connection = null;
+
+	// Messages of failed replays
+	private final List<String> failures = new ArrayList<String>();
+
+	public Spill(final long budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Adds row to the batch of its statement or, when over budget, to the
+	 * spill file of the current chunk.
+	 */
+	public void add(final Row row) {
+		if (!Static.isFiltermatching()) {
+			return;
+		}
+		if (this.out == null) {
+			row.addBatch();
+			this.pending += row.getEstimatedSize();
+			if (this.pending > this.budget) {
+				this.open();
+			}
+		} else {
+			try {
+				this.write(row);
+			} catch (final IOException e) {
+				e.printStackTrace(System.err);
+			}
+		}
+	}
+
+	/**
+	 * Waits for the replay of the previous chunk, to be called before storing
+	 * the batches of the current one.
+	 */
+	public void await() {
+		if (this.replay != null) {
+			try {
+				this.replay.get();
+			} catch (final ExecutionException e) {
+				e.getCause().printStackTrace(System.err);
+				this.failures.add(e.getCause().getMessage());
+			} catch (final InterruptedException e) {
+				e.printStackTrace(System.err);
+			}
+			this.replay = null;
+		}
+	}
+
+	/**
+	 * Starts replaying the spill file of the current chunk, if any, once its
+	 * batches have been stored.
+	 */
+	public void replay() {
+		this.pending = 0;
+		if (this.out == null) {
+			return;
+		}
+		try {
+			this.out.close();
+		} catch (final IOException e) {
+			e.printStackTrace(System.err);
+		}
+		final File spilled = this.file;
+		this.out = null;
+		this.file = null;
+		this.inserts.clear();
+		if (this.executor == null) {
+			this.executor = Executors
+					.newSingleThreadExecutor(new ThreadFactory() {
+						public Thread newThread(final Runnable runnable) {
+							final Thread thread = new Thread(runnable,
+									"josser-replay");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+		this.replay = this.executor.submit(new Callable<Object>() {
+			public Object call() throws SQLException {
+				Spill.this.replay(spilled);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Waits for pending replays and releases the replay connection.
+	 *
+	 * @throws IllegalStateException
+	 *             when spilled rows could not be stored.
+	 */
+	public void close() {
+		this.await();
+		if (this.executor != null) {
+			this.executor.shutdown();
+			this.executor = null;
+		}
+		if (this.connection != null) {
+			try {
+				this.connection.close();
+			} catch (final Exception e) {
+				e.printStackTrace(System.err);
+			}
+			this.connection = null;
+		}
+		if (!this.failures.isEmpty()) {
+			String message = "Spilled rows could not be stored:";
+			for (final String failure : this.failures) {
+				message = message + "\n  " + failure;
+			}
+			this.failures.clear();
+			throw new IllegalStateException(message);
+		}
+	}
+
+	private void open() {
+		try {
+			this.file = File.createTempFile("josser", ".spill");
+			this.file.deleteOnExit();
+			this.out = new DataOutputStream(new BufferedOutputStream(
+					new FileOutputStream(this.file), 65536));
+		} catch (final IOException e) {
+			e.printStackTrace(System.err);
+			this.file = null;
+			this.out = null;
+		}
+	}
+
+	/**
+	 * Writes row as the index of its statement followed by its values. The
+	 * first time a statement is met in a file, index 0 is written followed by
+	 * its SQL text.
+	 */
+	private void write(final Row row) throws IOException {
+		final String insert = row.getInsert();
+		Integer index = this.inserts.get(insert);
+		if (index == null) {
+			index = Integer.valueOf(this.inserts.size() + 1);
+			this.inserts.put(insert, index);
+			Spill.writeVarint(this.out, 0);
+			Spill.writeString(this.out, insert);
+		}
+		final Object[] record = row.getRecord();
+		Spill.writeVarint(this.out, index.intValue());
+		Spill.writeVarint(this.out, record.length);
+		for (int i = 0; i < record.length; i++) {
+			if (record[i] instanceof Integer) {
+				this.out.write(Spill.INTEGER);
+				this.out.writeInt(((Integer) record[i]).intValue());
+			} else if (record[i] instanceof byte[]) {
+				this.out.write(Spill.BYTES);
+				Spill.writeVarint(this.out, ((byte[]) record[i]).length);
+				this.out.write((byte[]) record[i]);
+			} else {
+				this.out.write(Spill.STRING);
+				Spill.writeString(this.out, (String) record[i]);
+			}
+		}
+	}
+
+	/**
+	 * Inserts all rows of a spill file through the replay connection,
+	 * committing at the end, then deletes the file. On failure the insertions
+	 * are rolled back and the file is kept.
+	 */
+	private void replay(final File spilled) throws SQLException {
+		final long start_time = System.currentTimeMillis();
+		int rows = 0;
+		try {
+			if (this.connection == null) {
+				this.connection = Josser.createConnection();
+			}
+			final DataInputStream in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(spilled),
+							65536));
+			final List<PreparedStatement> stmts = new ArrayList<PreparedStatement>();
+			final List<Integer> counts = new ArrayList<Integer>();
+			try {
+				while (true) {
+					final int index;
+					try {
+						index = Spill.readVarint(in);
+					} catch (final EOFException e) {
+						break;
+					}
+					if (index == 0) {
+						stmts.add(this.connection.prepareStatement(Spill
+								.readString(in)));
+						counts.add(Integer.valueOf(0));
+						continue;
+					}
+					final Object[] record = new Object[Spill.readVarint(in)];
+					for (int i = 0; i < record.length; i++) {
+						final int type = in.read();
+						if (type == Spill.INTEGER) {
+							record[i] = Integer.valueOf(in.readInt());
+						} else if (type == Spill.BYTES) {
+							final byte[] bytes = new byte[Spill.readVarint(in)];
+							in.readFully(bytes);
+							record[i] = bytes;
+						} else {
+							record[i] = Spill.readString(in);
+						}
+					}
+					final PreparedStatement stmt = stmts.get(index - 1);
+					Row.bind(stmt, record);
+					stmt.addBatch();
+					final int count = counts.get(index - 1).intValue() + 1;
+					if (count == Spill.BATCH) {
+						stmt.executeBatch();
+						counts.set(index - 1, Integer.valueOf(0));
+					} else {
+						counts.set(index - 1, Integer.valueOf(count));
+					}
+					rows++;
+				}
+				for (final PreparedStatement stmt : stmts) {
+					stmt.executeBatch();
+				}
+				this.connection.commit();
+			} finally {
+				in.close();
+				for (final PreparedStatement stmt : stmts) {
+					stmt.close();
+				}
+			}
+		} catch (final Exception e) {
+			if (this.connection != null) {
+				try {
+					this.connection.rollback();
+				} catch (final SQLException re) {
+					re.printStackTrace(System.err);
+				}
+			}
+			File kept = new File(spilled.getPath() + ".failed");
+			if (!spilled.renameTo(kept)) {
+				kept = spilled;
+			}
+			throw new SQLException("Replay of spilled rows failed, rows are"
+					+ " kept in " + kept.getAbsolutePath(), e);
+		}
+		spilled.delete();
+		System.out.println("  Replayed " + rows + " spilled rows in "
+				+ (System.currentTimeMillis() - start_time) / 1000.0
+				+ " seconds.");
+	}
+
+	private static void writeString(final DataOutputStream out,
+			final String value) throws IOException {
+		if (value == null) {
+			Spill.writeVarint(out, 0);
+		} else {
+			final byte[] bytes = value.getBytes("UTF-8");
+			Spill.writeVarint(out, bytes.length + 1);
+			out.write(bytes);
+		}
+	}
+
+	private static String readString(final DataInputStream in)
+			throws IOException {
+		final int length = Spill.readVarint(in);
+		if (length == 0) {
+			return null;
+		}
+		final byte[] bytes = new byte[length - 1];
+		in.readFully(bytes);
+		return new String(bytes, "UTF-8");
+	}
+
+	private static void writeVarint(final DataOutputStream out, int value)
+			throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static int readVarint(final DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Dialects.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc.dialect;
+
+import net.sf.josser.jdbc.IDialect;
+
+/**
+ * Lookup of dialects and statement building shared by dialects.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Dialects {
+	/**
+	 * @return Returns the dialect of class name, or the dialect of engine
+	 *         when name is null, or null when engine is unknown.
+	 */
+	public static IDialect getDialect(final String engine, final String name) {
+		if (name != null) {
+			try {
+				return (IDialect) Class.forName(name).getDeclaredConstructor()
+						.newInstance();
+			} catch (final Exception e) {
+				e.printStackTrace(System.err);
+				return null;
+			}
+		}
+		if (engine == null) {
+			return null;
+		} else if (engine.compareToIgnoreCase("mysql") == 0) {
+			return new MySQL();
+		} else if (engine.compareToIgnoreCase("postgresql") == 0) {
+			return new PostgreSQL();
+		}
+		return null;
+	}
+
+	/**
+	 * @return Returns host followed by port, or host alone when port is not
+	 *         positive, for the authority of a JDBC URL.
+	 */
+	public static String getAuthority(final String host, final int port) {
+		return port > 0 ? host + ":" + port : host;
+	}
+
+	/**
+	 * @return Returns an INSERT of a row of table, quoting identifiers
+	 *         through dialect.
+	 */
+	public static String getInsert(final IDialect dialect, final String table,
+			final String[] columns) {
+		final StringBuilder insert = new StringBuilder(64 + columns.length
+				* 16);
+		insert.append("INSERT INTO ").append(dialect.quote(table)).append(' ')
+				.append(Dialects.getColumns(dialect, columns))
+				.append(" VALUES (");
+		for (int i = 0; i < columns.length; i++) {
+			insert.append(i == 0 ? "?" : ",?");
+		}
+		return insert.append(')').toString();
+	}
+
+	/**
+	 * @return Returns columns quoted through dialect, comma separated and
+	 *         enclosed in parentheses.
+	 */
+	public static String getColumns(final IDialect dialect,
+			final String[] columns) {
+		String temp = "(";
+		for (int i = 0; i < columns.length; i++) {
+			temp = temp + (i == 0 ? "" : ", ") + dialect.quote(columns[i]);
+		}
+		return temp + ")";
+	}
+
+	static boolean contains(final String[] values, final String value) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i].equalsIgnoreCase(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * MySQL.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc.dialect;
+
+import net.sf.josser.jdbc.IDialect;
+
+/**
+ * Dialect of MySQL.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class MySQL implements IDialect {
+	public String getURL(final String host, final int port, final String db,
+			final String username, final String password) {
+		return "jdbc:mysql://" + Dialects.getAuthority(host, port) + "/" + db
+				+ "?user=" + username + "&password=" + password
+				+ "&useUnicode=true&characterEncoding=UTF-8";
+	}
+
+	public String quote(final String identifier) {
+		return "`" + identifier + "`";
+	}
+
+	public String getInsert(final String table, final String[] columns) {
+		return Dialects.getInsert(this, table, columns);
+	}
+
+	public String getUpsert(final String table, final String[] columns,
+			final String[] keys) {
+		String update = "";
+		for (int i = 0; i < columns.length; i++) {
+			if (!Dialects.contains(keys, columns[i])) {
+				update = update + (update.length() == 0 ? "" : ", ")
+						+ this.quote(columns[i]) + " = VALUES("
+						+ this.quote(columns[i]) + ")";
+			}
+		}
+		if (update.length() == 0) {
+			// Nothing to update, a duplicate is left as it is
+			update = this.quote(keys[0]) + " = " + this.quote(keys[0]);
+		}
+		return this.getInsert(table, columns) + " ON DUPLICATE KEY UPDATE "
+				+ update;
+	}
+
+	/**
+	 * Indexes of a table are dropped by a single statement.
+	 */
+	public String[] getDropIndexes(final String table, final String[] indexes) {
+		if (indexes.length == 0) {
+			return new String[0];
+		}
+		String alter = "ALTER TABLE " + this.quote(table);
+		for (int i = 0; i < indexes.length; i++) {
+			alter = alter + (i == 0 ? " " : ", ") + "DROP INDEX "
+					+ this.quote(indexes[i]);
+		}
+		return new String[] { alter };
+	}
+
+	/**
+	 * Indexes of a table are built by a single statement, i.e. by a single
+	 * scan of the table.
+	 */
+	public String[] getCreateIndexes(final String table,
+			final String[] indexes, final String[][] columns) {
+		if (indexes.length == 0) {
+			return new String[0];
+		}
+		String alter = "ALTER TABLE " + this.quote(table);
+		for (int i = 0; i < indexes.length; i++) {
+			alter = alter + (i == 0 ? " " : ", ") + "ADD INDEX "
+					+ this.quote(indexes[i]) + " "
+					+ Dialects.getColumns(this, columns[i]);
+		}
+		return new String[] { alter };
+	}
+}
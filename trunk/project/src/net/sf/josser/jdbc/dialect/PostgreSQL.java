@@ -0,0 +1,98 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * PostgreSQL.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc.dialect;
+
+import net.sf.josser.jdbc.IDialect;
+
+/**
+ * Dialect of PostgreSQL.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class PostgreSQL implements IDialect {
+	public String getURL(final String host, final int port, final String db,
+			final String username, final String password) {
+		return "jdbc:postgresql://" + Dialects.getAuthority(host, port) + "/"
+				+ db + "?user=" + username + "&password=" + password;
+	}
+
+	/**
+	 * Identifiers of the scripts under sql are not quoted, so they are folded
+	 * to lower case.
+	 */
+	public String quote(final String identifier) {
+		return "\"" + identifier.toLowerCase() + "\"";
+	}
+
+	public String getInsert(final String table, final String[] columns) {
+		return Dialects.getInsert(this, table, columns);
+	}
+
+	public String getUpsert(final String table, final String[] columns,
+			final String[] keys) {
+		String update = "";
+		for (int i = 0; i < columns.length; i++) {
+			if (!Dialects.contains(keys, columns[i])) {
+				update = update + (update.length() == 0 ? "" : ", ")
+						+ this.quote(columns[i]) + " = EXCLUDED."
+						+ this.quote(columns[i]);
+			}
+		}
+		return this.getInsert(table, columns) + " ON CONFLICT "
+				+ Dialects.getColumns(this, keys)
+				+ (update.length() == 0 ? " DO NOTHING" : " DO UPDATE SET "
+						+ update);
+	}
+
+	public String[] getDropIndexes(final String table, final String[] indexes) {
+		final String[] drop = new String[indexes.length];
+		for (int i = 0; i < indexes.length; i++) {
+			drop[i] = "DROP INDEX " + this.quote(indexes[i]);
+		}
+		return drop;
+	}
+
+	public String[] getCreateIndexes(final String table,
+			final String[] indexes, final String[][] columns) {
+		final String[] create = new String[indexes.length];
+		for (int i = 0; i < indexes.length; i++) {
+			create[i] = "CREATE INDEX " + this.quote(indexes[i]) + " ON "
+					+ this.quote(table) + " "
+					+ Dialects.getColumns(this, columns[i]);
+		}
+		return create;
+	}
+}
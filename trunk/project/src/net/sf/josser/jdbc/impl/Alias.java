@@ -69,6 +69,11 @@ public class Alias extends Row {
 		this.setTcatid(tcatid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
@@ -76,22 +81,21 @@ public class Alias extends Row {
 		temp = temp + " Alias,";
 		temp = temp + " Title,";
 		temp = temp + " Target,";
-		temp = temp + " tcatid";
+		temp = temp + " tcatid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setInt(1, this.getCatid());
-			this.getPreparedStatement().setString(2, this.getAlias());
-			this.getPreparedStatement().setString(3, this.getTitle());
-			this.getPreparedStatement().setString(4, this.getTarget());
-			this.getPreparedStatement().setInt(5, this.getTcatid());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getCatid(),
+				this.getAlias(),
+				this.getTitle(),
+				this.getTarget(),
+				this.getTcatid(),
+				Row.digest(this.getAlias()) };
 	}
 
 	@Override
@@ -101,6 +105,7 @@ public class Alias extends Row {
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
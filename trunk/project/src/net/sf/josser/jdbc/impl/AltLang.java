@@ -65,27 +65,31 @@ public class AltLang extends Row {
 		this.setRcatid(rcatid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
 		temp = temp + " language,";
 		temp = temp + " resource,";
 		temp = temp + " catid,";
-		temp = temp + " rcatid ";
+		temp = temp + " rcatid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getLanguage());
-			this.getPreparedStatement().setString(2, this.getResource());
-			this.getPreparedStatement().setInt(3, this.getCatid());
-			this.getPreparedStatement().setInt(4, this.getRcatid());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getLanguage(),
+				this.getResource(),
+				this.getCatid(),
+				this.getRcatid(),
+				Row.digest(this.getLanguage()) };
 	}
 
 	@Override
@@ -94,6 +98,7 @@ public class AltLang extends Row {
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
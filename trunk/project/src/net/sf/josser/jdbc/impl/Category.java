@@ -37,7 +37,9 @@ package net.sf.josser.jdbc.impl;
 
 import java.sql.PreparedStatement;
 
+import net.sf.josser.Josser;
 import net.sf.josser.jdbc.Row;
+import net.sf.josser.util.TextCodec;
 
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
@@ -61,9 +63,13 @@ public class Category extends Row {
 
 	private String Description = null;
 
+	private byte[] zDescription = null;
+
 	// Optional fields with mandatory value
 	private int fatherid = 0;
 
+	private int topid = 0;
+
 	private static PreparedStatement stmt = null;
 
 	public Category() {
@@ -104,15 +110,27 @@ public class Category extends Row {
 		this.setFatherid(fatherid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return this.getPartition() >= 0 ? new String[] { "catid", "topid" }
+				: new String[] { "catid" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
+		if (this.getPartition() >= 0) {
+			temp = temp + " topid,";
+		}
 		temp = temp + " Topic,";
 		temp = temp + " catid,";
 		temp = temp + " aolsearch,";
 		temp = temp + " dispname,";
 		temp = temp + " charset,";
 		temp = temp + " Description,";
+		if (Josser.isCompress()) {
+			temp = temp + " zDescription,";
+		}
 		temp = temp + " lastUpdate,";
 		temp = temp + " fatherid,";
 		temp = temp + " Title ";
@@ -121,59 +139,47 @@ public class Category extends Row {
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getTopic());
-			this.getPreparedStatement().setInt(2, this.getCatid());
-			if ((this.getAolsearch() != null)
-					&& (this.getAolsearch().length() > 0)) {
-				this.getPreparedStatement().setString(3, this.getAolsearch());
-			} else {
-				this.getPreparedStatement().setString(3, "");
-			}
-			if ((this.getDispname() != null)
-					&& (this.getDispname().length() > 0)) {
-				this.getPreparedStatement().setString(4, this.getDispname());
-			} else {
-				this.getPreparedStatement().setString(4, "");
-			}
-			if ((this.getCharset() != null) && (this.getCharset().length() > 0)) {
-				this.getPreparedStatement().setString(5, this.getCharset());
-			} else {
-				this.getPreparedStatement().setString(5, "");
-			}
-			if ((this.getDescription() != null)
-					&& (this.getDescription().length() > 0)) {
-				this.getPreparedStatement().setString(6, this.getDescription());
-			} else {
-				this.getPreparedStatement().setString(6, "");
-			}
-			if ((this.getLastUpdate() != null)
-					&& (this.getLastUpdate().length() > 0)) {
-				this.getPreparedStatement().setString(7, this.getLastUpdate());
-			} else {
-				this.getPreparedStatement().setString(7, "");
-			}
-			if (this.getFatherid() != 0) {
-				this.getPreparedStatement().setInt(8, this.getFatherid());
-			} else {
-				this.getPreparedStatement().setInt(8, 0);
-			}
-			this.getPreparedStatement().setString(9, this.getTitle());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
+	public Object[] getRecord() {
+		if (Josser.isCompress()) {
+			return this.partition(new Object[] {
+					this.getTopic(),
+					this.getCatid(),
+					Row.optional(this.getAolsearch()),
+					Row.optional(this.getDispname()),
+					Row.optional(this.getCharset()),
+					"",
+					this.getZDescription(),
+					Row.optional(this.getLastUpdate()),
+					this.getFatherid(),
+					this.getTitle() });
 		}
+		return this.partition(new Object[] {
+				this.getTopic(),
+				this.getCatid(),
+				Row.optional(this.getAolsearch()),
+				Row.optional(this.getDispname()),
+				Row.optional(this.getCharset()),
+				Row.optional(this.getDescription()),
+				Row.optional(this.getLastUpdate()),
+				this.getFatherid(),
+				this.getTitle() });
 	}
 
 	@Override
 	public String getValues() {
 		String temp = "";
+		if (this.getPartition() >= 0) {
+			temp = temp + "?,";
+		}
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		if (Josser.isCompress()) {
+			temp = temp + "?,";
+		}
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?";
@@ -216,6 +222,7 @@ public class Category extends Row {
 	 */
 	public void setDescription(final String description) {
 		this.Description = description;
+		this.zDescription = null;
 	}
 
 	/**
@@ -225,6 +232,18 @@ public class Category extends Row {
 		return this.Description;
 	}
 
+	/**
+	 * @return Returns the description encoded by TextCodec, computed once
+	 *         for every description set.
+	 */
+	public byte[] getZDescription() {
+		if (this.zDescription == null) {
+			this.zDescription = TextCodec.encode(Row.optional(this
+					.getDescription()));
+		}
+		return this.zDescription;
+	}
+
 	/**
 	 * @param dispname
 	 *            The dispname to set.
@@ -331,4 +350,24 @@ public class Category extends Row {
 	public String getCharset() {
 		return this.charset;
 	}
+
+	/**
+	 * @param topid
+	 *            The topid to set.
+	 */
+	public void setTopid(final int topid) {
+		this.topid = topid;
+	}
+
+	/**
+	 * @return Returns the topid.
+	 */
+	public int getTopid() {
+		return this.topid;
+	}
+
+	@Override
+	public int getPartition() {
+		return Josser.getPartitions() > 0 ? this.getTopid() : -1;
+	}
 }
@@ -59,29 +59,34 @@ public class Editor extends Row {
 		this.setCatid(catid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
 		temp = temp + " editor,";
-		temp = temp + " catid ";
+		temp = temp + " catid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getEditor());
-			this.getPreparedStatement().setInt(2, this.getCatid());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getEditor(),
+				this.getCatid(),
+				Row.digest(this.getEditor()) };
 	}
 
 	@Override
 	public String getValues() {
 		String temp = "";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
@@ -37,9 +37,16 @@ package net.sf.josser.jdbc.impl;
 
 import java.sql.PreparedStatement;
 
+import net.sf.josser.Josser;
 import net.sf.josser.jdbc.Row;
+import net.sf.josser.util.TextCodec;
 
 /**
+ * When urls are deduplicated the link is not stored, being replaced by the
+ * urlid of the link in table dmoz_urls. When descriptions are compressed
+ * they are stored encoded by TextCodec in zDescription, Description being
+ * left empty.
+ *
  * @author Copyright © Giovanni Novelli. All rights reserved.
  */
 public class ExternalPage extends Row {
@@ -50,6 +57,8 @@ public class ExternalPage extends Row {
 
 	private String Description = null;
 
+	private byte[] zDescription = null;
+
 	private int catid = 0;
 
 	// Optional fields
@@ -61,6 +70,12 @@ public class ExternalPage extends Row {
 
 	private String mediadate = null;
 
+	private int urlid = 0;
+
+	private int topid = 0;
+
+	private int pageid = 0;
+
 	private static PreparedStatement stmt = null;
 
 	public ExternalPage() {
@@ -80,70 +95,87 @@ public class ExternalPage extends Row {
 		this.setCatid(catid);
 	}
 
+	/**
+	 * Pages are keyed by their link, whether or not urlid stands for it.
+	 */
+	@Override
+	public String[] getKeys() {
+		return this.getPartition() >= 0 ? new String[] { "catid", "entry",
+				"topid" } : new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
+		if (this.getPartition() >= 0) {
+			temp = temp + " topid,";
+		}
+		temp = temp + " pageid,";
 		temp = temp + " ages,";
 		temp = temp + " type,";
-		temp = temp + " link,";
+		if (Josser.isUrls()) {
+			temp = temp + " urlid,";
+		} else {
+			temp = temp + " link,";
+		}
 		temp = temp + " Title,";
 		temp = temp + " Description,";
+		if (Josser.isCompress()) {
+			temp = temp + " zDescription,";
+		}
 		temp = temp + " mediadate,";
 		temp = temp + " priority,";
-		temp = temp + " catid ";
+		temp = temp + " catid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			if ((this.getAges() != null) && (this.getAges().length() > 0)) {
-				this.getPreparedStatement().setString(1, this.getAges());
-			} else {
-				this.getPreparedStatement().setString(1, "");
-			}
-			if ((this.getType() != null) && (this.getType().length() > 0)) {
-				this.getPreparedStatement().setString(2, this.getType());
-			} else {
-				this.getPreparedStatement().setString(2, "");
-			}
-			this.getPreparedStatement().setString(3, this.getLink());
-			if ((this.getTitle() != null) && (this.getTitle().length() > 0)) {
-				this.getPreparedStatement().setString(4, this.getTitle());
-			} else {
-				this.getPreparedStatement().setString(4, "");
-			}
-			if ((this.getDescription() != null)
-					&& (this.getDescription().length() > 0)) {
-				this.getPreparedStatement().setString(5, this.getDescription());
-			} else {
-				this.getPreparedStatement().setString(5, "");
-			}
-			if ((this.getMediadate() != null)
-					&& (this.getMediadate().length() > 0)) {
-				this.getPreparedStatement().setString(6, this.getMediadate());
-			} else {
-				this.getPreparedStatement().setString(6, "");
-			}
-			if (this.getPriority() != 0) {
-				this.getPreparedStatement().setInt(7, this.getPriority());
-			} else {
-				this.getPreparedStatement().setInt(7, 0);
-			}
-			this.getPreparedStatement().setInt(8, this.getCatid());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
+	public Object[] getRecord() {
+		if (Josser.isCompress()) {
+			return this.partition(new Object[] {
+					this.getPageid(),
+					Row.optional(this.getAges()),
+					Row.optional(this.getType()),
+					Josser.isUrls() ? (Object) this.getUrlid() : this
+							.getLink(),
+					Row.optional(this.getTitle()),
+					"",
+					this.getZDescription(),
+					Row.optional(this.getMediadate()),
+					this.getPriority(),
+					this.getCatid(),
+					Row.digest(this.getLink()) });
 		}
+		return this.partition(new Object[] {
+				this.getPageid(),
+				Row.optional(this.getAges()),
+				Row.optional(this.getType()),
+				Josser.isUrls() ? (Object) this.getUrlid() : this.getLink(),
+				Row.optional(this.getTitle()),
+				Row.optional(this.getDescription()),
+				Row.optional(this.getMediadate()),
+				this.getPriority(),
+				this.getCatid(),
+				Row.digest(this.getLink()) });
 	}
 
 	@Override
 	public String getValues() {
 		String temp = "";
+		if (this.getPartition() >= 0) {
+			temp = temp + "?,";
+		}
+		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		if (Josser.isCompress()) {
+			temp = temp + "?,";
+		}
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
@@ -172,6 +204,7 @@ public class ExternalPage extends Row {
 	 */
 	public void setDescription(final String description) {
 		this.Description = description;
+		this.zDescription = null;
 	}
 
 	/**
@@ -181,6 +214,18 @@ public class ExternalPage extends Row {
 		return this.Description;
 	}
 
+	/**
+	 * @return Returns the description encoded by TextCodec, computed once
+	 *         for every description set.
+	 */
+	public byte[] getZDescription() {
+		if (this.zDescription == null) {
+			this.zDescription = TextCodec.encode(Row.optional(this
+					.getDescription()));
+		}
+		return this.zDescription;
+	}
+
 	/**
 	 * @param link
 	 *            The link to set.
@@ -196,6 +241,57 @@ public class ExternalPage extends Row {
 		return this.link;
 	}
 
+	/**
+	 * @param urlid
+	 *            The urlid to set.
+	 */
+	public void setUrlid(final int urlid) {
+		this.urlid = urlid;
+	}
+
+	/**
+	 * @return Returns the urlid.
+	 */
+	public int getUrlid() {
+		return this.urlid;
+	}
+
+	/**
+	 * @param topid
+	 *            The topid to set.
+	 */
+	public void setTopid(final int topid) {
+		this.topid = topid;
+	}
+
+	/**
+	 * @return Returns the topid.
+	 */
+	public int getTopid() {
+		return this.topid;
+	}
+
+	@Override
+	public int getPartition() {
+		return Josser.getPartitions() > 0 ? this.getTopid() : -1;
+	}
+
+	/**
+	 * @param pageid
+	 *            The pageid to set.
+	 */
+	public void setPageid(final int pageid) {
+		this.pageid = pageid;
+	}
+
+	/**
+	 * @return Returns the pageid, the 1-based position of this page among
+	 *         the external pages of the content dump.
+	 */
+	public int getPageid() {
+		return this.pageid;
+	}
+
 	/**
 	 * @param mediadate
 	 *            The mediadate to set.
@@ -0,0 +1,166 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Hierarchy.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc.impl;
+
+import java.sql.PreparedStatement;
+
+import net.sf.josser.jdbc.Row;
+
+/**
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Hierarchy extends Row {
+	private int catid = 0;
+
+	private int lft = 0;
+
+	private int rgt = 0;
+
+	private int depth = 0;
+
+	private static PreparedStatement stmt = null;
+
+	public Hierarchy() {
+		this.setTablename("dmoz_hierarchy");
+	}
+
+	@Override
+	public String getFields() {
+		String temp = "(";
+		temp = temp + " catid,";
+		temp = temp + " lft,";
+		temp = temp + " rgt,";
+		temp = temp + " depth ";
+		temp = temp + ")";
+		return temp;
+	}
+
+	@Override
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getCatid(),
+				this.getLft(),
+				this.getRgt(),
+				this.getDepth() };
+	}
+
+	@Override
+	public String getValues() {
+		String temp = "";
+		temp = temp + "?,";
+		temp = temp + "?,";
+		temp = temp + "?,";
+		temp = temp + "?";
+		return temp;
+	}
+
+	/**
+	 * @param catid
+	 *            The catid to set.
+	 */
+	public void setCatid(final int catid) {
+		this.catid = catid;
+	}
+
+	/**
+	 * @return Returns the catid.
+	 */
+	public int getCatid() {
+		return this.catid;
+	}
+
+	/**
+	 * @param lft
+	 *            The lft to set.
+	 */
+	public void setLft(final int lft) {
+		this.lft = lft;
+	}
+
+	/**
+	 * @return Returns the lft.
+	 */
+	public int getLft() {
+		return this.lft;
+	}
+
+	/**
+	 * @param rgt
+	 *            The rgt to set.
+	 */
+	public void setRgt(final int rgt) {
+		this.rgt = rgt;
+	}
+
+	/**
+	 * @return Returns the rgt.
+	 */
+	public int getRgt() {
+		return this.rgt;
+	}
+
+	/**
+	 * @param depth
+	 *            The depth to set.
+	 */
+	public void setDepth(final int depth) {
+		this.depth = depth;
+	}
+
+	/**
+	 * @return Returns the depth.
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * @param stmt
+	 *            The stmt to set.
+	 */
+	@Override
+	protected void setStmt(final PreparedStatement stmt) {
+		Hierarchy.stmt = stmt;
+	}
+
+	/**
+	 * @return Returns the stmt.
+	 */
+	@Override
+	protected PreparedStatement getStmt() {
+		return Hierarchy.stmt;
+	}
+}
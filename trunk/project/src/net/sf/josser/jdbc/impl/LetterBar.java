@@ -62,25 +62,29 @@ public class LetterBar extends Row {
 		this.setLcatid(lcatid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
 		temp = temp + " letterbar,";
 		temp = temp + " catid, ";
-		temp = temp + " lcatid ";
+		temp = temp + " lcatid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getLetterbar());
-			this.getPreparedStatement().setInt(2, this.getCatid());
-			this.getPreparedStatement().setInt(3, this.getLcatid());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getLetterbar(),
+				this.getCatid(),
+				this.getLcatid(),
+				Row.digest(this.getLetterbar()) };
 	}
 
 	@Override
@@ -88,6 +92,7 @@ public class LetterBar extends Row {
 		String temp = "";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
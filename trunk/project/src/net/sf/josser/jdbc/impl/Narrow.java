@@ -64,26 +64,31 @@ public class Narrow extends Row {
 		this.setNcatid(ncatid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
 		temp = temp + " narrow,";
 		temp = temp + " priority, ";
 		temp = temp + " catid, ";
-		temp = temp + " ncatid ";
+		temp = temp + " ncatid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getNarrow());
-			this.getPreparedStatement().setInt(2, this.getPriority());
-			this.getPreparedStatement().setInt(3, this.getCatid());
-			this.getPreparedStatement().setInt(4, this.getNcatid());
-		} catch (final Exception e) {
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getNarrow(),
+				this.getPriority(),
+				this.getCatid(),
+				this.getNcatid(),
+				Row.digest(this.getNarrow()) };
 	}
 
 	@Override
@@ -92,6 +97,7 @@ public class Narrow extends Row {
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
@@ -62,25 +62,29 @@ public class NewsGroup extends Row {
 		this.setCatid(catid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
 		temp = temp + " type,";
 		temp = temp + " newsGroup,";
-		temp = temp + " catid ";
+		temp = temp + " catid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getType());
-			this.getPreparedStatement().setString(2, this.getNewsGroup());
-			this.getPreparedStatement().setInt(3, this.getCatid());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getType(),
+				this.getNewsGroup(),
+				this.getCatid(),
+				Row.digest(this.getNewsGroup()) };
 	}
 
 	@Override
@@ -88,6 +92,7 @@ public class NewsGroup extends Row {
 		String temp = "";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
@@ -62,25 +62,29 @@ public class Related extends Row {
 		this.setRcatid(rcatid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
 		temp = temp + " related,";
 		temp = temp + " catid, ";
-		temp = temp + " rcatid";
+		temp = temp + " rcatid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getRelated());
-			this.getPreparedStatement().setInt(2, this.getCatid());
-			this.getPreparedStatement().setInt(3, this.getRcatid());
-		} catch (final Exception e) {
-			e.printStackTrace(System.err);
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getRelated(),
+				this.getCatid(),
+				this.getRcatid(),
+				Row.digest(this.getRelated()) };
 	}
 
 	@Override
@@ -88,6 +92,7 @@ public class Related extends Row {
 		String temp = "";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
@@ -0,0 +1,211 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Stats.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc.impl;
+
+import java.sql.PreparedStatement;
+
+import net.sf.josser.jdbc.Row;
+
+/**
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Stats extends Row {
+	private int catid = 0;
+
+	private int pages = 0;
+
+	private int allpages = 0;
+
+	private int children = 0;
+
+	private int allchildren = 0;
+
+	private String lastUpdate = null;
+
+	private static PreparedStatement stmt = null;
+
+	public Stats() {
+		this.setTablename("dmoz_stats");
+	}
+
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid" };
+	}
+
+	@Override
+	public String getFields() {
+		String temp = "(";
+		temp = temp + " catid,";
+		temp = temp + " pages,";
+		temp = temp + " allpages,";
+		temp = temp + " children,";
+		temp = temp + " allchildren,";
+		temp = temp + " lastUpdate ";
+		temp = temp + ")";
+		return temp;
+	}
+
+	@Override
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getCatid(),
+				this.getPages(),
+				this.getAllpages(),
+				this.getChildren(),
+				this.getAllchildren(),
+				this.getLastUpdate() };
+	}
+
+	@Override
+	public String getValues() {
+		String temp = "";
+		temp = temp + "?,";
+		temp = temp + "?,";
+		temp = temp + "?,";
+		temp = temp + "?,";
+		temp = temp + "?,";
+		temp = temp + "?";
+		return temp;
+	}
+
+	/**
+	 * @param catid
+	 *            The catid to set.
+	 */
+	public void setCatid(final int catid) {
+		this.catid = catid;
+	}
+
+	/**
+	 * @return Returns the catid.
+	 */
+	public int getCatid() {
+		return this.catid;
+	}
+
+	/**
+	 * @param pages
+	 *            The pages to set.
+	 */
+	public void setPages(final int pages) {
+		this.pages = pages;
+	}
+
+	/**
+	 * @return Returns the pages.
+	 */
+	public int getPages() {
+		return this.pages;
+	}
+
+	/**
+	 * @param allpages
+	 *            The allpages to set.
+	 */
+	public void setAllpages(final int allpages) {
+		this.allpages = allpages;
+	}
+
+	/**
+	 * @return Returns the allpages.
+	 */
+	public int getAllpages() {
+		return this.allpages;
+	}
+
+	/**
+	 * @param children
+	 *            The children to set.
+	 */
+	public void setChildren(final int children) {
+		this.children = children;
+	}
+
+	/**
+	 * @return Returns the children.
+	 */
+	public int getChildren() {
+		return this.children;
+	}
+
+	/**
+	 * @param allchildren
+	 *            The allchildren to set.
+	 */
+	public void setAllchildren(final int allchildren) {
+		this.allchildren = allchildren;
+	}
+
+	/**
+	 * @return Returns the allchildren.
+	 */
+	public int getAllchildren() {
+		return this.allchildren;
+	}
+
+	/**
+	 * @param lastUpdate
+	 *            The lastUpdate to set.
+	 */
+	public void setLastUpdate(final String lastUpdate) {
+		this.lastUpdate = lastUpdate;
+	}
+
+	/**
+	 * @return Returns the lastUpdate.
+	 */
+	public String getLastUpdate() {
+		return this.lastUpdate;
+	}
+
+	/**
+	 * @param stmt
+	 *            The stmt to set.
+	 */
+	@Override
+	protected void setStmt(final PreparedStatement stmt) {
+		Stats.stmt = stmt;
+	}
+
+	/**
+	 * @return Returns the stmt.
+	 */
+	@Override
+	protected PreparedStatement getStmt() {
+		return Stats.stmt;
+	}
+}
@@ -68,6 +68,11 @@ public class Symbolic extends Row {
 		this.setScatid(scatid);
 	}
 
+	@Override
+	public String[] getKeys() {
+		return new String[] { "catid", "entry" };
+	}
+
 	@Override
 	public String getFields() {
 		String temp = "(";
@@ -75,21 +80,21 @@ public class Symbolic extends Row {
 		temp = temp + " symbolic,";
 		temp = temp + " priority, ";
 		temp = temp + " catid, ";
-		temp = temp + " scatid ";
+		temp = temp + " scatid,";
+		temp = temp + " entry ";
 		temp = temp + ")";
 		return temp;
 	}
 
 	@Override
-	public void setValues() {
-		try {
-			this.getPreparedStatement().setString(1, this.getResource());
-			this.getPreparedStatement().setString(2, this.getSymbolic());
-			this.getPreparedStatement().setInt(3, this.getPriority());
-			this.getPreparedStatement().setInt(4, this.getCatid());
-			this.getPreparedStatement().setInt(5, this.getScatid());
-		} catch (final Exception e) {
-		}
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getResource(),
+				this.getSymbolic(),
+				this.getPriority(),
+				this.getCatid(),
+				this.getScatid(),
+				Row.digest(this.getSymbolic()) };
 	}
 
 	@Override
@@ -99,6 +104,7 @@ public class Symbolic extends Row {
 		temp = temp + "?,";
 		temp = temp + "?,";
 		temp = temp + "?,";
+		temp = temp + "?,";
 		temp = temp + "?";
 		return temp;
 	}
@@ -0,0 +1,131 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Url.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.jdbc.impl;
+
+import java.sql.PreparedStatement;
+
+import net.sf.josser.jdbc.Row;
+
+/**
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Url extends Row {
+	private int urlid = 0;
+
+	private String url = null;
+
+	private static PreparedStatement stmt = null;
+
+	public Url() {
+		this.setTablename("dmoz_urls");
+	}
+
+	@Override
+	public String[] getKeys() {
+		return new String[] { "urlid" };
+	}
+
+	@Override
+	public String getFields() {
+		String temp = "(";
+		temp = temp + " urlid,";
+		temp = temp + " url ";
+		temp = temp + ")";
+		return temp;
+	}
+
+	@Override
+	public Object[] getRecord() {
+		return new Object[] {
+				this.getUrlid(),
+				this.getUrl() };
+	}
+
+	@Override
+	public String getValues() {
+		String temp = "";
+		temp = temp + "?,";
+		temp = temp + "?";
+		return temp;
+	}
+
+	/**
+	 * @param urlid
+	 *            The urlid to set.
+	 */
+	public void setUrlid(final int urlid) {
+		this.urlid = urlid;
+	}
+
+	/**
+	 * @return Returns the urlid.
+	 */
+	public int getUrlid() {
+		return this.urlid;
+	}
+
+	/**
+	 * @param url
+	 *            The url to set.
+	 */
+	public void setUrl(final String url) {
+		this.url = url;
+	}
+
+	/**
+	 * @return Returns the url.
+	 */
+	public String getUrl() {
+		return this.url;
+	}
+
+	/**
+	 * @param stmt
+	 *            The stmt to set.
+	 */
+	@Override
+	protected void setStmt(final PreparedStatement stmt) {
+		Url.stmt = stmt;
+	}
+
+	/**
+	 * @return Returns the stmt.
+	 */
+	@Override
+	protected PreparedStatement getStmt() {
+		return Url.stmt;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * IRecordListener.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.rdf;
+
+import net.sf.josser.jdbc.Row;
+
+/**
+ * Receives the records parsed from DMOZ RDF dumps as soon as they are
+ * complete, independently from any JDBC connection.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public interface IRecordListener {
+	/**
+	 * Called for every completed record matching the topic filter. The row is
+	 * reused by the parser after this call returns, see {@link Row#copy()}.
+	 */
+	public abstract void record(Row row);
+
+	/**
+	 * Called at every chunk boundary of the parsers.
+	 */
+	public abstract void flush();
+
+	/**
+	 * Called once, after the last record of the last dump has been parsed.
+	 */
+	public abstract void close();
+}
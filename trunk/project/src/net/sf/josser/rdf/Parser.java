@@ -39,9 +39,15 @@ import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import net.sf.josser.Josser;
+import net.sf.josser.jdbc.PartitionLoader;
+import net.sf.josser.jdbc.Row;
+import net.sf.josser.jdbc.Spill;
+import net.sf.josser.util.Static;
 
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
@@ -49,54 +55,100 @@ import net.sf.josser.Josser;
 public abstract class Parser implements IParser {
 	private int phase;
 
+	// storing is false when records are only streamed to listeners and no
+	// JDBC connection is required
+	private boolean storing = true;
+
+	private final List<IRecordListener> listeners = new ArrayList<IRecordListener>();
+
+	// spill is not null when JDBC batches are bounded by a memory budget
+	private Spill spill = null;
+
+	// loader is not null once rows of partitioned tables have been emitted
+	private PartitionLoader loader = null;
+
 	public abstract String getPath();
 
 	public abstract int batchClear();
 
 	public abstract int batchStore();
 
+	/**
+	 * Parses the dump, storing its rows every grouplines lines.
+	 * 
+	 * @throws IllegalStateException
+	 *             when the dump cannot be read; failures of listeners and of
+	 *             the parsing itself are thrown unchanged.
+	 */
 	public void parse(final int grouplines) {
 		try {
-			if (!Josser.getConnection().isClosed()) {
-				try {
-					// BufferedReader in = new BufferedReader(new
-					// FileReader(this.path));
-					final BufferedReader in = new BufferedReader(
-							new InputStreamReader(new FileInputStream(this
-									.getPath()), "UTF8"));
-					String line;
-                                        System.out.println("Importing RDF dump:\n" +
-                                                           "  " +
-                                                           this.getPath() + "\n");
-					int numlines = 0;
-					final Date date = new Date();
-					final long start_time = date.getTime();
-					while (((line = in.readLine()) != null)
-							&& (this.getPhase() < 2)) {
-						numlines = numlines + 1;
-						this.process(line);
-						final boolean print = (numlines % grouplines) == 0;
-						if (print) {
-							this.store(numlines, start_time);
-						}
-					}
-					this.store(numlines, start_time);
-					in.close();
-				} catch (final IOException e) {
-				}
+			if (this.isStoring() && Josser.getConnection().isClosed()) {
+				return;
 			}
 		} catch (final Exception e) {
 			e.printStackTrace(System.err);
+			return;
+		}
+		try {
+			// BufferedReader in = new BufferedReader(new
+			// FileReader(this.path));
+			final BufferedReader in = new BufferedReader(new InputStreamReader(
+					new FileInputStream(this.getPath()), "UTF8"));
+			try {
+				String line;
+                                System.out.println("Importing RDF dump:\n" +
+                                                   "  " +
+                                                   this.getPath() + "\n");
+				int numlines = 0;
+				final Date date = new Date();
+				final long start_time = date.getTime();
+				while (((line = in.readLine()) != null)
+						&& (this.getPhase() < 2)) {
+					numlines = numlines + 1;
+					this.process(line);
+					final boolean print = (numlines % grouplines) == 0;
+					if (print) {
+						this.store(numlines, start_time);
+					}
+				}
+				this.store(numlines, start_time);
+			} finally {
+				in.close();
+			}
+		} catch (final IOException e) {
+			throw new IllegalStateException("Cannot read RDF dump "
+					+ this.getPath(), e);
 		}
 	}
 
 	public void store(final int numlines, final long start_time) {
+		this.store("contents from " + numlines + " lines", start_time);
+	}
+
+	/**
+	 * Stores and commits pending rows, reporting them as contents.
+	 */
+	protected void store(final String contents, final long start_time) {
 		long elapsed_time = 0;
 		long parsed_time = 0;
 		long committed_time = 0;
 		Date date = new Date();
 		parsed_time = date.getTime();
 		elapsed_time = (parsed_time - start_time);
+		for (final IRecordListener listener : this.listeners) {
+			listener.flush();
+		}
+		if (!this.isStoring()) {
+			System.out.println("  Parsed " +
+					contents +
+					" in " +
+					elapsed_time/1000.0 +
+					" seconds.");
+			return;
+		}
+		if (this.spill != null) {
+			this.spill.await();
+		}
 		int nerr = this.batchStore();
 		if (nerr < 0) {
 		}
@@ -108,16 +160,95 @@ public abstract class Parser implements IParser {
 		nerr = this.batchClear();
 		if (nerr < 0) {
 		}
+		if (this.spill != null) {
+			this.spill.replay();
+		}
 		date = new Date();
 		committed_time = date.getTime();
 		elapsed_time = (committed_time - start_time);
-                System.out.println("  Committed contents from " +
-                                   numlines +
-                                   " lines in " +
+                System.out.println("  Committed " +
+                                   contents +
+                                   " in " +
                                    elapsed_time/1000.0 +
                                    " seconds.");
 	}
 
+	/**
+	 * Hands a completed record to every registered listener and, when
+	 * storing, adds it to the JDBC batch of its table. Rows are reused by the
+	 * parsers, so listeners must copy a row they want to keep.
+	 * 
+	 * @param row
+	 *            The completed record.
+	 */
+	protected void emit(final Row row) {
+		if (Static.isFiltermatching()) {
+			for (final IRecordListener listener : this.listeners) {
+				listener.record(row);
+			}
+		}
+		if (this.isStoring()) {
+			if (row.getPartition() >= 0) {
+				if (this.loader == null) {
+					this.loader = new PartitionLoader(Josser.getPartitions());
+				}
+				this.loader.add(row);
+			} else if (Josser.getMemory() > 0) {
+				if (this.spill == null) {
+					this.spill = new Spill(Josser.getMemory());
+				}
+				this.spill.add(row);
+			} else {
+				row.addBatch();
+			}
+		}
+	}
+
+	/**
+	 * Waits until rows spilled to disk and rows of partitioned tables have
+	 * been stored.
+	 *
+	 * @throws IllegalStateException
+	 *             when some of those rows could not be stored.
+	 */
+	public void close() {
+		try {
+			if (this.spill != null) {
+				final Spill spill = this.spill;
+				this.spill = null;
+				spill.close();
+			}
+		} finally {
+			if (this.loader != null) {
+				this.loader.close();
+				this.loader = null;
+			}
+		}
+	}
+
+	/**
+	 * @param listener
+	 *            The listener to add.
+	 */
+	public void addListener(final IRecordListener listener) {
+		this.listeners.add(listener);
+	}
+
+	/**
+	 * @param storing
+	 *            The storing to set.
+	 */
+	public void setStoring(final boolean storing) {
+		this.storing = storing;
+	}
+
+	/**
+	 * @return Returns the storing.
+	 */
+	public boolean isStoring() {
+		return this.storing;
+	}
+
 	/**
 	 * @param phase
 	 *            The phase to set.
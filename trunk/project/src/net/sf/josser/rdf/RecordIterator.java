@@ -0,0 +1,186 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * RecordIterator.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.rdf;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+
+import net.sf.josser.jdbc.Row;
+import net.sf.josser.rdf.impl.Dump;
+
+/**
+ * Lazy iterator over the records of a DMOZ dump. Parsing runs in a background
+ * thread which blocks as soon as <code>capacity</code> records are waiting to
+ * be consumed, so the dump is read at the speed of the consumer.
+ * <p>
+ * A failure of the parsing thread, such as an unreadable dump, is rethrown by
+ * {@link #hasNext()} and {@link #next()} once the records parsed before it
+ * have been consumed. A consumer leaving before the end must call
+ * {@link #cancel()} to stop the parsing thread.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class RecordIterator implements Iterator<Row>, IRecordListener {
+	private static final Object END = new Object();
+
+	private final BlockingQueue<Object> queue;
+
+	private final Dump dump;
+
+	private final int readlines;
+
+	private final int writelines;
+
+	private Thread thread = null;
+
+	private Object next = null;
+
+	private volatile RuntimeException failure = null;
+
+	private volatile boolean canceled = false;
+
+	public RecordIterator(final Dump dump, final int readlines,
+			final int writelines, final int capacity) {
+		this.dump = dump;
+		this.readlines = readlines;
+		this.writelines = writelines;
+		this.queue = new ArrayBlockingQueue<Object>(capacity);
+	}
+
+	public boolean hasNext() {
+		if ((this.thread == null) && !this.canceled) {
+			this.start();
+		}
+		if (this.next == null) {
+			try {
+				this.next = this.queue.take();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				this.next = RecordIterator.END;
+			}
+		}
+		if (this.next == RecordIterator.END) {
+			if (this.failure != null) {
+				throw this.failure;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	public Row next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final Row row = (Row) this.next;
+		this.next = null;
+		return row;
+	}
+
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Stops the parsing thread and discards the records waiting to be
+	 * consumed; {@link #hasNext()} returns false afterwards.
+	 */
+	public void cancel() {
+		this.canceled = true;
+		this.next = RecordIterator.END;
+		if (this.thread != null) {
+			this.queue.clear();
+			this.thread.interrupt();
+		}
+	}
+
+	public void record(final Row row) {
+		if (this.canceled) {
+			throw new CancellationException();
+		}
+		this.put(row.copy());
+	}
+
+	public void flush() {
+	}
+
+	public void close() {
+		this.put(RecordIterator.END);
+	}
+
+	private void put(final Object element) {
+		try {
+			this.queue.put(element);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException();
+		}
+	}
+
+	private void start() {
+		this.dump.addListener(this);
+		this.thread = new Thread("josser-records") {
+			@Override
+			public void run() {
+				try {
+					RecordIterator.this.dump.stream(
+							RecordIterator.this.readlines,
+							RecordIterator.this.writelines);
+				} catch (final RuntimeException e) {
+					RecordIterator.this.fail(e);
+				} catch (final Error e) {
+					RecordIterator.this.fail(new IllegalStateException(e));
+				}
+			}
+		};
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	private void fail(final RuntimeException e) {
+		if (this.canceled) {
+			// wakes a consumer still waiting for the next record
+			this.queue.clear();
+			this.queue.offer(RecordIterator.END);
+		} else {
+			this.failure = e;
+			this.close();
+		}
+	}
+}
@@ -35,10 +35,17 @@
 
 package net.sf.josser.rdf.impl;
 
+import java.util.Date;
+
 import net.sf.josser.jdbc.impl.Category;
 import net.sf.josser.jdbc.impl.ExternalPage;
+import net.sf.josser.jdbc.impl.Stats;
+import net.sf.josser.jdbc.impl.Url;
 import net.sf.josser.Josser;
+import net.sf.josser.util.Aggregates;
 import net.sf.josser.util.Static;
+import net.sf.josser.util.Tree;
+import net.sf.josser.util.UrlSet;
 
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
@@ -49,9 +56,19 @@ public class Content extends Structure {
 
 	private ExternalPage externalPageRow = null;
 
+	// External pages read so far, whatever the topic filter
+	private int pages = 0;
+
 	private boolean processingExternalPageDescription = false;
 
-	private String externalPageDescription = null;
+	// Reused across pages, multi-line descriptions are appended to it
+	private final StringBuilder externalPageDescription = new StringBuilder(1024);
+
+	private Stats statsRow = null;
+
+	private Url urlRow = null;
+
+	private UrlSet urls = null;
 
 	public Content(final String path) {
 		super(path);
@@ -61,6 +78,8 @@ public class Content extends Structure {
 		this.setExternalPageRow(null);
 		this.setProcessingExternalPageDescription(false);
 		this.setExternalPageDescription(null);
+		this.setStatsRow(new Stats());
+		this.setUrlRow(new Url());
 		this.setPhase(0);
 	}
 
@@ -156,7 +175,19 @@ public class Content extends Structure {
 			}
 		} else if (line.startsWith("</ExternalPage>")) {
 			this.setProcessingExternalPage(false);
-			this.getExternalPageRow().addBatch();
+			if (Static.isFiltermatching()) {
+				if (Josser.isHierarchy() || Josser.isStats()) {
+					final int node = Static.getTree().getNode(
+							this.getExternalPageRow().getCatid());
+					if (node >= 0) {
+						Static.getAggregates().addPage(node);
+					}
+				}
+				if (this.getUrls() != null) {
+					this.processUrl();
+				}
+			}
+			this.emit(this.getExternalPageRow());
 		} else if (line.startsWith("  <d:Description>")) {
 			tokens = line.split("  <d:Description>");
 			if (tokens.length == 2) {
@@ -177,16 +208,13 @@ public class Content extends Structure {
 		} else if (line.endsWith("  </d:Description>")) {
 			tokens = line.split("  </d:Description>");
 			if (tokens.length == 2) {
-				this.setExternalPageDescription(this
-						.getExternalPageDescription()
-						+ tokens[0]);
+				this.appendExternalPageDescription(tokens[0]);
 			}
 			this.setProcessingExternalPageDescription(false);
 			this.getExternalPageRow().setDescription(
 					this.getExternalPageDescription());
 		} else if (this.isProcessingExternalPageDescription()) {
-			this.setExternalPageDescription(this.getExternalPageDescription()
-					+ line);
+			this.appendExternalPageDescription(line);
 		} else if (line.startsWith("  <topic>")) {
 			/*
 			 * FIXME At the moment parsing of Topic is done once in nodes of
@@ -247,12 +275,17 @@ public class Content extends Structure {
 			if (tokens.length == 1) {
 				about = tokens[0];
 				this.setExternalPageRow(new ExternalPage());
+				this.getExternalPageRow().setPageid(++this.pages);
 				this.getExternalPageRow().setCatid(
 						this.getCategoryRow().getCatid());
+				this.getExternalPageRow().setTopid(
+						Static.getPartitions().getId(
+								this.getCategoryRow().getTopic()));
 				this.getExternalPageRow().setLink(about);
 				this.setProcessingExternalPage(true);
 			} else {
 				this.setExternalPageRow(new ExternalPage());
+				this.getExternalPageRow().setPageid(++this.pages);
 				this.getExternalPageRow().setLink("");
 				this.setProcessingExternalPage(true);
 			}
@@ -288,16 +321,126 @@ public class Content extends Structure {
 		}
 	}
 
+	/**
+	 * Normalizes the link of the current external page and sets its urlid,
+	 * adding the link to table dmoz_urls when it is seen for the first time.
+	 */
+	protected void processUrl() {
+		final String url = UrlSet.normalize(this.getExternalPageRow()
+				.getLink());
+		int urlid = this.getUrls().find(url);
+		if (urlid == 0) {
+			urlid = this.getUrls().add(url);
+			this.getUrlRow().setUrlid(urlid);
+			this.getUrlRow().setUrl(url);
+			this.emit(this.getUrlRow());
+		}
+		this.getExternalPageRow().setUrlid(urlid);
+	}
+
+	/**
+	 * Sums page and subcategory counts of every imported category over its
+	 * subtree and stores them in table dmoz_stats, committing every
+	 * grouplines rows.
+	 */
+	public void storeStats(final int grouplines) {
+		final Tree tree = Static.getTree();
+		final Aggregates aggregates = Static.getAggregates();
+		System.out.println("Storing statistics of " + tree.size()
+				+ " categories\n");
+		final long start_time = new Date().getTime();
+		aggregates.sum(tree);
+		// Every node is under the topic filter, whatever the last topic read
+		final boolean filtermatching = Static.isFiltermatching();
+		Static.setFiltermatching(true);
+		try {
+			for (int node = 0; node < tree.size(); node++) {
+				this.getStatsRow().setCatid(tree.getCatid(node));
+				this.getStatsRow().setPages(aggregates.getPages(node));
+				this.getStatsRow().setAllpages(aggregates.getAllPages(node));
+				this.getStatsRow().setChildren(aggregates.getChildren(node));
+				this.getStatsRow().setAllchildren(
+						aggregates.getAllChildren(node));
+				this.getStatsRow().setLastUpdate(
+						aggregates.getLastUpdate(node));
+				this.emit(this.getStatsRow());
+				if (((node + 1) % grouplines) == 0) {
+					this.store("statistics of " + (node + 1) + " categories",
+							start_time);
+				}
+			}
+			this.store("statistics of " + tree.size() + " categories",
+					start_time);
+		} finally {
+			Static.setFiltermatching(filtermatching);
+		}
+	}
+
 	@Override
 	public int batchStore() {
 		int result = 0;
-		result += this.getExternalPageRow().executeBatch();
+		if (this.getExternalPageRow() != null) {
+			result += this.getExternalPageRow().executeBatch();
+		}
+		result += this.getUrlRow().executeBatch();
+		result += this.getStatsRow().executeBatch();
 		return result;
 	}
 
 	@Override
 	public int batchClear() {
-		return this.getExternalPageRow().batchClear();
+		int result = 0;
+		if (this.getExternalPageRow() != null) {
+			result += this.getExternalPageRow().batchClear();
+		}
+		result += this.getUrlRow().batchClear();
+		result += this.getStatsRow().batchClear();
+		return result;
+	}
+
+	/**
+	 * @param statsRow
+	 *            The statsRow to set.
+	 */
+	protected void setStatsRow(final Stats statsRow) {
+		this.statsRow = statsRow;
+	}
+
+	/**
+	 * @return Returns the statsRow.
+	 */
+	protected Stats getStatsRow() {
+		return this.statsRow;
+	}
+
+	/**
+	 * @param urlRow
+	 *            The urlRow to set.
+	 */
+	protected void setUrlRow(final Url urlRow) {
+		this.urlRow = urlRow;
+	}
+
+	/**
+	 * @return Returns the urlRow.
+	 */
+	protected Url getUrlRow() {
+		return this.urlRow;
+	}
+
+	/**
+	 * @param urls
+	 *            The urls to set.
+	 */
+	protected void setUrls(final UrlSet urls) {
+		this.urls = urls;
+	}
+
+	/**
+	 * @return Returns the urls.
+	 */
+	protected UrlSet getUrls() {
+		return this.urls;
 	}
 
 	/**
@@ -306,14 +449,25 @@ public class Content extends Structure {
 	 */
 	protected void setExternalPageDescription(
 			final String externalPageDescription) {
-		this.externalPageDescription = externalPageDescription;
+		this.externalPageDescription.setLength(0);
+		if (externalPageDescription != null) {
+			this.externalPageDescription.append(externalPageDescription);
+		}
+	}
+
+	/**
+	 * @param line
+	 *            The line of a multi-line description to append.
+	 */
+	protected void appendExternalPageDescription(final String line) {
+		this.externalPageDescription.append(line);
 	}
 
 	/**
 	 * @return Returns the externalPageDescription.
 	 */
 	protected String getExternalPageDescription() {
-		return this.externalPageDescription;
+		return this.externalPageDescription.toString();
 	}
 
 	/**
@@ -35,10 +35,39 @@
 
 package net.sf.josser.rdf.impl;
 
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.josser.Josser;
+import net.sf.josser.jdbc.IDialect;
+import net.sf.josser.jdbc.Row;
+import net.sf.josser.rdf.IRecordListener;
+import net.sf.josser.rdf.RecordIterator;
+import net.sf.josser.util.DumpStats;
+import net.sf.josser.util.Partitions;
+import net.sf.josser.util.Static;
+import net.sf.josser.util.UrlSet;
+
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
  */
 public class Dump {
+	public static final String[] TABLES = { "dmoz_aliases", "dmoz_altlangs",
+			"dmoz_categories", "dmoz_editors", "dmoz_externalpages",
+			"dmoz_hierarchy", "dmoz_letterbars", "dmoz_narrows",
+			"dmoz_newsgroups", "dmoz_related", "dmoz_stats", "dmoz_symbolics",
+			"dmoz_urls" };
+
 	private String path = "g:/dmoz/";
 
 	private String structureFile = "structure.rdf.u8";
@@ -59,6 +88,11 @@ public class Dump {
 
 	private Content cparser = null;
 
+	private final List<IRecordListener> listeners = new ArrayList<IRecordListener>();
+
+	// Statements creating again the indexes dropped by keys(false)
+	private final List<String> rebuild = new ArrayList<String>();
+
 	public Dump(final String path) {
 		this.path = path;
 		this.setSpreparser(new StructurePre(this.structurePath()));
@@ -68,10 +102,249 @@ public class Dump {
 
 	public void parse(final String dbtype, final int readlines,
 			final int writelines) {
+		this.presize();
 		this.getSpreparser().parse(readlines);
-		this.getSparser().parse(writelines);
-		System.gc();
-		this.getCparser().parse(writelines);
+		if ((Josser.getPartitions() > 0) && this.getSparser().isStoring()) {
+			this.partition(dbtype);
+		}
+		final boolean keys = Josser.isDisablekeys()
+				&& this.getSparser().isStoring();
+		if (keys) {
+			this.keys(false);
+		}
+		try {
+			this.getSparser().parse(writelines);
+			if (Josser.isHierarchy()) {
+				this.getSparser().storeHierarchy(writelines);
+			}
+			this.getSparser().close();
+			if (Static.getReferences() != null) {
+				Static.getReferences().report(System.out);
+			}
+			System.gc();
+			this.getCparser().parse(writelines);
+			if (Josser.isStats()) {
+				this.getCparser().storeStats(writelines);
+			}
+			this.getCparser().close();
+		} finally {
+			// Indexes are restored even when the load failed
+			if (keys) {
+				this.keys(true);
+			}
+		}
+		for (final IRecordListener listener : this.listeners) {
+			listener.close();
+		}
+	}
+
+	/**
+	 * Sizes topic index and dictionary, and the set of distinct links, from
+	 * the statistics of the dumps.
+	 */
+	protected void presize() {
+		String filter = Josser.getTopicfilter();
+		if (filter == null) {
+			filter = "";
+		}
+		System.out.println("Counting records of RDF dumps:\n" + "  "
+				+ this.structurePath() + "\n" + "  " + this.contentPath());
+		final DumpStats structure = DumpStats.get(this.structurePath(),
+				DumpStats.STRUCTURE, filter);
+		final DumpStats content = DumpStats.get(this.contentPath(),
+				DumpStats.CONTENT, filter);
+		System.out.println(structure.toString() + content.toString());
+		// Every topic is indexed, whatever the topic filter
+		final long topics = structure.getTotal("topics");
+		if (Josser.isDictionary()) {
+			Static.initTopicDictionary(DumpStats.capacity(topics, 1024));
+		} else {
+			Static.initTopicsHashtable(DumpStats.capacity(topics * 4 / 3 + 1,
+					11));
+		}
+		if (Josser.isUrls()) {
+			this.getCparser().setUrls(
+					new UrlSet(DumpStats.capacity(content
+							.getCount("externalpages"), 1024)));
+		}
+	}
+
+	/**
+	 * Partitions tables by the top-level topics read from the structure dump.
+	 */
+	protected void partition(final String dbtype) {
+		final Partitions partitions = Static.getPartitions();
+		// Tables partitioned by a previous import are kept with their rows
+		final List<String> partitioned = new ArrayList<String>();
+		try {
+			final PreparedStatement stmt = Josser.getConnection()
+					.prepareStatement(Partitions.getPartitioned(dbtype));
+			for (int i = 0; i < Partitions.TABLES.length; i++) {
+				stmt.setString(1, Partitions.TABLES[i]);
+				final ResultSet rs = stmt.executeQuery();
+				if (rs.next() && (rs.getInt(1) > 0)) {
+					partitioned.add(Partitions.TABLES[i]);
+				}
+				rs.close();
+			}
+			stmt.close();
+		} catch (final SQLException e) {
+			e.printStackTrace(System.err);
+			try {
+				Josser.getConnection().rollback();
+			} catch (final SQLException re) {
+				re.printStackTrace(System.err);
+			}
+			return;
+		}
+		if (partitioned.size() == Partitions.TABLES.length) {
+			System.out.println("Tables already partitioned.\n");
+		} else if (this.execute(partitions.getDDL(dbtype, partitioned))) {
+			System.out.println("Partitioned tables by " + partitions.size()
+					+ " top-level topics.\n");
+		}
+	}
+
+	/**
+	 * Drops the non unique indexes of all tables, or creates again the
+	 * indexes dropped, through the dialect of the database engine. Unique
+	 * indexes are kept, upserts and partitions relying on them. Statements
+	 * which fail to create indexes are kept and printed.
+	 */
+	protected void keys(final boolean enable) {
+		if (enable) {
+			if (this.rebuild.isEmpty()) {
+				return;
+			}
+			// One at a time, DDL being committed by statement on MySQL
+			final List<String> failed = new ArrayList<String>();
+			for (final String statement : this.rebuild) {
+				if (!this.execute(Collections.singletonList(statement))) {
+					failed.add(statement);
+				}
+			}
+			this.rebuild.clear();
+			this.rebuild.addAll(failed);
+			if (failed.isEmpty()) {
+				System.out.println("Rebuilt indexes dropped while loading.\n");
+			} else {
+				System.err.println("Indexes dropped while loading could not"
+						+ " be rebuilt, statements left to execute:");
+				for (final String statement : failed) {
+					System.err.println("  " + statement + ";");
+				}
+			}
+			return;
+		}
+		final IDialect dialect = Josser.getDialect();
+		try {
+			final DatabaseMetaData metadata = Josser.getConnection()
+					.getMetaData();
+			for (int i = 0; i < Dump.TABLES.length; i++) {
+				final Map<String, List<String>> indexes = Dump.getIndexes(
+						metadata, Dump.TABLES[i]);
+				final String[] names = indexes.keySet().toArray(
+						new String[indexes.size()]);
+				final String[][] columns = new String[names.length][];
+				for (int j = 0; j < names.length; j++) {
+					columns[j] = indexes.get(names[j]).toArray(
+							new String[0]);
+				}
+				// Indexes of a table are rebuilt only once dropped
+				if (this.execute(Arrays.asList(dialect.getDropIndexes(
+						Dump.TABLES[i], names)))) {
+					this.rebuild.addAll(Arrays.asList(dialect
+							.getCreateIndexes(Dump.TABLES[i], names, columns)));
+				}
+			}
+		} catch (final SQLException e) {
+			e.printStackTrace(System.err);
+		}
+	}
+
+	/**
+	 * @return Returns the columns of the non unique indexes of table, by
+	 *         index name.
+	 */
+	private static Map<String, List<String>> getIndexes(
+			final DatabaseMetaData metadata, final String table)
+			throws SQLException {
+		final Map<String, List<String>> indexes = new LinkedHashMap<String, List<String>>();
+		final ResultSet rs = metadata.getIndexInfo(null, null, table, false,
+				true);
+		try {
+			// Rows are ordered by index name and position of columns
+			while (rs.next()) {
+				final String name = rs.getString("INDEX_NAME");
+				if ((name == null) || !rs.getBoolean("NON_UNIQUE")
+						|| (rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic)) {
+					continue;
+				}
+				List<String> columns = indexes.get(name);
+				if (columns == null) {
+					columns = new ArrayList<String>();
+					indexes.put(name, columns);
+				}
+				columns.add(rs.getString("COLUMN_NAME"));
+			}
+		} finally {
+			rs.close();
+		}
+		return indexes;
+	}
+
+	/**
+	 * Executes and commits statements.
+	 *
+	 * @return Returns false on failure.
+	 */
+	protected boolean execute(final List<String> statements) {
+		try {
+			final Statement stmt = Josser.getConnection().createStatement();
+			for (final String statement : statements) {
+				stmt.execute(statement);
+			}
+			stmt.close();
+			Josser.getConnection().commit();
+			return true;
+		} catch (final Exception e) {
+			e.printStackTrace(System.err);
+			try {
+				Josser.getConnection().rollback();
+			} catch (final SQLException re) {
+				re.printStackTrace(System.err);
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Parses the dumps handing records to the registered listeners only,
+	 * without storing them and without any JDBC connection.
+	 */
+	public void stream(final int readlines, final int writelines) {
+		this.getSparser().setStoring(false);
+		this.getCparser().setStoring(false);
+		this.parse(null, readlines, writelines);
+	}
+
+	/**
+	 * @return Returns a lazy iterator over the records of the dumps, holding at
+	 *         most <code>capacity</code> parsed records in memory.
+	 */
+	public Iterator<Row> iterator(final int readlines, final int writelines,
+			final int capacity) {
+		return new RecordIterator(this, readlines, writelines, capacity);
+	}
+
+	/**
+	 * @param listener
+	 *            The listener to add to both structure and content parsers.
+	 */
+	public void addListener(final IRecordListener listener) {
+		this.listeners.add(listener);
+		this.getSparser().addListener(listener);
+		this.getCparser().addListener(listener);
 	}
 
 	/**
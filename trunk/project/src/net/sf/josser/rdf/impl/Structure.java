@@ -35,10 +35,16 @@
 
 package net.sf.josser.rdf.impl;
 
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+
+import net.sf.josser.jdbc.Row;
 import net.sf.josser.jdbc.impl.Alias;
 import net.sf.josser.jdbc.impl.AltLang;
 import net.sf.josser.jdbc.impl.Category;
 import net.sf.josser.jdbc.impl.Editor;
+import net.sf.josser.jdbc.impl.Hierarchy;
 import net.sf.josser.jdbc.impl.LetterBar;
 import net.sf.josser.jdbc.impl.Narrow;
 import net.sf.josser.jdbc.impl.NewsGroup;
@@ -46,7 +52,9 @@ import net.sf.josser.jdbc.impl.Related;
 import net.sf.josser.jdbc.impl.Symbolic;
 import net.sf.josser.rdf.Parser;
 import net.sf.josser.Josser;
+import net.sf.josser.util.References;
 import net.sf.josser.util.Static;
+import net.sf.josser.util.Tree;
 
 /**
  * @author Copyright © Giovanni Novelli. All rights reserved.
@@ -56,7 +64,8 @@ public class Structure extends Parser {
 
 	private AltLang altlangRow = null;
 
-	private String categoryDescription = null;
+	// Reused across categories, multi-line descriptions are appended to it
+	private final StringBuilder categoryDescription = new StringBuilder(1024);
 
 	private Category categoryRow = null;
 
@@ -66,6 +75,8 @@ public class Structure extends Parser {
 
 	private Editor editorRow = null;
 
+	private Hierarchy hierarchyRow = null;
+
 	private LetterBar letterbarRow = null;
 
 	private Narrow narrowRow = null;
@@ -99,10 +110,15 @@ public class Structure extends Parser {
 		this.setAltlangRow(new AltLang());
 		this.setNewsGroupRow(new NewsGroup());
 		this.setSymbolicRow(new Symbolic());
+		this.setHierarchyRow(new Hierarchy());
 
 		this.setProcessingAlias(false);
 		this.setAliasRow(new Alias());
 		this.setPhase(0);
+		if (Josser.getReferences() != null) {
+			Static.initReferences(Josser.getReferences().equalsIgnoreCase(
+					"repair"));
+		}
 	}
 
 	@Override
@@ -117,6 +133,7 @@ public class Structure extends Parser {
 		result += this.getNewsGroupRow().batchClear();
 		result += this.getRelatedRow().batchClear();
 		result += this.getSymbolicRow().batchClear();
+		result += this.getHierarchyRow().batchClear();
 		return result;
 	}
 
@@ -132,6 +149,7 @@ public class Structure extends Parser {
 		result += this.getNewsGroupRow().executeBatch();
 		result += this.getRelatedRow().executeBatch();
 		result += this.getSymbolicRow().executeBatch();
+		result += this.getHierarchyRow().executeBatch();
 		return result;
 	}
 
@@ -153,7 +171,7 @@ public class Structure extends Parser {
 	 * @return Returns the categoryDescription.
 	 */
 	protected String getCategoryDescription() {
-		return this.categoryDescription;
+		return this.categoryDescription.toString();
 	}
 
 	/**
@@ -184,6 +202,13 @@ public class Structure extends Parser {
 		return this.editorRow;
 	}
 
+	/**
+	 * @return Returns the hierarchyRow.
+	 */
+	protected Hierarchy getHierarchyRow() {
+		return this.hierarchyRow;
+	}
+
 	/**
 	 * @return Returns the letterbarRow.
 	 */
@@ -241,6 +266,56 @@ public class Structure extends Parser {
 		return this.processingCategoryDescription;
 	}
 
+	/**
+	 * Numbers the tree of imported categories as nested sets and stores it
+	 * in table dmoz_hierarchy, committing every grouplines rows.
+	 */
+	public void storeHierarchy(final int grouplines) {
+		final Tree tree = Static.getTree();
+		System.out.println("Storing hierarchy of " + tree.size()
+				+ " categories\n");
+		final long start_time = new Date().getTime();
+		tree.number();
+		if (this.isStoring() && Josser.isUpsert()) {
+			this.clearHierarchy();
+		}
+		// Every node is under the topic filter, whatever the last topic read
+		final boolean filtermatching = Static.isFiltermatching();
+		Static.setFiltermatching(true);
+		try {
+			for (int node = 0; node < tree.size(); node++) {
+				this.getHierarchyRow().setCatid(tree.getCatid(node));
+				this.getHierarchyRow().setLft(tree.getLft(node));
+				this.getHierarchyRow().setRgt(tree.getRgt(node));
+				this.getHierarchyRow().setDepth(tree.getDepth(node));
+				this.emit(this.getHierarchyRow());
+				if (((node + 1) % grouplines) == 0) {
+					this.store("hierarchy of " + (node + 1) + " categories",
+							start_time);
+				}
+			}
+			this.store("hierarchy of " + tree.size() + " categories",
+					start_time);
+		} finally {
+			Static.setFiltermatching(filtermatching);
+		}
+	}
+
+	/**
+	 * Deletes the hierarchy stored by a previous import: nested sets are
+	 * numbered again by every import, so stored rows would clash on lft.
+	 */
+	private void clearHierarchy() {
+		try {
+			final Statement stmt = Josser.getConnection().createStatement();
+			stmt.executeUpdate("DELETE FROM dmoz_hierarchy");
+			stmt.close();
+			Josser.getConnection().commit();
+		} catch (final SQLException e) {
+			e.printStackTrace(System.err);
+		}
+	}
+
 	public void process(final String line) {
 		this.setProcessed(false);
 		if (this.isProcessingCategory() || this.isProcessingAlias()) {
@@ -285,7 +360,8 @@ public class Structure extends Parser {
 		} else if (line.startsWith("</Alias>")) {
 			this.setProcessingAlias(false);
 			// this.aliasRow.store(con);
-			this.getAliasRow().addBatch();
+			this.emitReference(this.getAliasRow(), "tcatid", this
+					.getAliasRow().getTarget(), this.getAliasRow().getTcatid());
 		} else {
 			this.setProcessed(false);
 		}
@@ -416,7 +492,8 @@ public class Structure extends Parser {
 							Static.findTopic(this.getLetterbarRow()
 									.getLetterbar()));
 					// this.letterbarRow.store(con);
-					this.getLetterbarRow().addBatch();
+					this.emitReference(this.getLetterbarRow(), "lcatid",
+							letterbar, this.getLetterbarRow().getLcatid());
 				}
 			}
 		} else if (line.startsWith("  <editor r:resource=\"")) { // editor
@@ -429,7 +506,7 @@ public class Structure extends Parser {
 					editor = tokens[0];
 					this.getEditorRow().setEditor(editor);
 					// this.editorRow.store(con);
-					this.getEditorRow().addBatch();
+					this.emit(this.getEditorRow());
 				}
 			}
 		} else if (line.startsWith("  <related r:resource=\"")) { // related
@@ -446,7 +523,8 @@ public class Structure extends Parser {
 									Static.findTopic(this.getRelatedRow()
 											.getRelated()));
 					// this.relatedRow.store(con);
-					this.getRelatedRow().addBatch();
+					this.emitReference(this.getRelatedRow(), "rcatid",
+							related, this.getRelatedRow().getRcatid());
 				}
 			}
 		} else if (line.startsWith("  <altlang r:resource=\"")) { // altlang
@@ -467,7 +545,8 @@ public class Structure extends Parser {
 								Static.findTopic(this.getAltlangRow()
 										.getResource()));
 						// this.altlangRow.store(con);
-						this.getAltlangRow().addBatch();
+						this.emitReference(this.getAltlangRow(), "rcatid",
+								resource, this.getAltlangRow().getRcatid());
 					}
 				}
 			}
@@ -486,7 +565,7 @@ public class Structure extends Parser {
 						this.getNewsGroupRow().setType(type);
 						this.getNewsGroupRow().setNewsGroup(newsGroup);
 						// this.newsGroupRow.store(con);
-						this.getNewsGroupRow().addBatch();
+						this.emit(this.getNewsGroupRow());
 					}
 				}
 			}
@@ -494,19 +573,27 @@ public class Structure extends Parser {
 			this.setProcessingCategory(false);
 			this.getCategoryRow().setFatherid(
 					Static.findParent(this.getCtopic()));
+			if (Static.isFiltermatching()
+					&& (Josser.isHierarchy() || Josser.isStats())) {
+				final int node = Static.getTree().add(
+						this.getCategoryRow().getCatid(),
+						this.getCategoryRow().getFatherid(),
+						this.getCtopic().split("/").length - 1);
+				Static.getAggregates().setLastUpdate(node,
+						this.getCategoryRow().getLastUpdate());
+			}
 			// this.categoryRow.store(con);
-			this.getCategoryRow().addBatch();
+			this.emit(this.getCategoryRow());
 		} else if (line.endsWith("</d:Description>")) {
 			tokens = null;
 			tokens = line.split("</d:Description>");
 			if (tokens.length == 2) {
-				this.setCategoryDescription(this.getCategoryDescription()
-						+ tokens[0]);
+				this.appendCategoryDescription(tokens[0]);
 			}
 			this.setProcessingCategoryDescription(false);
 			this.getCategoryRow().setDescription(this.getCategoryDescription());
 		} else if (this.isProcessingCategoryDescription()) {
-			this.setCategoryDescription(this.getCategoryDescription() + line);
+			this.appendCategoryDescription(line);
 		} else if (line.startsWith("  <symbolic")) {
 			String start = null;
 			tokens = null;
@@ -538,7 +625,8 @@ public class Structure extends Parser {
 							Static.findTopic(this.getSymbolicRow()
 									.getResource()));
 					// this.symbolicRow.store(con);
-					this.getSymbolicRow().addBatch();
+					this.emitReference(this.getSymbolicRow(), "scatid",
+							resource, this.getSymbolicRow().getScatid());
 				}
 			}
 		} else if (line.startsWith("  <narrow")) {
@@ -567,7 +655,8 @@ public class Structure extends Parser {
 					this.getNarrowRow().setNcatid(
 							Static.findTopic(this.getNarrowRow().getNarrow()));
 					// this.narrowRow.store(con);
-					this.getNarrowRow().addBatch();
+					this.emitReference(this.getNarrowRow(), "ncatid", narrow,
+							this.getNarrowRow().getNcatid());
 				}
 			}
 		} else if (line.startsWith("  <d:charset")) {
@@ -586,6 +675,22 @@ public class Structure extends Parser {
 		}
 	}
 
+	/**
+	 * Emits row, holding a reference from the current category to target
+	 * resolved to tcatid, after checking the reference when references are
+	 * verified.
+	 */
+	protected void emitReference(final Row row, final String column,
+			final String target, final int tcatid) {
+		final References references = Static.getReferences();
+		if ((references == null)
+				|| !Static.isFiltermatching()
+				|| references.check(row.getTablename(), column, this
+						.getCcatid(), target, tcatid, Josser.getTopicfilter())) {
+			this.emit(row);
+		}
+	}
+
 	protected void processCategoryStart(final String line) {
 		this.setProcessed(true);
 		String Topic = null;
@@ -601,6 +706,8 @@ public class Structure extends Parser {
 				this.setCategoryDescription(null);
 				this.setCategoryRow(new Category());
 				this.getCategoryRow().setTopic(Topic);
+				this.getCategoryRow().setTopid(
+						Static.getPartitions().getId(Topic));
 				this.setCtopic(Topic);
 				Static
 						.setFiltermatching(Topic.startsWith(Josser
@@ -639,7 +746,18 @@ public class Structure extends Parser {
 	 *            The categoryDescription to set.
 	 */
 	protected void setCategoryDescription(final String categoryDescription) {
-		this.categoryDescription = categoryDescription;
+		this.categoryDescription.setLength(0);
+		if (categoryDescription != null) {
+			this.categoryDescription.append(categoryDescription);
+		}
+	}
+
+	/**
+	 * @param line
+	 *            The line of a multi-line description to append.
+	 */
+	protected void appendCategoryDescription(final String line) {
+		this.categoryDescription.append(line);
 	}
 
 	/**
@@ -674,6 +792,14 @@ public class Structure extends Parser {
 		this.editorRow = editorRow;
 	}
 
+	/**
+	 * @param hierarchyRow
+	 *            The hierarchyRow to set.
+	 */
+	protected void setHierarchyRow(final Hierarchy hierarchyRow) {
+		this.hierarchyRow = hierarchyRow;
+	}
+
 	/**
 	 * @param letterbarRow
 	 *            The letterbarRow to set.
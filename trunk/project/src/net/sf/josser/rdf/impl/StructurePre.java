@@ -67,7 +67,12 @@ public class StructurePre extends Parser {
 		this.setPath(path);
 		this.setProcessingCategory(false);
 		this.setProcessingCategoryDescription(false);
-		Static.initTopicsHashtable();
+		if (Josser.isDictionary()) {
+			Static.initTopicDictionary();
+		} else {
+			Static.initTopicsHashtable();
+		}
+		Static.initPartitions();
 	}
 
 	@Override
@@ -99,6 +104,12 @@ public class StructurePre extends Parser {
 				}
 			}
 			in.close();
+			if (Josser.isHierarchy() || Josser.isStats()) {
+				Static.initTree(this.getCounter());
+			}
+			if (Static.getTopicDictionary() != null) {
+				Static.getTopicDictionary().build();
+			}
 			final Date current_date = new Date();
 			final long elapsed_time = current_date.getTime() - start_time;
                         System.out.println("  Read " +
@@ -107,7 +118,8 @@ public class StructurePre extends Parser {
                                            elapsed_time/1000.0 +
                                            " seconds.\n");
 		} catch (final IOException e) {
-			e.printStackTrace(System.err);
+			throw new IllegalStateException("Cannot read RDF dump "
+					+ this.getPath(), e);
 		}
 	}
 
@@ -149,11 +161,17 @@ public class StructurePre extends Parser {
 		} else if (line.startsWith("</Topic>")) {
 			this.setProcessingCategory(false);
                         final Integer icatid = new Integer(this.getCcatid());
-			Static.getTopicsHashtable().addTopic(this.getCtopic(), icatid);
+			if (Static.getTopicDictionary() != null) {
+				Static.getTopicDictionary().add(this.getCtopic(),
+						this.getCcatid());
+			} else {
+				Static.getTopicsHashtable().addTopic(this.getCtopic(), icatid);
+			}
 			// If current category matches topicfilter then count current
 			// category
 			if (this.getCtopic().startsWith(Josser.getTopicfilter())) {
 				this.setCounter(this.getCounter() + 1);
+				Static.getPartitions().add(this.getCtopic());
 			}
 		} else if (line.endsWith("</d:Description>")) {
 			tokens = null;
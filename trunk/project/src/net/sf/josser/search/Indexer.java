@@ -0,0 +1,113 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Indexer.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.search;
+
+import java.io.File;
+import java.io.IOException;
+
+import net.sf.josser.jdbc.Row;
+import net.sf.josser.jdbc.impl.Category;
+import net.sf.josser.jdbc.impl.ExternalPage;
+import net.sf.josser.rdf.IRecordListener;
+
+/**
+ * Indexes titles and descriptions of parsed categories and external pages
+ * into dmoz_categories.idx and dmoz_externalpages.idx inside a given
+ * directory.
+ * <p>
+ * Categories are identified by catid; external pages, which have no id of
+ * their own in the dumps, by their pageid, stored with them in
+ * dmoz_externalpages.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Indexer implements IRecordListener {
+	public static final String CATEGORIES = "dmoz_categories.idx";
+
+	public static final String EXTERNALPAGES = "dmoz_externalpages.idx";
+
+	private final InvertedIndex categories;
+
+	private final InvertedIndex externalPages;
+
+	public Indexer(final String directory) {
+		final File file = new File(directory);
+		file.mkdirs();
+		this.categories = new InvertedIndex(new File(file, Indexer.CATEGORIES));
+		this.externalPages = new InvertedIndex(new File(file,
+				Indexer.EXTERNALPAGES));
+	}
+
+	public void record(final Row row) {
+		try {
+			if (row instanceof Category) {
+				final Category category = (Category) row;
+				this.categories.add(category.getCatid(), Indexer.text(category
+						.getTitle(), category.getDescription()));
+			} else if (row instanceof ExternalPage) {
+				final ExternalPage externalPage = (ExternalPage) row;
+				this.externalPages.add(externalPage.getPageid(), Indexer.text(
+						externalPage.getTitle(), externalPage.getDescription()));
+			}
+		} catch (final IOException e) {
+			e.printStackTrace(System.err);
+		}
+	}
+
+	public void flush() {
+	}
+
+	/**
+	 * @return Returns title and description, leaving out missing ones.
+	 */
+	private static String text(final String title, final String description) {
+		if (title == null) {
+			return description;
+		} else if (description == null) {
+			return title;
+		}
+		return title + " " + description;
+	}
+
+	public void close() {
+		try {
+			this.categories.close();
+			this.externalPages.close();
+		} catch (final IOException e) {
+			e.printStackTrace(System.err);
+		}
+	}
+}
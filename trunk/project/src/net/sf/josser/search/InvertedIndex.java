@@ -0,0 +1,337 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * InvertedIndex.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Builds an inverted index file mapping terms to the sorted list of
+ * documents containing them.
+ * <p>
+ * Postings are accumulated in memory and flushed to a sorted temporary
+ * segment whenever more than {@link #SEGMENT} of them are pending; close()
+ * merges all segments into the index file. Postings lists are stored as
+ * varint encoded deltas, followed by a dictionary of sorted terms with
+ * document frequencies and postings offsets, so that {@link Searcher} only
+ * keeps the dictionary in memory.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class InvertedIndex {
+	public static final int MAGIC = 0x4A494431;
+
+	public static final int SEGMENT = 8 * 1024 * 1024;
+
+	private static final int MAX_TERM = 64;
+
+	/**
+	 * Growable list of documents containing a term.
+	 */
+	private static class Postings {
+		int[] docs = new int[4];
+
+		int size = 0;
+
+		void add(final int doc) {
+			if ((this.size > 0) && (this.docs[this.size - 1] == doc)) {
+				return;
+			}
+			if (this.size == this.docs.length) {
+				final int[] docs = new int[this.size * 2];
+				System.arraycopy(this.docs, 0, docs, 0, this.size);
+				this.docs = docs;
+			}
+			this.docs[this.size++] = doc;
+		}
+	}
+
+	/**
+	 * Sequential reader of a segment, ordered by its current term.
+	 */
+	private static class Segment implements Comparable<Segment> {
+		final DataInputStream in;
+
+		int remaining;
+
+		String term = null;
+
+		Segment(final File file) throws IOException {
+			this.in = new DataInputStream(new BufferedInputStream(
+					new FileInputStream(file), 65536));
+			this.remaining = this.in.readInt();
+		}
+
+		boolean next() throws IOException {
+			if (this.remaining == 0) {
+				this.in.close();
+				return false;
+			}
+			this.remaining--;
+			this.term = this.in.readUTF();
+			return true;
+		}
+
+		int[] postings() throws IOException {
+			final int[] docs = new int[InvertedIndex.readVarint(this.in)];
+			int doc = 0;
+			for (int i = 0; i < docs.length; i++) {
+				doc += InvertedIndex.readVarint(this.in);
+				docs[i] = doc;
+			}
+			return docs;
+		}
+
+		public int compareTo(final Segment other) {
+			return this.term.compareTo(other.term);
+		}
+	}
+
+	private final File file;
+
+	private final List<File> segments = new ArrayList<File>();
+
+	private Map<String, Postings> postings = new HashMap<String, Postings>();
+
+	private int pending = 0;
+
+	private final List<String> terms = new ArrayList<String>();
+
+	public InvertedIndex(final File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Adds all terms of text to the postings of doc. Documents do not need to
+	 * be added in order, but all text of a document has to be added before
+	 * the next document.
+	 */
+	public void add(final int doc, final String text) throws IOException {
+		InvertedIndex.tokenize(text, this.terms);
+		for (final String term : this.terms) {
+			Postings list = this.postings.get(term);
+			if (list == null) {
+				list = new Postings();
+				this.postings.put(term, list);
+			}
+			list.add(doc);
+		}
+		this.pending += this.terms.size();
+		if (this.pending > InvertedIndex.SEGMENT) {
+			this.flush();
+		}
+	}
+
+	public void close() throws IOException {
+		this.flush();
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(this.file), 65536));
+		final ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+		final DataOutputStream entries = new DataOutputStream(dictionary);
+		final PriorityQueue<Segment> queue = new PriorityQueue<Segment>();
+		for (final File segment : this.segments) {
+			final Segment reader = new Segment(segment);
+			if (reader.next()) {
+				queue.add(reader);
+			}
+		}
+		out.writeInt(InvertedIndex.MAGIC);
+		long offset = 4;
+		long previous = 0;
+		int count = 0;
+		final List<int[]> lists = new ArrayList<int[]>();
+		while (!queue.isEmpty()) {
+			final String term = queue.peek().term;
+			lists.clear();
+			while (!queue.isEmpty() && queue.peek().term.equals(term)) {
+				final Segment reader = queue.poll();
+				lists.add(reader.postings());
+				if (reader.next()) {
+					queue.add(reader);
+				}
+			}
+			final int[] docs = InvertedIndex.merge(lists);
+			entries.writeUTF(term);
+			InvertedIndex.writeVarint(entries, docs.length);
+			InvertedIndex.writeVarint(entries, (int) (offset - previous));
+			previous = offset;
+			offset += InvertedIndex.writeDeltas(out, docs, docs.length);
+			count++;
+		}
+		out.writeInt(count);
+		dictionary.writeTo(out);
+		out.writeLong(offset);
+		out.writeInt(InvertedIndex.MAGIC);
+		out.close();
+		for (final File segment : this.segments) {
+			segment.delete();
+		}
+		this.segments.clear();
+	}
+
+	/**
+	 * Writes pending postings, sorted by term and by document, to a new
+	 * temporary segment.
+	 */
+	private void flush() throws IOException {
+		final File segment = File.createTempFile("josser", ".seg", this.file
+				.getAbsoluteFile().getParentFile());
+		final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(segment), 65536));
+		final String[] sorted = this.postings.keySet().toArray(
+				new String[this.postings.size()]);
+		Arrays.sort(sorted);
+		out.writeInt(sorted.length);
+		for (final String term : sorted) {
+			final Postings list = this.postings.get(term);
+			Arrays.sort(list.docs, 0, list.size);
+			out.writeUTF(term);
+			InvertedIndex.writeVarint(out, list.size);
+			InvertedIndex.writeDeltas(out, list.docs, list.size);
+		}
+		out.close();
+		this.segments.add(segment);
+		this.postings = new HashMap<String, Postings>();
+		this.pending = 0;
+	}
+
+	private static int[] merge(final List<int[]> lists) {
+		if (lists.size() == 1) {
+			return lists.get(0);
+		}
+		int length = 0;
+		for (final int[] list : lists) {
+			length += list.length;
+		}
+		final int[] docs = new int[length];
+		length = 0;
+		for (final int[] list : lists) {
+			System.arraycopy(list, 0, docs, length, list.length);
+			length += list.length;
+		}
+		Arrays.sort(docs);
+		int size = 0;
+		for (int i = 0; i < docs.length; i++) {
+			if ((size == 0) || (docs[size - 1] != docs[i])) {
+				docs[size++] = docs[i];
+			}
+		}
+		if (size == docs.length) {
+			return docs;
+		}
+		final int[] unique = new int[size];
+		System.arraycopy(docs, 0, unique, 0, size);
+		return unique;
+	}
+
+	/**
+	 * Splits text in lower case terms made of letters and digits, skipping
+	 * duplicates and terms shorter than two characters.
+	 */
+	public static void tokenize(final String text, final List<String> terms) {
+		terms.clear();
+		if (text == null) {
+			return;
+		}
+		final int length = text.length();
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			final boolean letter = (i < length)
+					&& Character.isLetterOrDigit(text.charAt(i));
+			if (letter && (start < 0)) {
+				start = i;
+			} else if (!letter && (start >= 0)) {
+				if ((i - start) > 1) {
+					final String term = text.substring(start,
+							Math.min(i, start + InvertedIndex.MAX_TERM))
+							.toLowerCase();
+					if (!terms.contains(term)) {
+						terms.add(term);
+					}
+				}
+				start = -1;
+			}
+		}
+	}
+
+	/**
+	 * @return Returns the number of bytes written.
+	 */
+	static int writeDeltas(final DataOutputStream out, final int[] docs,
+			final int size) throws IOException {
+		final int before = out.size();
+		int previous = 0;
+		for (int i = 0; i < size; i++) {
+			InvertedIndex.writeVarint(out, docs[i] - previous);
+			previous = docs[i];
+		}
+		return out.size() - before;
+	}
+
+	static void writeVarint(final DataOutputStream out, int value)
+			throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	static int readVarint(final DataInputStream in) throws IOException {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Searcher.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.search;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads an index file written by {@link InvertedIndex}. Only the term
+ * dictionary is kept in memory; postings are read from disk on demand.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Searcher {
+	private static final int[] NONE = new int[0];
+
+	private final RandomAccessFile file;
+
+	private final String[] terms;
+
+	private final int[] frequencies;
+
+	private final long[] offsets;
+
+	public Searcher(final File file) throws IOException {
+		this.file = new RandomAccessFile(file, "r");
+		final long length = this.file.length();
+		this.file.seek(length - 12);
+		final long dictionary = this.file.readLong();
+		if ((this.file.readInt() != InvertedIndex.MAGIC) || (dictionary < 4)
+				|| (dictionary > length - 12)) {
+			this.file.close();
+			throw new IOException(file + " is not an index file");
+		}
+		this.file.seek(dictionary);
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileStream(this.file), 65536));
+		final int count = in.readInt();
+		this.terms = new String[count];
+		this.frequencies = new int[count];
+		this.offsets = new long[count];
+		long offset = 0;
+		for (int i = 0; i < count; i++) {
+			this.terms[i] = in.readUTF();
+			this.frequencies[i] = InvertedIndex.readVarint(in);
+			offset += InvertedIndex.readVarint(in);
+			this.offsets[i] = offset;
+		}
+	}
+
+	/**
+	 * @return Returns the number of distinct terms.
+	 */
+	public int getTerms() {
+		return this.terms.length;
+	}
+
+	/**
+	 * @return Returns the number of documents containing term.
+	 */
+	public int getFrequency(final String term) {
+		final int index = Arrays.binarySearch(this.terms, term.toLowerCase());
+		return index < 0 ? 0 : this.frequencies[index];
+	}
+
+	/**
+	 * @return Returns the sorted documents containing term.
+	 */
+	public int[] getPostings(final String term) throws IOException {
+		final int index = Arrays.binarySearch(this.terms, term.toLowerCase());
+		if (index < 0) {
+			return Searcher.NONE;
+		}
+		return this.read(index);
+	}
+
+	/**
+	 * @return Returns the sorted documents containing all terms of query.
+	 */
+	public int[] search(final String query) throws IOException {
+		final List<String> words = new ArrayList<String>();
+		InvertedIndex.tokenize(query, words);
+		if (words.isEmpty()) {
+			return Searcher.NONE;
+		}
+		final int[] indexes = new int[words.size()];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = Arrays.binarySearch(this.terms, words.get(i));
+			if (indexes[i] < 0) {
+				return Searcher.NONE;
+			}
+		}
+		// Intersect starting from the rarest term
+		for (int i = 1; i < indexes.length; i++) {
+			for (int j = i; (j > 0)
+					&& (this.frequencies[indexes[j]] < this.frequencies[indexes[j - 1]]); j--) {
+				final int swap = indexes[j];
+				indexes[j] = indexes[j - 1];
+				indexes[j - 1] = swap;
+			}
+		}
+		int[] docs = this.read(indexes[0]);
+		for (int i = 1; (i < indexes.length) && (docs.length > 0); i++) {
+			docs = Searcher.intersect(docs, this.read(indexes[i]));
+		}
+		return docs;
+	}
+
+	public void close() throws IOException {
+		this.file.close();
+	}
+
+	private synchronized int[] read(final int index) throws IOException {
+		this.file.seek(this.offsets[index]);
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new FileStream(this.file), 8192));
+		final int[] docs = new int[this.frequencies[index]];
+		int doc = 0;
+		for (int i = 0; i < docs.length; i++) {
+			doc += InvertedIndex.readVarint(in);
+			docs[i] = doc;
+		}
+		return docs;
+	}
+
+	private static int[] intersect(final int[] a, final int[] b) {
+		final int[] docs = new int[Math.min(a.length, b.length)];
+		int size = 0;
+		int i = 0;
+		int j = 0;
+		while ((i < a.length) && (j < b.length)) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				docs[size++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		final int[] result = new int[size];
+		System.arraycopy(docs, 0, result, 0, size);
+		return result;
+	}
+
+	/**
+	 * Sequential stream over a RandomAccessFile from its current position.
+	 */
+	private static class FileStream extends InputStream {
+		private final RandomAccessFile file;
+
+		FileStream(final RandomAccessFile file) {
+			this.file = file;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return this.file.read();
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len)
+				throws IOException {
+			return this.file.read(b, off, len);
+		}
+	}
+}
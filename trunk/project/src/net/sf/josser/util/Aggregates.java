@@ -0,0 +1,167 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Aggregates.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+/**
+ * Per category counters accumulated while parsing, indexed by the nodes of
+ * {@link Tree}. After sum() every node also holds the totals of its whole
+ * subtree.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Aggregates {
+	private int[] pages;
+
+	private long[] updates;
+
+	private int[] allPages = null;
+
+	private int[] children = null;
+
+	private int[] allChildren = null;
+
+	private long[] allUpdates = null;
+
+	public Aggregates(final int capacity) {
+		final int length = Math.max(capacity, 16);
+		this.pages = new int[length];
+		this.updates = new long[length];
+	}
+
+	public void addPage(final int node) {
+		this.ensure(node);
+		this.pages[node]++;
+	}
+
+	/**
+	 * @param lastUpdate
+	 *            The lastUpdate of the category, as in 2008-01-17 12:47:41.
+	 */
+	public void setLastUpdate(final int node, final String lastUpdate) {
+		this.ensure(node);
+		long digits = 0;
+		if (lastUpdate != null) {
+			for (int i = 0; i < lastUpdate.length(); i++) {
+				final char c = lastUpdate.charAt(i);
+				if ((c >= '0') && (c <= '9')) {
+					digits = (digits * 10) + (c - '0');
+				}
+			}
+		}
+		this.updates[node] = digits;
+	}
+
+	/**
+	 * Adds the counters of every node to all of its ancestors, visiting nodes
+	 * by decreasing lft so that children are always summed before fathers.
+	 */
+	public void sum(final Tree tree) {
+		if (!tree.isNumbered()) {
+			tree.number();
+		}
+		final int size = tree.size();
+		this.ensure(size - 1);
+		this.allPages = new int[size];
+		this.children = new int[size];
+		this.allChildren = new int[size];
+		this.allUpdates = new long[size];
+		final int[] order = new int[(2 * size) + 1];
+		for (int node = 0; node < size; node++) {
+			order[tree.getLft(node)] = node + 1;
+			this.allPages[node] = this.pages[node];
+			this.allUpdates[node] = this.updates[node];
+		}
+		for (int lft = order.length - 1; lft > 0; lft--) {
+			if (order[lft] == 0) {
+				continue;
+			}
+			final int node = order[lft] - 1;
+			final int father = tree.getFather(node);
+			if (father >= 0) {
+				this.allPages[father] += this.allPages[node];
+				this.children[father]++;
+				this.allChildren[father] += this.allChildren[node] + 1;
+				this.allUpdates[father] = Math.max(this.allUpdates[father],
+						this.allUpdates[node]);
+			}
+		}
+	}
+
+	public int getPages(final int node) {
+		return this.pages[node];
+	}
+
+	public int getAllPages(final int node) {
+		return this.allPages[node];
+	}
+
+	public int getChildren(final int node) {
+		return this.children[node];
+	}
+
+	public int getAllChildren(final int node) {
+		return this.allChildren[node];
+	}
+
+	/**
+	 * @return Returns the latest lastUpdate found in the subtree of node,
+	 *         formatted as in the dumps, or an empty string.
+	 */
+	public String getLastUpdate(final int node) {
+		final long digits = this.allUpdates[node];
+		if (digits == 0) {
+			return "";
+		}
+		return String.format("%04d-%02d-%02d %02d:%02d:%02d", Long
+				.valueOf(digits / 10000000000L), Long
+				.valueOf((digits / 100000000L) % 100), Long
+				.valueOf((digits / 1000000L) % 100), Long
+				.valueOf((digits / 10000L) % 100), Long
+				.valueOf((digits / 100L) % 100), Long.valueOf(digits % 100));
+	}
+
+	private void ensure(final int node) {
+		if (node >= this.pages.length) {
+			final int length = Math.max(node + 1, this.pages.length * 2);
+			final int[] pages = new int[length];
+			System.arraycopy(this.pages, 0, pages, 0, this.pages.length);
+			this.pages = pages;
+			final long[] updates = new long[length];
+			System.arraycopy(this.updates, 0, updates, 0, this.updates.length);
+			this.updates = updates;
+		}
+	}
+}
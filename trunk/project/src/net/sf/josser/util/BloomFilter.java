@@ -0,0 +1,88 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * BloomFilter.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+/**
+ * Fixed size Bloom filter over 64 bit hashes, using double hashing of the two
+ * halves of the hash to derive the probed bits.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class BloomFilter {
+	private final long[] bits;
+
+	private final long size;
+
+	private final int hashes;
+
+	/**
+	 * @param entries
+	 *            The expected number of entries.
+	 * @param bitsPerEntry
+	 *            The number of bits per expected entry, 10 giving about 1%
+	 *            false positives.
+	 */
+	public BloomFilter(final int entries, final int bitsPerEntry) {
+		final long size = Math.max(64L, (long) entries * bitsPerEntry);
+		this.bits = new long[(int) ((size + 63) >>> 6)];
+		this.size = (long) this.bits.length << 6;
+		this.hashes = Math.max(1, (int) Math.round(bitsPerEntry * 0.693));
+	}
+
+	public void add(final long hash) {
+		final int h1 = (int) hash;
+		final int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < this.hashes; i++) {
+			final long bit = ((h1 + (i * h2)) & 0xFFFFFFFFL) % this.size;
+			this.bits[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * @return Returns false when hash has surely never been added.
+	 */
+	public boolean mightContain(final long hash) {
+		final int h1 = (int) hash;
+		final int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < this.hashes; i++) {
+			final long bit = ((h1 + (i * h2)) & 0xFFFFFFFFL) % this.size;
+			if ((this.bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,360 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * DumpStats.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Counts of the records of a RDF dump, used to size data structures once
+ * before the dump is parsed.
+ * <p>
+ * Counts are taken by a parallel scan of the raw bytes of the dump, split in
+ * segments mapped in memory, matching line prefixes only. Every count is
+ * kept for the whole dump and for topics under the topic filter, following
+ * the last Topic line met, as the parsers do. Counts are cached in a
+ * properties file next to the dump, valid while size, modification time and
+ * topic filter of the dump do not change.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class DumpStats {
+	/**
+	 * Names and line prefixes of records counted in the structure dump, Topic
+	 * lines first as in every array of patterns.
+	 */
+	public static final String[][] STRUCTURE = { { "topics", "<Topic r:id=\"" },
+			{ "aliases", "<Alias r:id=\"" }, { "narrows", "  <narrow" },
+			{ "symbolics", "  <symbolic" },
+			{ "related", "  <related r:resource=\"" },
+			{ "letterbars", "  <letterbar r:resource=\"" },
+			{ "editors", "  <editor r:resource=\"" },
+			{ "altlangs", "  <altlang r:resource=\"" },
+			{ "newsgroups", "  <newsGroup r:resource=\"" } };
+
+	/**
+	 * Names and line prefixes of records counted in the content dump.
+	 */
+	public static final String[][] CONTENT = { { "topics", "<Topic r:id=\"" },
+			{ "externalpages", "<ExternalPage about=\"" } };
+
+	private static final int SEGMENT = 1 << 26;
+
+	// Longest line prefix matched beyond the end of a segment
+	private static final int OVERLAP = 1024;
+
+	private final String[][] patterns;
+
+	private final long[] totals;
+
+	private final long[] counts;
+
+	private DumpStats(final String[][] patterns) {
+		this.patterns = patterns;
+		this.totals = new long[patterns.length];
+		this.counts = new long[patterns.length];
+	}
+
+	/**
+	 * @return Returns the statistics of dump, read from its cache file when
+	 *         still valid, or scanned and cached otherwise.
+	 */
+	public static DumpStats get(final String path, final String[][] patterns,
+			final String filter) {
+		final File dump = new File(path);
+		final File cache = new File(path + ".stats");
+		final long start_time = System.currentTimeMillis();
+		DumpStats stats = DumpStats.load(dump, cache, patterns, filter);
+		if (stats == null) {
+			try {
+				stats = DumpStats.scan(dump, patterns, filter, Runtime
+						.getRuntime().availableProcessors());
+				stats.store(dump, cache, filter);
+				System.out.println("  Scanned " + dump.length() + " bytes in "
+						+ (System.currentTimeMillis() - start_time) / 1000.0
+						+ " seconds.");
+			} catch (final Exception e) {
+				e.printStackTrace(System.err);
+				return new DumpStats(patterns);
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * @return Returns the number of records named name under the topic
+	 *         filter.
+	 */
+	public long getCount(final String name) {
+		final int i = this.indexOf(name);
+		return i < 0 ? 0 : this.counts[i];
+	}
+
+	/**
+	 * @return Returns the number of records named name in the whole dump.
+	 */
+	public long getTotal(final String name) {
+		final int i = this.indexOf(name);
+		return i < 0 ? 0 : this.totals[i];
+	}
+
+	/**
+	 * @return Returns count as an int capacity, at least minimum.
+	 */
+	public static int capacity(final long count, final int minimum) {
+		return (int) Math.max(minimum, Math.min(count, Integer.MAX_VALUE / 2));
+	}
+
+	@Override
+	public String toString() {
+		String temp = "";
+		for (int i = 0; i < this.patterns.length; i++) {
+			temp = temp + "  " + this.patterns[i][0] + ": " + this.counts[i]
+					+ " of " + this.totals[i] + "\n";
+		}
+		return temp;
+	}
+
+	private int indexOf(final String name) {
+		for (int i = 0; i < this.patterns.length; i++) {
+			if (this.patterns[i][0].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static DumpStats load(final File dump, final File cache,
+			final String[][] patterns, final String filter) {
+		if (!cache.exists()) {
+			return null;
+		}
+		final Properties properties = new Properties();
+		try {
+			final FileInputStream in = new FileInputStream(cache);
+			try {
+				properties.load(in);
+			} finally {
+				in.close();
+			}
+			if ((Long.parseLong(properties.getProperty("size")) != dump
+					.length())
+					|| (Long.parseLong(properties.getProperty("modified")) != dump
+							.lastModified())
+					|| !filter.equals(properties.getProperty("filter"))) {
+				return null;
+			}
+			final DumpStats stats = new DumpStats(patterns);
+			for (int i = 0; i < patterns.length; i++) {
+				stats.totals[i] = Long.parseLong(properties
+						.getProperty("total." + patterns[i][0]));
+				stats.counts[i] = Long.parseLong(properties
+						.getProperty("count." + patterns[i][0]));
+			}
+			return stats;
+		} catch (final Exception e) {
+			// Stale or damaged cache, scanned again
+			return null;
+		}
+	}
+
+	private void store(final File dump, final File cache, final String filter) {
+		final Properties properties = new Properties();
+		properties.setProperty("size", String.valueOf(dump.length()));
+		properties.setProperty("modified", String.valueOf(dump.lastModified()));
+		properties.setProperty("filter", filter);
+		for (int i = 0; i < this.patterns.length; i++) {
+			properties.setProperty("total." + this.patterns[i][0], String
+					.valueOf(this.totals[i]));
+			properties.setProperty("count." + this.patterns[i][0], String
+					.valueOf(this.counts[i]));
+		}
+		try {
+			final FileOutputStream out = new FileOutputStream(cache);
+			try {
+				properties.store(out, "JOSSER statistics of " + dump.getName());
+			} finally {
+				out.close();
+			}
+		} catch (final IOException e) {
+			// The dump directory may be read only, statistics are not cached
+		}
+	}
+
+	/**
+	 * Counts of a segment. Records met before the first Topic line of the
+	 * segment are kept apart in head, since whether they are under the topic
+	 * filter depends on the previous segments.
+	 */
+	private static class Segment {
+		private final long[] totals;
+
+		private final long[] head;
+
+		private final long[] counts;
+
+		private boolean topic = false;
+
+		private boolean matching = false;
+
+		private Segment(final int patterns) {
+			this.totals = new long[patterns];
+			this.head = new long[patterns];
+			this.counts = new long[patterns];
+		}
+	}
+
+	private static DumpStats scan(final File dump, final String[][] patterns,
+			final String filter, final int threads) throws Exception {
+		final byte[][] prefixes = new byte[patterns.length][];
+		for (int i = 0; i < patterns.length; i++) {
+			prefixes[i] = DumpStats.bytes(patterns[i][1]);
+		}
+		final byte[] topic = DumpStats.bytes(DumpStats.STRUCTURE[0][1]
+				+ filter);
+		final RandomAccessFile file = new RandomAccessFile(dump, "r");
+		final ExecutorService executor = Executors.newFixedThreadPool(Math
+				.max(1, threads));
+		try {
+			final FileChannel channel = file.getChannel();
+			final long size = channel.size();
+			final List<Future<Segment>> segments = new ArrayList<Future<Segment>>();
+			for (long start = 0; start < size; start += DumpStats.SEGMENT) {
+				final long from = start;
+				final long to = Math.min(size, start + DumpStats.SEGMENT);
+				segments.add(executor.submit(new Callable<Segment>() {
+					public Segment call() throws IOException {
+						return DumpStats.scan(channel, from, to, size,
+								prefixes, topic);
+					}
+				}));
+			}
+			final DumpStats stats = new DumpStats(patterns);
+			boolean matching = false;
+			for (final Future<Segment> future : segments) {
+				final Segment segment = future.get();
+				for (int i = 0; i < patterns.length; i++) {
+					stats.totals[i] += segment.totals[i];
+					stats.counts[i] += segment.counts[i]
+							+ (matching ? segment.head[i] : 0);
+				}
+				if (segment.topic) {
+					matching = segment.matching;
+				}
+			}
+			return stats;
+		} finally {
+			executor.shutdown();
+			file.close();
+		}
+	}
+
+	/**
+	 * Counts lines starting in [from, to) which begin with one of prefixes.
+	 */
+	private static Segment scan(final FileChannel channel, final long from,
+			final long to, final long size, final byte[][] prefixes,
+			final byte[] topic) throws IOException {
+		final long start = from > 0 ? from - 1 : 0;
+		final long end = Math.min(size, to + DumpStats.OVERLAP);
+		final MappedByteBuffer buffer = channel.map(
+				FileChannel.MapMode.READ_ONLY, start, end - start);
+		final Segment segment = new Segment(prefixes.length);
+		final int limit = (int) (to - start);
+		final int length = (int) (end - start);
+		// A line starts at from when from is 0 or follows a newline
+		int line = from > 0 ? (buffer.get(0) == '\n' ? 1 : -1) : 0;
+		int p = from > 0 ? 1 : 0;
+		while (p < limit) {
+			if (line == p) {
+				for (int i = 0; i < prefixes.length; i++) {
+					if (DumpStats.matches(buffer, p, length, prefixes[i])) {
+						if (i == 0) {
+							segment.topic = true;
+							segment.matching = DumpStats.matches(buffer, p,
+									length, topic);
+						}
+						segment.totals[i]++;
+						if (!segment.topic) {
+							segment.head[i]++;
+						} else if (segment.matching) {
+							segment.counts[i]++;
+						}
+						break;
+					}
+				}
+			}
+			if (buffer.get(p) == '\n') {
+				line = p + 1;
+			}
+			p++;
+		}
+		return segment;
+	}
+
+	private static boolean matches(final MappedByteBuffer buffer,
+			final int position, final int length, final byte[] prefix) {
+		if (position + prefix.length > length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (buffer.get(position + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] bytes(final String value) {
+		try {
+			return value.getBytes("UTF-8");
+		} catch (final IOException e) {
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+}
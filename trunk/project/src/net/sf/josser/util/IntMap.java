@@ -0,0 +1,120 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * IntMap.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from int keys to int values, without boxing.
+ * Integer.MIN_VALUE can not be used as a key.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class IntMap {
+	private static final int FREE = Integer.MIN_VALUE;
+
+	private int[] keys;
+
+	private int[] values;
+
+	private int mask;
+
+	private int size = 0;
+
+	public IntMap(final int capacity) {
+		int length = 16;
+		while (length < ((capacity * 4) / 3 + 1)) {
+			length <<= 1;
+		}
+		this.allocate(length);
+	}
+
+	public int get(final int key, final int missing) {
+		int slot = this.slot(key);
+		while (this.keys[slot] != IntMap.FREE) {
+			if (this.keys[slot] == key) {
+				return this.values[slot];
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		return missing;
+	}
+
+	public void put(final int key, final int value) {
+		int slot = this.slot(key);
+		while (this.keys[slot] != IntMap.FREE) {
+			if (this.keys[slot] == key) {
+				this.values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+		if ((this.size * 4) > (this.keys.length * 3)) {
+			this.grow();
+		}
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	private int slot(final int key) {
+		final int hash = key * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & this.mask;
+	}
+
+	private void allocate(final int length) {
+		this.keys = new int[length];
+		this.values = new int[length];
+		this.mask = length - 1;
+		Arrays.fill(this.keys, IntMap.FREE);
+	}
+
+	private void grow() {
+		final int[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		this.allocate(oldKeys.length << 1);
+		this.size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != IntMap.FREE) {
+				this.put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Partitions.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ids of top-level topics (Top/Arts, Top/Computers, ...), assigned in order
+ * of appearance while the structure RDF dump is read, and the DDL which
+ * partitions tables dmoz_categories and dmoz_externalpages by them.
+ * <p>
+ * Id 0 stands for Top itself and for topics unknown to the structure dump.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Partitions {
+	public static final String[] TABLES = { "dmoz_categories",
+			"dmoz_externalpages" };
+
+	// Name and columns of the unique key of TABLES, extended with the
+	// partitioning column
+	private static final String[][] UNIQUE = { { "catid", "catid" },
+			{ "entry", "catid, link, urlid" } };
+
+	private final Map<String, Integer> ids = new HashMap<String, Integer>();
+
+	private final List<String> names = new ArrayList<String>();
+
+	/**
+	 * @return Returns the top-level topic of topic, i.e. Arts for
+	 *         Top/Arts/Music, or null for Top.
+	 */
+	public static String getTopLevel(final String topic) {
+		if (topic == null) {
+			return null;
+		}
+		final int start = topic.indexOf('/');
+		if (start < 0) {
+			return null;
+		}
+		final int end = topic.indexOf('/', start + 1);
+		return end < 0 ? topic.substring(start + 1) : topic.substring(
+				start + 1, end);
+	}
+
+	/**
+	 * Registers the top-level topic of topic, if new.
+	 */
+	public void add(final String topic) {
+		final String name = Partitions.getTopLevel(topic);
+		if ((name != null) && !this.ids.containsKey(name)) {
+			this.names.add(name);
+			this.ids.put(name, Integer.valueOf(this.names.size()));
+		}
+	}
+
+	/**
+	 * @return Returns the id of the top-level topic of topic.
+	 */
+	public int getId(final String topic) {
+		final String name = Partitions.getTopLevel(topic);
+		if (name == null) {
+			return 0;
+		}
+		final Integer id = this.ids.get(name);
+		return id == null ? 0 : id.intValue();
+	}
+
+	/**
+	 * @return Returns the number of top-level topics.
+	 */
+	public int size() {
+		return this.names.size();
+	}
+
+	/**
+	 * @return Returns the name of the partition holding id, i.e. p_arts.
+	 */
+	public String getPartition(final int id) {
+		final String name = id == 0 ? "top" : this.names.get(id - 1)
+				.toLowerCase();
+		return "p_" + name.replaceAll("[^a-z0-9_]", "_");
+	}
+
+	/**
+	 * @return Returns the query counting the partitions of the table given as
+	 *         parameter, for engine mysql or postgresql.
+	 */
+	public static String getPartitioned(final String engine) {
+		if (engine.compareToIgnoreCase("mysql") == 0) {
+			return "SELECT COUNT(*) FROM information_schema.PARTITIONS"
+					+ " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?"
+					+ " AND PARTITION_NAME IS NOT NULL";
+		}
+		return "SELECT COUNT(*) FROM pg_partitioned_table p"
+				+ " JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = ?";
+	}
+
+	/**
+	 * @return Returns the statements partitioning by topid the tables listed
+	 *         in TABLES, created by the scripts under sql, for engine mysql
+	 *         (5.1 or later) or postgresql (11 or later), keeping their rows.
+	 *         Tables listed in partitioned are left as they are.
+	 */
+	public List<String> getDDL(final String engine,
+			final Collection<String> partitioned) {
+		final List<String> ddl = new ArrayList<String>();
+		for (int t = 0; t < Partitions.TABLES.length; t++) {
+			final String table = Partitions.TABLES[t];
+			if (partitioned.contains(table)) {
+				continue;
+			}
+			if (engine.compareToIgnoreCase("mysql") == 0) {
+				String partitions = "";
+				for (int id = 0; id <= this.size(); id++) {
+					partitions = partitions + (id == 0 ? "" : ", ")
+							+ "PARTITION " + this.getPartition(id)
+							+ " VALUES IN (" + id + ")";
+				}
+				// Every unique key must include the partitioning column. A
+				// single statement, so that a failure leaves the table as
+				// it is
+				ddl.add("ALTER TABLE " + table
+						+ " DROP PRIMARY KEY, ADD PRIMARY KEY (id, topid),"
+						+ " DROP INDEX " + Partitions.UNIQUE[t][0]
+						+ ", ADD UNIQUE KEY " + Partitions.UNIQUE[t][0] + " ("
+						+ Partitions.UNIQUE[t][1] + ", topid)"
+						+ " PARTITION BY LIST (topid) (" + partitions + ")");
+			} else if (engine.compareToIgnoreCase("postgresql") == 0) {
+				// A table cannot be turned into a partitioned one, so it is
+				// recreated like the original, keeping its id sequence
+				final String original = table + "_unpartitioned";
+				ddl.add("ALTER TABLE " + table + " DROP CONSTRAINT " + table
+						+ "_pkey");
+				ddl.add("ALTER TABLE " + table + " ADD PRIMARY KEY (id, topid)");
+				ddl.add("DROP INDEX " + table + "_" + Partitions.UNIQUE[t][0]);
+				ddl.add("CREATE UNIQUE INDEX " + table + "_"
+						+ Partitions.UNIQUE[t][0] + " ON " + table + " ("
+						+ Partitions.UNIQUE[t][1] + ", topid)");
+				ddl.add("ALTER SEQUENCE " + table + "_id_seq OWNED BY NONE");
+				ddl.add("ALTER TABLE " + table + " RENAME TO " + original);
+				ddl.add("CREATE TABLE " + table + " (LIKE " + original
+						+ " INCLUDING DEFAULTS INCLUDING INDEXES)"
+						+ " PARTITION BY LIST (topid)");
+				for (int id = 0; id <= this.size(); id++) {
+					ddl.add("CREATE TABLE " + table + "_"
+							+ this.getPartition(id) + " PARTITION OF " + table
+							+ " FOR VALUES IN (" + id + ")");
+				}
+				// Rows already loaded are moved to the partitions
+				ddl.add("INSERT INTO " + table + " SELECT * FROM " + original);
+				ddl.add("DROP TABLE " + original);
+				ddl.add("ALTER SEQUENCE " + table + "_id_seq OWNED BY "
+						+ table + ".id");
+			}
+		}
+		return ddl;
+	}
+}
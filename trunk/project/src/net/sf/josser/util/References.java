@@ -0,0 +1,160 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * References.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tracks, per table, the references to categories made by imported rows
+ * (narrow, related, symbolic, letterbar, altlang and alias targets) which
+ * cannot be resolved within the imported categories, so that they can be
+ * reported at the end of the import without querying the loaded tables.
+ * <p>
+ * A reference is missing when its target is not in the structure dump, its
+ * catid column being stored as 0, and outside when its target exists but is
+ * not under the topic filter, so it is not imported.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class References {
+	private static final int SAMPLES = 5;
+
+	private static class Table {
+		private final String column;
+
+		private int checked = 0;
+
+		private int missing = 0;
+
+		private int outside = 0;
+
+		private int skipped = 0;
+
+		// Catids of categories holding at least one missing reference
+		private final BitSet sources = new BitSet();
+
+		private final List<String> samples = new ArrayList<String>();
+
+		private Table(final String column) {
+			this.column = column;
+		}
+	}
+
+	private final Map<String, Table> tables = new TreeMap<String, Table>();
+
+	private final boolean repair;
+
+	/**
+	 * @param repair
+	 *            When true, rows holding missing references are not stored.
+	 */
+	public References(final boolean repair) {
+		this.repair = repair;
+	}
+
+	/**
+	 * Checks a reference from category catid to target, resolved to tcatid.
+	 *
+	 * @return Returns false when the row holding the reference must not be
+	 *         stored.
+	 */
+	public boolean check(final String table, final String column,
+			final int catid, final String target, final int tcatid,
+			final String filter) {
+		Table counts = this.tables.get(table);
+		if (counts == null) {
+			counts = new Table(column);
+			this.tables.put(table, counts);
+		}
+		counts.checked++;
+		if (tcatid == 0) {
+			counts.missing++;
+			counts.sources.set(catid);
+			if (counts.samples.size() < References.SAMPLES) {
+				counts.samples.add(target);
+			}
+			if (this.repair) {
+				counts.skipped++;
+				return false;
+			}
+		} else if ((target != null) && !target.startsWith(filter)) {
+			counts.outside++;
+		}
+		return true;
+	}
+
+	/**
+	 * Prints the number of missing and outside references of every table.
+	 */
+	public void report(final PrintStream out) {
+		out.println("Verifying references to categories:");
+		for (final Map.Entry<String, Table> entry : this.tables.entrySet()) {
+			final Table counts = entry.getValue();
+			out.println("  " + entry.getKey() + "." + counts.column + ": "
+					+ counts.checked + " checked, " + counts.missing
+					+ " missing in " + counts.sources.cardinality()
+					+ " categories, " + counts.outside
+					+ " outside topic filter"
+					+ (this.repair ? ", " + counts.skipped + " not stored" : ""));
+			for (final String sample : counts.samples) {
+				out.println("    missing " + sample);
+			}
+		}
+		out.println();
+	}
+
+	/**
+	 * @return Returns the number of missing references of table.
+	 */
+	public int getMissing(final String table) {
+		final Table counts = this.tables.get(table);
+		return counts == null ? 0 : counts.missing;
+	}
+
+	/**
+	 * @return Returns the catids of categories holding missing references of
+	 *         table.
+	 */
+	public BitSet getSources(final String table) {
+		final Table counts = this.tables.get(table);
+		return counts == null ? new BitSet() : (BitSet) counts.sources.clone();
+	}
+}
@@ -45,6 +45,16 @@ public class Static {
 
 	private static Topics topicsHashtable = null;
 
+	private static Tree tree = null;
+
+	private static Aggregates aggregates = null;
+
+	private static TopicDictionary topicDictionary = null;
+
+	private static Partitions partitions = null;
+
+	private static References references = null;
+
 	/**
 	 * @param topicsHashtable
 	 *            The topicsHashtable to set.
@@ -53,12 +63,18 @@ public class Static {
 		Static.topicsHashtable = topicsHashtable;
 	}
 
+	/**
+	 * Topics are looked up in the topics hashtable, discarding the topic
+	 * dictionary.
+	 */
 	public static void initTopicsHashtable() {
 		Static.setTopicsHashtable(new Topics());
+		Static.topicDictionary = null;
 	}
 
-        public static void initTopicsHashtable(final int capacity) {
+	public static void initTopicsHashtable(final int capacity) {
 		Static.setTopicsHashtable(new Topics(capacity));
+		Static.topicDictionary = null;
 	}
 
 	/**
@@ -69,13 +85,85 @@ public class Static {
 	}
 
 	public static int findParent(final String topic) {
+		if (Static.topicDictionary != null) {
+			return Static.topicDictionary.getParentCatid(topic);
+		}
 		return Static.topicsHashtable.findParent(topic);
 	}
 
 	public static int findTopic(final String topic) {
+		if (Static.topicDictionary != null) {
+			return Static.topicDictionary.getCatid(topic);
+		}
 		return Static.topicsHashtable.findTopic(topic);
 	}
 
+	/**
+	 * Topics are looked up in the topic dictionary, discarding the topics
+	 * hashtable.
+	 */
+	public static void initTopicDictionary() {
+		Static.topicDictionary = new TopicDictionary();
+		Static.topicsHashtable = null;
+	}
+
+	public static void initTopicDictionary(final int capacity) {
+		Static.topicDictionary = new TopicDictionary(capacity);
+		Static.topicsHashtable = null;
+	}
+
+	/**
+	 * @return Returns the sorted dictionary of all topics, available once the
+	 *         structure RDF dump has been read, or null when topics are
+	 *         looked up in the topics hashtable.
+	 */
+	public static TopicDictionary getTopicDictionary() {
+		return Static.topicDictionary;
+	}
+
+	public static void initPartitions() {
+		Static.partitions = new Partitions();
+	}
+
+	/**
+	 * @return Returns the ids of top-level topics, available once the
+	 *         structure RDF dump has been read.
+	 */
+	public static Partitions getPartitions() {
+		return Static.partitions;
+	}
+
+	public static void initReferences(final boolean repair) {
+		Static.references = new References(repair);
+	}
+
+	/**
+	 * @return Returns the tracker of unresolved references, or null when
+	 *         references are not verified.
+	 */
+	public static References getReferences() {
+		return Static.references;
+	}
+
+	public static void initTree(final int capacity) {
+		Static.tree = new Tree(capacity);
+		Static.aggregates = new Aggregates(capacity);
+	}
+
+	/**
+	 * @return Returns the tree of imported categories.
+	 */
+	public static Tree getTree() {
+		return Static.tree;
+	}
+
+	/**
+	 * @return Returns the aggregates of imported categories.
+	 */
+	public static Aggregates getAggregates() {
+		return Static.aggregates;
+	}
+
 	/**
 	 * @param filtermatching
 	 *            The filtermatching to set.
@@ -0,0 +1,208 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * TextCodec.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes long text fields, such as descriptions, into compact byte arrays
+ * stored in binary columns, and decodes them back for readers.
+ * <p>
+ * An encoded value starts with a format byte: RAW is followed by the UTF-8
+ * bytes of the text, DEFLATE by a zlib stream compressed against DICTIONARY.
+ * Texts shorter than THRESHOLD chars, or which do not shrink, are stored raw.
+ * The zlib stream is standard, so readers in other languages decode it with
+ * any zlib binding given the same dictionary.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class TextCodec {
+	public static final int RAW = 0;
+
+	public static final int DEFLATE = 1;
+
+	public static final int THRESHOLD = 64;
+
+	/**
+	 * Preset dictionary of words and phrases frequent in DMOZ descriptions,
+	 * the most frequent at the end where deflate reaches them with the
+	 * shortest distances. Changing it makes stored values undecodable.
+	 */
+	public static final String DICTIONARY = "photography gallery, "
+			+ "software download, free online games, reviews and ratings, "
+			+ "history and culture, real estate, articles and tips, "
+			+ "research and development, consulting, manufacturer of "
+			+ "equipment, distributor of, specializing in, wholesale and "
+			+ "retail, hotels and accommodation, travel guide, education and "
+			+ "training, university, school of, department of, association "
+			+ "of, society for, organization, non-profit, community, forums, "
+			+ "discussion, mailing list, newsletter, events, calendar, "
+			+ "schedule, membership, contact details, directions, located "
+			+ "in, based in, serving the area, since 19, established in, "
+			+ "family owned, personal homepage, biography, photos, pictures, "
+			+ "images, lyrics, discography, music, band, artist, author, "
+			+ "books, publications, resources, links, guide to, directory of, "
+			+ "list of, collection of, database of, archive of, news and "
+			+ "information, features, profiles, the official site of, "
+			+ "the official website of, information about, including, "
+			+ "includes, offers, provides, services, products, company, "
+			+ "business, online, website, site, and the, of the, for the, "
+			+ "in the, with, from, and, the ";
+
+	private static final byte[] DICTIONARY_BYTES = TextCodec.utf8(
+			TextCodec.DICTIONARY);
+
+	private static final ThreadLocal<Deflater> deflater = new ThreadLocal<Deflater>() {
+		@Override
+		protected Deflater initialValue() {
+			return new Deflater(Deflater.BEST_COMPRESSION);
+		}
+	};
+
+	private static final ThreadLocal<Inflater> inflater = new ThreadLocal<Inflater>() {
+		@Override
+		protected Inflater initialValue() {
+			return new Inflater();
+		}
+	};
+
+	private static final ThreadLocal<byte[]> buffer = new ThreadLocal<byte[]>() {
+		@Override
+		protected byte[] initialValue() {
+			return new byte[8192];
+		}
+	};
+
+	/**
+	 * @return Returns text encoded, or null when text is null.
+	 */
+	public static byte[] encode(final String text) {
+		if (text == null) {
+			return null;
+		}
+		final byte[] bytes = TextCodec.utf8(text);
+		if (text.length() >= TextCodec.THRESHOLD) {
+			final Deflater deflater = TextCodec.deflater.get();
+			deflater.reset();
+			deflater.setDictionary(TextCodec.DICTIONARY_BYTES);
+			deflater.setInput(bytes);
+			deflater.finish();
+			byte[] out = TextCodec.buffer.get();
+			if (out.length < bytes.length + 64) {
+				out = new byte[bytes.length + 64];
+				TextCodec.buffer.set(out);
+			}
+			out[0] = TextCodec.DEFLATE;
+			int length = 1;
+			while (!deflater.finished() && (length < out.length)) {
+				length += deflater.deflate(out, length, out.length - length);
+			}
+			if (deflater.finished() && (length < bytes.length + 1)) {
+				final byte[] encoded = new byte[length];
+				System.arraycopy(out, 0, encoded, 0, length);
+				return encoded;
+			}
+		}
+		final byte[] encoded = new byte[bytes.length + 1];
+		encoded[0] = TextCodec.RAW;
+		System.arraycopy(bytes, 0, encoded, 1, bytes.length);
+		return encoded;
+	}
+
+	/**
+	 * @return Returns the text of a value returned by encode(), or null when
+	 *         value is null.
+	 */
+	public static String decode(final byte[] value) {
+		if (value == null) {
+			return null;
+		}
+		if ((value.length == 0) || (value[0] == TextCodec.RAW)) {
+			return TextCodec.string(value, 1, value.length - 1);
+		}
+		if (value[0] != TextCodec.DEFLATE) {
+			throw new IllegalArgumentException("Unknown text format "
+					+ value[0]);
+		}
+		final Inflater inflater = TextCodec.inflater.get();
+		inflater.reset();
+		inflater.setInput(value, 1, value.length - 1);
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(
+				value.length * 4);
+		final byte[] chunk = TextCodec.buffer.get();
+		try {
+			while (!inflater.finished()) {
+				final int n = inflater.inflate(chunk);
+				if (n == 0) {
+					if (inflater.needsDictionary()) {
+						inflater.setDictionary(TextCodec.DICTIONARY_BYTES);
+					} else if (inflater.needsInput()) {
+						throw new IllegalArgumentException("Truncated text");
+					}
+				}
+				out.write(chunk, 0, n);
+			}
+		} catch (final DataFormatException e) {
+			throw new IllegalArgumentException(e.getMessage());
+		}
+		final byte[] bytes = out.toByteArray();
+		return TextCodec.string(bytes, 0, bytes.length);
+	}
+
+	private static byte[] utf8(final String text) {
+		try {
+			return text.getBytes("UTF-8");
+		} catch (final UnsupportedEncodingException e) {
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+
+	private static String string(final byte[] bytes, final int offset,
+			final int length) {
+		if (length <= 0) {
+			return "";
+		}
+		try {
+			return new String(bytes, offset, length, "UTF-8");
+		} catch (final UnsupportedEncodingException e) {
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+}
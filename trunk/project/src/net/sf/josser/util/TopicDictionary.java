@@ -0,0 +1,487 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * TopicDictionary.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted dictionary of topics with their catids, front coded to exploit the
+ * long prefixes shared by topic paths.
+ * <p>
+ * Topics are first collected with add() and then sorted by build(); topics
+ * are stored as UTF-8 in blocks of {@link #BLOCK} entries, the first of each
+ * block in full and the others as the length of the prefix shared with the
+ * previous topic followed by the remaining bytes. Lookups by topic binary
+ * search the first entries of blocks, lookups by catid go through the rank
+ * of the topic, so both only decode a single block.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class TopicDictionary {
+	public static final int BLOCK = 16;
+
+	// Collected topics, in insertion order
+	private byte[] arena = new byte[1 << 16];
+
+	private int used = 0;
+
+	private int[] starts = new int[1024];
+
+	private int[] ids = new int[1024];
+
+	private int size = 0;
+
+	// Front coded topics, in sorted order
+	private byte[] data = null;
+
+	private int[] blocks = null;
+
+	private int[] catids = null;
+
+	private IntMap ranks = null;
+
+	private int maxLength = 0;
+
+	public TopicDictionary() {
+	}
+
+	/**
+	 * @param capacity
+	 *            The expected number of topics, allocated at once.
+	 */
+	public TopicDictionary(final int capacity) {
+		this.arena = new byte[Math.max(1 << 16, Math.min(capacity,
+				Integer.MAX_VALUE / 64) * 48)];
+		this.starts = new int[capacity + 2];
+		this.ids = new int[capacity + 2];
+	}
+
+	public void add(final String topic, final int catid) {
+		if (this.isBuilt()) {
+			throw new IllegalStateException("Topic dictionary already built");
+		}
+		final byte[] bytes = TopicDictionary.getBytes(topic);
+		if ((this.used + bytes.length) > this.arena.length) {
+			this.arena = TopicDictionary.copyOf(this.arena, Math.max(
+					this.arena.length * 2, this.used + bytes.length));
+		}
+		if ((this.size + 1) >= this.starts.length) {
+			this.starts = TopicDictionary.copyOf(this.starts,
+					this.starts.length * 2);
+			this.ids = TopicDictionary.copyOf(this.ids, this.ids.length * 2);
+		}
+		System.arraycopy(bytes, 0, this.arena, this.used, bytes.length);
+		this.starts[this.size] = this.used;
+		this.ids[this.size] = catid;
+		this.used += bytes.length;
+		this.maxLength = Math.max(this.maxLength, bytes.length);
+		this.size++;
+	}
+
+	/**
+	 * Sorts and front codes collected topics, releasing the memory used to
+	 * collect them.
+	 */
+	public void build() {
+		this.starts[this.size] = this.used;
+		int[] order = new int[this.size];
+		for (int i = 0; i < this.size; i++) {
+			order[i] = i;
+		}
+		order = this.sort(order, new int[this.size], 0, this.size);
+		final ByteStream out = new ByteStream(this.used / 2 + 16);
+		this.blocks = new int[(this.size + TopicDictionary.BLOCK - 1)
+				/ TopicDictionary.BLOCK];
+		this.catids = new int[this.size];
+		this.ranks = new IntMap(this.size);
+		int previous = -1;
+		for (int rank = 0; rank < this.size; rank++) {
+			final int current = order[rank];
+			final int start = this.starts[current];
+			final int length = this.starts[current + 1] - start;
+			int shared = 0;
+			if ((rank % TopicDictionary.BLOCK) == 0) {
+				this.blocks[rank / TopicDictionary.BLOCK] = out.size();
+			} else {
+				final int pstart = this.starts[previous];
+				final int plength = this.starts[previous + 1] - pstart;
+				while ((shared < length) && (shared < plength)
+						&& (this.arena[start + shared] == this.arena[pstart
+								+ shared])) {
+					shared++;
+				}
+			}
+			out.writeVarint(shared);
+			out.writeVarint(length - shared);
+			out.write(this.arena, start + shared, length - shared);
+			this.catids[rank] = this.ids[current];
+			this.ranks.put(this.ids[current], rank);
+			previous = current;
+		}
+		this.data = out.toByteArray();
+		this.arena = null;
+		this.starts = null;
+		this.ids = null;
+	}
+
+	public boolean isBuilt() {
+		return this.data != null;
+	}
+
+	/**
+	 * @return Returns the number of topics.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return Returns the number of bytes used by front coded topics.
+	 */
+	public int getBytes() {
+		return this.data == null ? 0 : this.data.length;
+	}
+
+	/**
+	 * @return Returns the catid of topic, or 0 when topic is not found.
+	 */
+	public int getCatid(final String topic) {
+		final byte[] key = TopicDictionary.getBytes(topic);
+		final int rank = this.lowerBound(key);
+		if (rank < this.size) {
+			final byte[] buffer = new byte[this.maxLength];
+			final int length = this.decode(rank, buffer);
+			if (TopicDictionary.compare(buffer, length, key) == 0) {
+				return this.catids[rank];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return Returns the catid of the father of topic, or 0 when it is not
+	 *         found.
+	 */
+	public int getParentCatid(final String topic) {
+		final int end = topic.lastIndexOf('/');
+		return this.getCatid(end > 0 ? topic.substring(0, end) : "");
+	}
+
+	/**
+	 * @return Returns the topic of catid, or null when catid is not found.
+	 */
+	public String getTopic(final int catid) {
+		final int rank = this.ranks.get(catid, -1);
+		return rank < 0 ? null : this.getTopicAt(rank);
+	}
+
+	/**
+	 * @return Returns the topic at position rank in sorted order.
+	 */
+	public String getTopicAt(final int rank) {
+		final byte[] buffer = new byte[this.maxLength];
+		return TopicDictionary.getString(buffer, this.decode(rank, buffer));
+	}
+
+	/**
+	 * @return Returns the catid of the topic at position rank in sorted
+	 *         order.
+	 */
+	public int getCatidAt(final int rank) {
+		return this.catids[rank];
+	}
+
+	/**
+	 * @return Returns the position in sorted order of the first topic which
+	 *         is not less than prefix.
+	 */
+	public int getRank(final String prefix) {
+		return this.lowerBound(TopicDictionary.getBytes(prefix));
+	}
+
+	/**
+	 * @return Returns all topics starting with prefix, in sorted order.
+	 */
+	public Iterator<String> iterator(final String prefix) {
+		final byte[] key = TopicDictionary.getBytes(prefix);
+		final int first = this.lowerBound(key);
+		return new Iterator<String>() {
+			private final byte[] buffer = new byte[TopicDictionary.this.maxLength];
+
+			private int rank = first;
+
+			private int length = this.rank < TopicDictionary.this.size ? TopicDictionary.this
+					.decode(this.rank, this.buffer) : 0;
+
+			public boolean hasNext() {
+				return (this.rank < TopicDictionary.this.size)
+						&& TopicDictionary.startsWith(this.buffer,
+								this.length, key);
+			}
+
+			public String next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				final String topic = TopicDictionary.getString(this.buffer,
+						this.length);
+				this.rank++;
+				if (this.rank < TopicDictionary.this.size) {
+					this.length = TopicDictionary.this.decode(this.rank,
+							this.buffer);
+				}
+				return topic;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Decodes the topic at position rank into buffer.
+	 *
+	 * @return Returns the length of the decoded topic.
+	 */
+	private int decode(final int rank, final byte[] buffer) {
+		final int[] position = { this.blocks[rank / TopicDictionary.BLOCK] };
+		int length = 0;
+		for (int i = 0; i <= (rank % TopicDictionary.BLOCK); i++) {
+			length = this.next(position, buffer);
+		}
+		return length;
+	}
+
+	/**
+	 * Decodes the topic at position into buffer, which holds the previous
+	 * topic of the block, and moves position to the next topic.
+	 *
+	 * @return Returns the length of the decoded topic.
+	 */
+	private int next(final int[] position, final byte[] buffer) {
+		final int shared = this.readVarint(position);
+		final int suffix = this.readVarint(position);
+		System.arraycopy(this.data, position[0], buffer, shared, suffix);
+		position[0] += suffix;
+		return shared + suffix;
+	}
+
+	private int lowerBound(final byte[] key) {
+		final byte[] buffer = new byte[this.maxLength];
+		// Last block whose first topic is less than key
+		int low = 0;
+		int high = this.blocks.length - 1;
+		int block = -1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int length = this.decode(middle * TopicDictionary.BLOCK,
+					buffer);
+			if (TopicDictionary.compare(buffer, length, key) < 0) {
+				block = middle;
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		if (block < 0) {
+			return 0;
+		}
+		final int last = Math.min(this.size, (block + 1)
+				* TopicDictionary.BLOCK);
+		// The first topic of the block is less than key, the others are
+		// decoded one after the other
+		final int[] position = { this.blocks[block] };
+		this.next(position, buffer);
+		for (int rank = (block * TopicDictionary.BLOCK) + 1; rank < last; rank++) {
+			final int length = this.next(position, buffer);
+			if (TopicDictionary.compare(buffer, length, key) >= 0) {
+				return rank;
+			}
+		}
+		return last;
+	}
+
+	private int readVarint(final int[] position) {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = this.data[position[0]++] & 0xFF;
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	/**
+	 * Merge sorts indexes of collected topics by their bytes.
+	 */
+	private int[] sort(final int[] order, final int[] temp, final int from,
+			final int to) {
+		if ((to - from) < 2) {
+			return order;
+		}
+		final int middle = (from + to) >>> 1;
+		this.sort(order, temp, from, middle);
+		this.sort(order, temp, middle, to);
+		System.arraycopy(order, from, temp, from, to - from);
+		int i = from;
+		int j = middle;
+		for (int k = from; k < to; k++) {
+			if ((j >= to)
+					|| ((i < middle) && (this.compareCollected(temp[i],
+							temp[j]) <= 0))) {
+				order[k] = temp[i++];
+			} else {
+				order[k] = temp[j++];
+			}
+		}
+		return order;
+	}
+
+	private int compareCollected(final int a, final int b) {
+		final int astart = this.starts[a];
+		final int alength = this.starts[a + 1] - astart;
+		final int bstart = this.starts[b];
+		final int blength = this.starts[b + 1] - bstart;
+		final int length = Math.min(alength, blength);
+		for (int i = 0; i < length; i++) {
+			final int diff = (this.arena[astart + i] & 0xFF)
+					- (this.arena[bstart + i] & 0xFF);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return alength - blength;
+	}
+
+	private static int compare(final byte[] buffer, final int length,
+			final byte[] key) {
+		final int common = Math.min(length, key.length);
+		for (int i = 0; i < common; i++) {
+			final int diff = (buffer[i] & 0xFF) - (key[i] & 0xFF);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return length - key.length;
+	}
+
+	private static boolean startsWith(final byte[] buffer, final int length,
+			final byte[] prefix) {
+		if (length < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if (buffer[i] != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] getBytes(final String topic) {
+		try {
+			return topic.getBytes("UTF-8");
+		} catch (final UnsupportedEncodingException e) {
+			return topic.getBytes();
+		}
+	}
+
+	private static String getString(final byte[] buffer, final int length) {
+		try {
+			return new String(buffer, 0, length, "UTF-8");
+		} catch (final UnsupportedEncodingException e) {
+			return new String(buffer, 0, length);
+		}
+	}
+
+	private static byte[] copyOf(final byte[] array, final int length) {
+		final byte[] copy = new byte[length];
+		System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+		return copy;
+	}
+
+	private static int[] copyOf(final int[] array, final int length) {
+		final int[] copy = new int[length];
+		System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+		return copy;
+	}
+
+	/**
+	 * Growable byte array with varint encoding.
+	 */
+	private static class ByteStream {
+		private byte[] bytes;
+
+		private int size = 0;
+
+		ByteStream(final int capacity) {
+			this.bytes = new byte[capacity];
+		}
+
+		void write(final byte[] source, final int offset, final int length) {
+			if ((this.size + length) > this.bytes.length) {
+				this.bytes = TopicDictionary.copyOf(this.bytes, Math.max(
+						this.bytes.length * 2, this.size + length));
+			}
+			System.arraycopy(source, offset, this.bytes, this.size, length);
+			this.size += length;
+		}
+
+		void writeVarint(int value) {
+			final byte[] varint = new byte[5];
+			int length = 0;
+			while ((value & ~0x7F) != 0) {
+				varint[length++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			varint[length++] = (byte) value;
+			this.write(varint, 0, length);
+		}
+
+		int size() {
+			return this.size;
+		}
+
+		byte[] toByteArray() {
+			return TopicDictionary.copyOf(this.bytes, this.size);
+		}
+	}
+}
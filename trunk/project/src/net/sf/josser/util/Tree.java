@@ -0,0 +1,199 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * Tree.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+/**
+ * The imported topic tree, kept in primitive arrays indexed by node, where a
+ * node is the position of a category in dump order.
+ * <p>
+ * Once all categories have been added, number() assigns nested set bounds:
+ * the categories under a node are exactly those whose lft lies between lft
+ * and rgt of that node.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class Tree {
+	private int size = 0;
+
+	private int[] catids;
+
+	private int[] fatherids;
+
+	private int[] depths;
+
+	private int[] lfts = null;
+
+	private int[] rgts = null;
+
+	private final IntMap nodes;
+
+	public Tree(final int capacity) {
+		final int length = Math.max(capacity, 16);
+		this.catids = new int[length];
+		this.fatherids = new int[length];
+		this.depths = new int[length];
+		this.nodes = new IntMap(length);
+	}
+
+	/**
+	 * @return Returns the node of the added category.
+	 */
+	public int add(final int catid, final int fatherid, final int depth) {
+		if (this.size == this.catids.length) {
+			final int length = this.size * 2;
+			this.catids = Tree.copyOf(this.catids, length);
+			this.fatherids = Tree.copyOf(this.fatherids, length);
+			this.depths = Tree.copyOf(this.depths, length);
+		}
+		this.catids[this.size] = catid;
+		this.fatherids[this.size] = fatherid;
+		this.depths[this.size] = depth;
+		this.nodes.put(catid, this.size);
+		return this.size++;
+	}
+
+	/**
+	 * @return Returns the number of nodes.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return Returns the node of catid, or -1 when catid is not in the tree.
+	 */
+	public int getNode(final int catid) {
+		return this.nodes.get(catid, -1);
+	}
+
+	/**
+	 * @return Returns the node of the father of node, or -1 for roots. A
+	 *         category which is its own father, as Top may be, is a root.
+	 */
+	public int getFather(final int node) {
+		final int father = this.nodes.get(this.fatherids[node], -1);
+		return father == node ? -1 : father;
+	}
+
+	public int getCatid(final int node) {
+		return this.catids[node];
+	}
+
+	public int getDepth(final int node) {
+		return this.depths[node];
+	}
+
+	public boolean isNumbered() {
+		return this.lfts != null;
+	}
+
+	public int getLft(final int node) {
+		return this.lfts[node];
+	}
+
+	public int getRgt(final int node) {
+		return this.rgts[node];
+	}
+
+	/**
+	 * @return Returns the children of every node as a compressed adjacency
+	 *         list: the children of node n are children[first[n]] up to
+	 *         children[first[n + 1] - 1], in dump order.
+	 */
+	public int[][] getChildren() {
+		final int[] first = new int[this.size + 1];
+		final int[] fathers = new int[this.size];
+		for (int node = 0; node < this.size; node++) {
+			fathers[node] = this.getFather(node);
+			if (fathers[node] >= 0) {
+				first[fathers[node] + 1]++;
+			}
+		}
+		for (int node = 0; node < this.size; node++) {
+			first[node + 1] += first[node];
+		}
+		final int[] next = Tree.copyOf(first, this.size);
+		final int[] children = new int[first[this.size]];
+		for (int node = 0; node < this.size; node++) {
+			if (fathers[node] >= 0) {
+				children[next[fathers[node]]++] = node;
+			}
+		}
+		return new int[][] { first, children };
+	}
+
+	/**
+	 * Assigns nested set bounds to every node with an iterative depth first
+	 * visit, starting from roots in dump order.
+	 */
+	public void number() {
+		final int[][] adjacency = this.getChildren();
+		final int[] first = adjacency[0];
+		final int[] children = adjacency[1];
+		this.lfts = new int[this.size];
+		this.rgts = new int[this.size];
+		final int[] stack = new int[this.size];
+		final int[] cursor = new int[this.size];
+		int counter = 0;
+		for (int root = 0; root < this.size; root++) {
+			if (this.getFather(root) >= 0) {
+				continue;
+			}
+			int top = 0;
+			stack[0] = root;
+			cursor[0] = first[root];
+			this.lfts[root] = ++counter;
+			while (top >= 0) {
+				final int node = stack[top];
+				if (cursor[top] < first[node + 1]) {
+					final int child = children[cursor[top]++];
+					stack[++top] = child;
+					cursor[top] = first[child];
+					this.lfts[child] = ++counter;
+				} else {
+					this.rgts[node] = ++counter;
+					top--;
+				}
+			}
+		}
+	}
+
+	private static int[] copyOf(final int[] array, final int length) {
+		final int[] copy = new int[length];
+		System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+		return copy;
+	}
+}
@@ -0,0 +1,233 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * UrlSet.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+package net.sf.josser.util;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+/**
+ * Set of normalized urls assigning a sequential id, starting from 1, to
+ * every distinct url.
+ * <p>
+ * Urls are kept as UTF-8 bytes in a direct buffer, indexed by an open
+ * addressing table living in a direct buffer as well, so that millions of
+ * links do not weigh on the heap. A {@link BloomFilter} in front of the table
+ * answers most lookups of new urls without probing it.
+ *
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class UrlSet {
+	// Slot layout: hash, offset of the url in the arena, id (0 when free)
+	private static final int SLOT = 12;
+
+	private final BloomFilter filter;
+
+	private ByteBuffer arena;
+
+	private ByteBuffer table;
+
+	private int mask;
+
+	private int size = 0;
+
+	public UrlSet(final int capacity) {
+		final int entries = Math.max(capacity, 1024);
+		this.filter = new BloomFilter(entries, 10);
+		this.arena = ByteBuffer
+				.allocateDirect(Math.min(entries, 1 << 20) * 32);
+		int length = 1024;
+		while (length < ((entries * 4) / 3 + 1)) {
+			length <<= 1;
+		}
+		this.table = ByteBuffer.allocateDirect(length * UrlSet.SLOT);
+		this.mask = length - 1;
+	}
+
+	/**
+	 * @return Returns the id of url, or 0 when url is not in the set.
+	 */
+	public int find(final String url) {
+		final byte[] bytes = UrlSet.getBytes(url);
+		final long hash = UrlSet.hash(bytes);
+		if (!this.filter.mightContain(hash)) {
+			return 0;
+		}
+		int slot = (int) hash & this.mask;
+		int id;
+		while ((id = this.table.getInt(slot * UrlSet.SLOT + 8)) != 0) {
+			if ((this.table.getInt(slot * UrlSet.SLOT) == (int) hash)
+					&& this.equals(this.table.getInt(slot * UrlSet.SLOT + 4),
+							bytes)) {
+				return id;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		return 0;
+	}
+
+	/**
+	 * Adds url, which must not be in the set yet.
+	 *
+	 * @return Returns the id assigned to url.
+	 */
+	public int add(final String url) {
+		final byte[] bytes = UrlSet.getBytes(url);
+		final long hash = UrlSet.hash(bytes);
+		if (this.arena.remaining() < (bytes.length + 4)) {
+			final ByteBuffer arena = ByteBuffer.allocateDirect(Math.max(
+					this.arena.capacity() * 2, this.arena.position()
+							+ bytes.length + 4));
+			this.arena.flip();
+			arena.put(this.arena);
+			this.arena = arena;
+		}
+		final int offset = this.arena.position();
+		this.arena.putInt(bytes.length);
+		this.arena.put(bytes);
+		this.filter.add(hash);
+		this.size++;
+		this.insert((int) hash, offset, this.size);
+		if ((this.size * 4) > ((this.mask + 1) * 3)) {
+			this.grow();
+		}
+		return this.size;
+	}
+
+	/**
+	 * @return Returns the number of distinct urls.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Normalizes url lowering the case of scheme and host, dropping default
+	 * ports, trailing dots of hosts and fragments, and adding the root path
+	 * when missing.
+	 */
+	public static String normalize(final String url) {
+		if (url == null) {
+			return "";
+		}
+		String result = url.trim();
+		final int fragment = result.indexOf('#');
+		if (fragment >= 0) {
+			result = result.substring(0, fragment);
+		}
+		final int scheme = result.indexOf("://");
+		if (scheme <= 0) {
+			return result;
+		}
+		final int start = scheme + 3;
+		int end = start;
+		while ((end < result.length()) && (result.charAt(end) != '/')
+				&& (result.charAt(end) != '?')) {
+			end++;
+		}
+		final String protocol = result.substring(0, scheme).toLowerCase();
+		String host = result.substring(start, end).toLowerCase();
+		String path = result.substring(end);
+		if ((protocol.equals("http") && host.endsWith(":80"))
+				|| (protocol.equals("ftp") && host.endsWith(":21"))) {
+			host = host.substring(0, host.length() - 3);
+		} else if (protocol.equals("https") && host.endsWith(":443")) {
+			host = host.substring(0, host.length() - 4);
+		}
+		while (host.endsWith(".")) {
+			host = host.substring(0, host.length() - 1);
+		}
+		if (!path.startsWith("/")) {
+			path = "/" + path;
+		}
+		return protocol + "://" + host + path;
+	}
+
+	private boolean equals(final int offset, final byte[] bytes) {
+		if (this.arena.getInt(offset) != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; i++) {
+			if (this.arena.get(offset + 4 + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void insert(final int hash, final int offset, final int id) {
+		int slot = hash & this.mask;
+		while (this.table.getInt(slot * UrlSet.SLOT + 8) != 0) {
+			slot = (slot + 1) & this.mask;
+		}
+		this.table.putInt(slot * UrlSet.SLOT, hash);
+		this.table.putInt(slot * UrlSet.SLOT + 4, offset);
+		this.table.putInt(slot * UrlSet.SLOT + 8, id);
+	}
+
+	private void grow() {
+		final ByteBuffer old = this.table;
+		final int length = (this.mask + 1) << 1;
+		this.table = ByteBuffer.allocateDirect(length * UrlSet.SLOT);
+		this.mask = length - 1;
+		for (int slot = 0; slot < old.capacity() / UrlSet.SLOT; slot++) {
+			final int id = old.getInt(slot * UrlSet.SLOT + 8);
+			if (id != 0) {
+				this.insert(old.getInt(slot * UrlSet.SLOT), old.getInt(slot
+						* UrlSet.SLOT + 4), id);
+			}
+		}
+	}
+
+	private static byte[] getBytes(final String url) {
+		try {
+			return url.getBytes("UTF-8");
+		} catch (final UnsupportedEncodingException e) {
+			return url.getBytes();
+		}
+	}
+
+	/**
+	 * @return Returns the 64 bit FNV-1a hash of bytes.
+	 */
+	private static long hash(final byte[] bytes) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < bytes.length; i++) {
+			hash ^= bytes[i] & 0xFF;
+			hash *= 0x100000001b3L;
+		}
+		return hash ^ (hash >>> 29);
+	}
+}
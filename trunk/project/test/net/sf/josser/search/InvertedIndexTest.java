@@ -0,0 +1,136 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * InvertedIndexTest.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+
+package net.sf.josser.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class InvertedIndexTest extends TestCase {
+	private File directory = null;
+
+	private File file = null;
+
+	@Override
+	protected void setUp() throws IOException {
+		this.directory = File.createTempFile("josser", ".test");
+		this.directory.delete();
+		this.directory.mkdir();
+		this.file = new File(this.directory, "test.idx");
+	}
+
+	@Override
+	protected void tearDown() {
+		for (final File file : this.directory.listFiles()) {
+			file.delete();
+		}
+		this.directory.delete();
+	}
+
+	public void testTokenize() {
+		final List<String> terms = new ArrayList<String>();
+		InvertedIndex.tokenize("The Java, java and C tools: 2008 editions!",
+				terms);
+		assertEquals(Arrays.asList("the", "java", "and", "tools", "2008",
+				"editions"), terms);
+		InvertedIndex.tokenize(null, terms);
+		assertTrue(terms.isEmpty());
+	}
+
+	public void testSearch() throws IOException {
+		final InvertedIndex index = new InvertedIndex(this.file);
+		// Documents do not need to be added in order
+		index.add(3, "Java database tools");
+		index.add(1, "Java tools for RDF dumps");
+		index.add(7, "Open directory RDF dumps");
+		index.add(2, "Relational database");
+		index.close();
+		final Searcher searcher = new Searcher(this.file);
+		try {
+			assertEquals(9, searcher.getTerms());
+			assertEquals(2, searcher.getFrequency("JAVA"));
+			assertEquals(0, searcher.getFrequency("missing"));
+			assertTrue(Arrays.equals(new int[] { 1, 3 }, searcher
+					.getPostings("java")));
+			assertTrue(Arrays.equals(new int[] { 1, 7 }, searcher
+					.search("rdf dumps")));
+			assertTrue(Arrays.equals(new int[] { 3 }, searcher
+					.search("Database, Java")));
+			assertEquals(0, searcher.search("java open").length);
+			assertEquals(0, searcher.search("missing java").length);
+			assertEquals(0, searcher.search("").length);
+		} finally {
+			searcher.close();
+		}
+	}
+
+	public void testSegments() throws IOException {
+		final InvertedIndex index = new InvertedIndex(this.file);
+		final int documents = InvertedIndex.SEGMENT / 2 + 1000;
+		// Two terms per document, so pending postings are flushed to more
+		// than one segment before close() merges them
+		for (int doc = 0; doc < documents; doc++) {
+			index.add(doc, "common t" + (doc % 10));
+		}
+		index.close();
+		final Searcher searcher = new Searcher(this.file);
+		try {
+			assertEquals(11, searcher.getTerms());
+			final int[] common = searcher.getPostings("common");
+			assertEquals(documents, common.length);
+			for (int doc = 0; doc < documents; doc++) {
+				assertEquals(doc, common[doc]);
+			}
+			final int[] t3 = searcher.search("common t3");
+			assertEquals((documents - 3 + 9) / 10, t3.length);
+			for (int i = 0; i < t3.length; i++) {
+				assertEquals(3 + (10 * i), t3[i]);
+			}
+		} finally {
+			searcher.close();
+		}
+		// Segments are deleted once merged
+		assertEquals(1, this.directory.listFiles().length);
+	}
+}
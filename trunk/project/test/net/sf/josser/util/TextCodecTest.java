@@ -0,0 +1,107 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * TextCodecTest.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+
+package net.sf.josser.util;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class TextCodecTest extends TestCase {
+	private static final String LONG = "Photography gallery of landscapes, "
+			+ "portraits and travel pictures, with links to resources, "
+			+ "books, publications and a guide to photography directories.";
+
+	public void testNull() {
+		assertNull(TextCodec.encode(null));
+		assertNull(TextCodec.decode(null));
+	}
+
+	public void testRaw() {
+		final String[] texts = { "", "a", "Short description",
+				"Città, naïve café, 日本語" };
+		for (final String text : texts) {
+			final byte[] value = TextCodec.encode(text);
+			assertEquals(TextCodec.RAW, value[0]);
+			assertEquals(text, TextCodec.decode(value));
+		}
+		assertEquals("", TextCodec.decode(new byte[0]));
+	}
+
+	public void testDeflate() {
+		final StringBuilder repeated = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			repeated.append(LONG).append(' ').append(i).append(" è ");
+		}
+		final String[] texts = { LONG, repeated.toString() };
+		for (final String text : texts) {
+			final byte[] value = TextCodec.encode(text);
+			assertEquals(TextCodec.DEFLATE, value[0]);
+			assertTrue(value.length < text.length());
+			assertEquals(text, TextCodec.decode(value));
+		}
+	}
+
+	public void testNeverLarger() throws Exception {
+		final StringBuilder text = new StringBuilder();
+		final Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			text.append((char) (0x4e00 + random.nextInt(0x5000)));
+		}
+		final byte[] value = TextCodec.encode(text.toString());
+		assertTrue(value.length <= text.toString().getBytes("UTF-8").length + 1);
+		assertEquals(text.toString(), TextCodec.decode(value));
+	}
+
+	public void testInvalid() {
+		try {
+			TextCodec.decode(new byte[] { 7, 1, 2 });
+			fail("Unknown format decoded");
+		} catch (final IllegalArgumentException e) {
+		}
+		final byte[] value = TextCodec.encode(LONG);
+		final byte[] truncated = new byte[value.length / 2];
+		System.arraycopy(value, 0, truncated, 0, truncated.length);
+		try {
+			TextCodec.decode(truncated);
+			fail("Truncated text decoded");
+		} catch (final IllegalArgumentException e) {
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ ****************************************************************************************
+ * Copyright © Giovanni Novelli                                             
+ * All Rights Reserved.                                                                 
+ ****************************************************************************************
+ *
+ * Title:       JOSSER
+ *
+ * Description: JOSSER - A Java Tool capable to parse DMOZ RDF dumps and export them to 
+ *              any JDBC compliant relational database 
+ *               
+ * TopicDictionaryTest.java
+ *
+ * Created on 19 October 2026, 10.00
+ *
+ ****************************************************************************************
+ * JOSSER is available under the terms of the GNU General Public License Version 2.    
+ *                                                                                      
+ * The author does NOT allow redistribution of modifications of JOSSER under the terms 
+ * of the GNU General Public License Version 3 or any later version.                   
+ *                                                                                     
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY     
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A     
+ * PARTICULAR PURPOSE.                                                                 
+ *                                                                                     
+ * For more details read file LICENSE
+ *****************************************************************************************
+ *
+ * $Revision$
+ * $Id$
+ * $HeadURL$
+ *
+ *****************************************************************************************
+ */
+
+
+package net.sf.josser.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Copyright © Giovanni Novelli. All rights reserved.
+ */
+public class TopicDictionaryTest extends TestCase {
+	private final List<String> topics = new ArrayList<String>();
+
+	private TopicDictionary dictionary = null;
+
+	@Override
+	protected void setUp() {
+		this.topics.add("");
+		this.topics.add("Top");
+		for (final String category : new String[] { "Arts", "Business",
+				"Computers", "World" }) {
+			this.topics.add("Top/" + category);
+			for (int i = 0; i < 40; i++) {
+				this.topics.add("Top/" + category + "/Sub_" + i);
+				this.topics.add("Top/" + category + "/Sub_" + i + "/Leaf");
+			}
+		}
+		this.topics.add("Top/World/Italiano/Città");
+		this.topics.add("Top/World/日本語");
+		this.dictionary = new TopicDictionary(4);
+		// catids follow the reverse order, so ranks and catids differ
+		for (int i = 0; i < this.topics.size(); i++) {
+			this.dictionary.add(this.topics.get(i), this.topics.size() - i);
+		}
+		this.dictionary.build();
+		Collections.sort(this.topics);
+	}
+
+	public void testLookups() {
+		assertTrue(this.dictionary.isBuilt());
+		assertEquals(this.topics.size(), this.dictionary.size());
+		for (final String topic : this.topics) {
+			final int catid = this.dictionary.getCatid(topic);
+			assertTrue(topic, catid > 0);
+			assertEquals(topic, this.dictionary.getTopic(catid));
+		}
+		assertEquals(0, this.dictionary.getCatid("Top/Missing"));
+		assertEquals(0, this.dictionary.getCatid("Top/Arts/Sub"));
+		assertNull(this.dictionary.getTopic(this.topics.size() + 1));
+		assertEquals(this.dictionary.getCatid("Top/Arts/Sub_7"),
+				this.dictionary.getParentCatid("Top/Arts/Sub_7/Leaf"));
+		assertEquals(this.dictionary.getCatid(""), this.dictionary
+				.getParentCatid("Top"));
+	}
+
+	public void testOrder() {
+		for (int rank = 1; rank < this.dictionary.size(); rank++) {
+			assertTrue(this.dictionary.getTopicAt(rank - 1).compareTo(
+					this.dictionary.getTopicAt(rank)) < 0);
+			assertEquals(this.dictionary.getCatid(this.dictionary
+					.getTopicAt(rank)), this.dictionary.getCatidAt(rank));
+		}
+	}
+
+	public void testPrefix() {
+		final List<String> expected = new ArrayList<String>();
+		for (final String topic : this.topics) {
+			if (topic.startsWith("Top/Computers/Sub_1")) {
+				expected.add(topic);
+			}
+		}
+		final List<String> found = new ArrayList<String>();
+		final Iterator<String> iterator = this.dictionary
+				.iterator("Top/Computers/Sub_1");
+		while (iterator.hasNext()) {
+			found.add(iterator.next());
+		}
+		assertEquals(expected, found);
+		assertFalse(this.dictionary.iterator("Top/Zzz").hasNext());
+		assertEquals("Top/Arts/Sub_0", this.dictionary
+				.getTopicAt(this.dictionary.getRank("Top/Arts/")));
+	}
+
+	public void testAddAfterBuild() {
+		try {
+			this.dictionary.add("Top/Late", 1000);
+			fail("Topic added to a built dictionary");
+		} catch (final IllegalStateException e) {
+		}
+	}
+}